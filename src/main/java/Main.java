@@ -1,3 +1,6 @@
+import java.nio.file.Path;
+
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
 import com.tcis.InventorySystem;
@@ -7,11 +10,26 @@ import com.tcis.InventorySystem;
  *
  * <p>
  * Its sole responsibility is to instantiate the primary controller class
- * ({@code InventorySystem}) and start the application's execution loop.
- * It ensures the application starts on the correct thread for GUI operations.
+ * ({@code InventorySystem}), restore the inventory saved by previous
+ * sessions, and start the application's execution loop. If the saved
+ * inventory cannot be read, it stops instead of starting with an empty one
+ * that would later overwrite the saved files. It ensures the application
+ * starts on the correct thread for GUI operations.
  * </p>
  */
 public class Main {
+    /**
+     * The journal file, in the working directory, that records every change
+     * made since the last snapshot.
+     */
+    private static final String JOURNAL_FILE = "tcis.journal";
+
+    /**
+     * The snapshot file, in the working directory, that the journal is
+     * folded into at startup.
+     */
+    private static final String SNAPSHOT_FILE = "tcis.snapshot";
+
     /**
      * The main method that is executed by the Java Virtual Machine to launch
      * the application.
@@ -33,6 +51,26 @@ public class Main {
              */
             public void run() {
                 InventorySystem tcis = new InventorySystem();
+
+                // Never replay the journal onto a state the snapshot did not
+                // fully restore, and never checkpoint over files that could
+                // not be read: either would lose the saved inventory.
+                if (!tcis.loadSnapshot(Path.of(SNAPSHOT_FILE)) ||
+                        !tcis.openJournal(Path.of(JOURNAL_FILE))) {
+                    JOptionPane.showMessageDialog(
+                        null,
+                        "The saved inventory could not be loaded. The files " +
+                        SNAPSHOT_FILE + " and " + JOURNAL_FILE +
+                        " have been left untouched.",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE
+                    );
+                    return;
+                }
+
+                // A failed checkpoint is not fatal: the journal still holds
+                // every change since the previous snapshot.
+                tcis.checkpoint(Path.of(SNAPSHOT_FILE));
                 tcis.run();
             }
         });
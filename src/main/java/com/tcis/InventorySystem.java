@@ -1,17 +1,42 @@
 package com.tcis;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
 
 import com.tcis.backend.BinderManager;
+import com.tcis.backend.CardOrder;
+import com.tcis.backend.CardQuery;
+import com.tcis.backend.CatalogImporter;
 import com.tcis.backend.CollectionManager;
 import com.tcis.backend.DeckManager;
+import com.tcis.backend.ImportListener;
+import com.tcis.backend.ImportResult;
+import com.tcis.backend.InventoryEventType;
+import com.tcis.backend.InventoryListener;
+import com.tcis.backend.PortfolioValuation;
+import com.tcis.backend.TaskMonitor;
+import com.tcis.backend.TransferResult;
 import com.tcis.gui.main.MainFrame;
+import com.tcis.ledger.LedgerEntry;
+import com.tcis.ledger.MoneyLedger;
+import com.tcis.ledger.SaleType;
 import com.tcis.models.binder.Binder;
 import com.tcis.models.card.Card;
 import com.tcis.models.card.Rarity;
+import com.tcis.models.card.ValueBreakdown;
 import com.tcis.models.card.Variant;
 import com.tcis.models.deck.Deck;
+import com.tcis.persistence.InventoryJournal;
+import com.tcis.persistence.InventorySnapshot;
 
 /**
  * Acts as a Facade for the entire backend system and the main controller for
@@ -24,31 +49,106 @@ import com.tcis.models.deck.Deck;
  * implementation and manages the application's overall state, such as the
  * player's total money.
  * </p>
+ *
+ * <p>
+ * Once a journal is opened, every mutation that succeeds through this class
+ * is appended to it, so the whole state can be rebuilt after a restart. A
+ * checkpoint writes the full state to a snapshot and empties the journal, so
+ * startup only replays the changes made since the last checkpoint.
+ * </p>
+ *
+ * <p>
+ * The managers can be used from many threads at once, and without a journal
+ * this class adds no locking of its own. With a journal, each change and its
+ * record must be made together, so that the journal's order is the order in
+ * which changes were applied. Count changes hold the shared side of a
+ * read-write lock plus the card's striped lock, so changes to different
+ * cards still run in parallel while those to one card stay in order. Every
+ * other mutation changes binders, decks, money or registrations that
+ * depend on each other, and holds the exclusive side. Appending only copies
+ * the record into memory, so either lock is held for microseconds.
+ * </p>
+ *
+ * <p>
+ * Every change is also published as an InventoryEvent, by the manager that
+ * made it or, for money, by this class. Subscribers such as the GUI apply
+ * these deltas instead of re-reading the whole state.
+ * </p>
+ *
+ * <p>
+ * If the journal fails to write, later changes could not be saved, so the
+ * inventory turns read-only: every mutation is refused from then on, and a
+ * JOURNAL_FAILED event tells subscribers once.
+ * </p>
  */
 public class InventorySystem {
     /**
-     * The total amount of money the player has accumulated from selling cards,
-     * binders, or decks.
+     * The status code the transfer methods return, in place of the
+     * manager's codes, when they refuse a change because the inventory is
+     * read-only.
      */
-    private double totalMoney;
+    public static final int READ_ONLY = -1;
+
+    /**
+     * The ledger of every sale of cards, binders, or decks, which holds the
+     * total amount of money the player has accumulated in exact cents.
+     */
+    private MoneyLedger ledger;
 
     /**
      * The single instance of the CollectionManager, which handles all logic
      * related to the main card collection.
      */
-    private final CollectionManager collectionManager;
+    private CollectionManager collectionManager;
 
     /**
      * The single instance of the BinderManager, which handles all logic for
      * binders.
      */
-    private final BinderManager binderManager;
+    private BinderManager binderManager;
 
     /**
      * The single instance of the DeckManager, which handles all logic for
      * decks.
      */
-    private final DeckManager deckManager;
+    private DeckManager deckManager;
+
+    /**
+     * The valuation engine that reports the worth of the whole inventory from
+     * the totals kept by the managers.
+     */
+    private PortfolioValuation valuation;
+
+    /**
+     * Orders the journaled mutations made through this class. Count changes
+     * hold its read lock together with the card's striped lock; every other
+     * mutation holds its write lock while it applies its change and appends
+     * its record. The journal then lists each card's changes, and every
+     * structural change, in exactly the order they were applied, so a replay
+     * reproduces the same state, down to the slots cards occupy. A
+     * checkpoint holds the write lock while it captures the state and empties
+     * the journal, so no change is left out of both.
+     */
+    private final ReentrantReadWriteLock changeLock;
+
+    /**
+     * The journal that successful mutations are recorded in, or null if the
+     * state is not persisted. It is volatile because mutations read it
+     * before deciding whether to lock.
+     */
+    private volatile InventoryJournal journal;
+
+    /**
+     * Whether mutations are refused because the journal can no longer record
+     * them. Once set, it stays set for the rest of the session.
+     */
+    private final AtomicBoolean readOnly;
+
+    /**
+     * The last journal epoch contained in the loaded or most recently written
+     * snapshot, or 0 if there is none.
+     */
+    private long snapshotEpoch;
 
     /**
      * Constructs the InventorySystem, initializing all backend components and
@@ -56,10 +156,14 @@ public class InventorySystem {
      * for the application's backend.
      */
     public InventorySystem() {
-        this.totalMoney = 0.0;
+        this.changeLock = new ReentrantReadWriteLock();
+        this.readOnly = new AtomicBoolean();
+        this.ledger = new MoneyLedger();
         this.collectionManager = new CollectionManager();
         this.binderManager = new BinderManager(this.collectionManager);
         this.deckManager = new DeckManager(this.collectionManager);
+        this.valuation = new PortfolioValuation(
+                this.collectionManager, this.binderManager, this.deckManager);
     }
 
     /**
@@ -73,12 +177,385 @@ public class InventorySystem {
     }
 
     /**
-     * Gets the current total money of the player.
+     * Restores the state saved in a snapshot. Nothing happens if the file
+     * does not exist yet.
+     *
+     * <p>
+     * This must be called first, on a freshly constructed InventorySystem,
+     * before {@code openJournal} and before any listener is added. The
+     * snapshot is read into new managers, which replace the current ones only
+     * once the whole file has been read; if it fails, the inventory is left
+     * empty and the file untouched.
+     * </p>
+     *
+     * @param path The snapshot file.
+     * @return true if the snapshot was loaded or does not exist, false if it
+     *         could not be read. After a failure the journal must not be
+     *         opened or a checkpoint written, or the saved state is lost.
+     */
+    public boolean loadSnapshot(Path path) {
+        if (journal != null || collectionManager.getCardTypeCount() > 0) {
+            System.out.println("Error: A snapshot can only be loaded into an empty inventory.");
+            return false;
+        }
+
+        if (!Files.exists(path))
+            return true;
+
+        // Load into fresh components and swap them in only after a complete
+        // read, so a failed load leaves this inventory empty, not half-filled.
+        MoneyLedger loadedLedger = new MoneyLedger();
+        CollectionManager loadedCollection = new CollectionManager();
+        BinderManager loadedBinders = new BinderManager(loadedCollection);
+        DeckManager loadedDecks = new DeckManager(loadedCollection);
+        InventorySnapshot snapshot;
+
+        try {
+            snapshot = InventorySnapshot.load(
+                    path, loadedCollection, loadedBinders, loadedDecks, loadedLedger);
+        } catch (IOException e) {
+            System.out.println("Error: Could not load snapshot: " + e.getMessage());
+            return false;
+        }
+
+        this.ledger = loadedLedger;
+        this.collectionManager = loadedCollection;
+        this.binderManager = loadedBinders;
+        this.deckManager = loadedDecks;
+        this.valuation = new PortfolioValuation(loadedCollection, loadedBinders, loadedDecks);
+        this.snapshotEpoch = snapshot.getJournalEpoch();
+        return true;
+    }
+
+    /**
+     * Writes the full state to a snapshot and empties the journal. The
+     * snapshot is skipped when the journal holds no changes since the last
+     * one.
+     *
+     * <p>
+     * While a journal is open, mutations made through this class wait until
+     * the checkpoint is done, so every change is either in the snapshot or
+     * still in the journal.
+     * </p>
+     *
+     * @param path The snapshot file.
+     * @return true if the state is saved in the snapshot, false otherwise.
+     */
+    public boolean checkpoint(Path path) {
+        Lock lock = changeLock.writeLock();
+        lock.lock();
+
+        try {
+            if (journal != null && journal.isEmpty() && Files.exists(path))
+                return true;
+
+            long epoch = (journal != null) ? journal.getEpoch() : snapshotEpoch;
+
+            try {
+                InventorySnapshot.write(path, epoch,
+                        collectionManager, binderManager, deckManager, ledger);
+                this.snapshotEpoch = epoch;
+
+                if (journal != null)
+                    journal.advanceEpoch();
+
+                return true;
+            } catch (IOException e) {
+                System.out.println("Error: Could not write snapshot: " + e.getMessage());
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens the journal at the given path, replays it to restore the state
+     * saved by previous sessions, and records every later mutation in it.
+     *
+     * <p>
+     * This must be called before any other mutation, on a freshly constructed
+     * InventorySystem or right after {@code loadSnapshot}. Records already
+     * contained in the loaded snapshot are not replayed. The journal is
+     * closed, flushing any pending records, when the JVM shuts down.
+     * </p>
+     *
+     * @param path The journal file, created if it does not exist.
+     * @return true if the journal was opened, false otherwise.
+     */
+    public boolean openJournal(Path path) {
+        if (journal != null) {
+            System.out.println("Error: A journal is already open.");
+            return false;
+        }
+
+        try {
+            InventoryJournal opened = InventoryJournal.open(path, this, snapshotEpoch);
+            this.journal = opened;
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    opened.close();
+                } catch (IOException e) {
+                    System.out.println("Error: Could not close journal: " + e.getMessage());
+                }
+            }, "tcis-journal-shutdown"));
+
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error: Could not open journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Gets the current total money of the player, for display.
      *
      * @return a double representing the player's total money.
      */
     public double getTotalMoney() {
-        return this.totalMoney;
+        return ledger.getBalanceCents() / 100.0;
+    }
+
+    /**
+     * Gets the current total money of the player as an exact amount.
+     *
+     * @return The player's total money, in cents.
+     */
+    public long getTotalMoneyCents() {
+        return ledger.getBalanceCents();
+    }
+
+    /**
+     * Gets every sale recorded in the money ledger.
+     *
+     * @return A read-only list of ledger entries, oldest first.
+     */
+    public List<LedgerEntry> getSales() {
+        return ledger.getEntries();
+    }
+
+    /**
+     * Records a sale in the money ledger and publishes the change in the
+     * player's total money.
+     *
+     * @param type        The kind of item that was sold.
+     * @param itemName    The name of the item that was sold.
+     * @param quantity    The number of items sold.
+     * @param amountCents The total amount received, in cents.
+     */
+    private void recordSale(SaleType type, String itemName, int quantity, long amountCents) {
+        ledger.recordSale(type, itemName, quantity, amountCents);
+        collectionManager.getEventBus().publish(
+                InventoryEventType.MONEY_CHANGED, itemName, amountCents);
+    }
+
+    /**
+     * Takes the write side of the change lock if a journal is open, so that
+     * a mutation and its record are made together and in the same order as
+     * every other.
+     *
+     * @return The lock taken, or null if no journal is open and there is no
+     *         record to order.
+     */
+    private Lock lockChanges() {
+        if (journal == null)
+            return null;
+
+        Lock lock = changeLock.writeLock();
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Releases a lock taken by {@code lockChanges}.
+     *
+     * @param lock The lock to release, or null if none was taken.
+     */
+    private static void unlock(Lock lock) {
+        if (lock != null)
+            lock.unlock();
+    }
+
+    /**
+     * Changes a card's count in the collection and journals the change.
+     *
+     * <p>
+     * Only the read side of the change lock is taken, together with the
+     * card's striped lock, so count changes to different cards never wait
+     * for each other while those to the same card are journaled in the order
+     * they were applied.
+     * </p>
+     *
+     * @param name     The name of the card.
+     * @param amount   The positive amount to change the count by.
+     * @param increase true to add copies, false to remove them.
+     * @return true if the count was changed, false otherwise.
+     */
+    private boolean changeCardCount(String name, int amount, boolean increase) {
+        if (!isWritable())
+            return false;
+
+        Card card = collectionManager.findCard(name);
+        if (card == null)
+            return false;
+
+        int id = card.getId();
+        InventoryJournal target = journal;
+
+        if (target == null)
+            return increase ? collectionManager.increaseCount(id, amount)
+                            : collectionManager.decreaseCount(id, amount);
+
+        Lock lock = changeLock.readLock();
+        lock.lock();
+
+        try {
+            synchronized (collectionManager.getCardLock(id)) {
+                if (increase) {
+                    if (!collectionManager.increaseCount(id, amount))
+                        return false;
+
+                    journaled(target.logIncreaseCount(name, amount));
+                } else {
+                    if (!collectionManager.decreaseCount(id, amount))
+                        return false;
+
+                    journaled(target.logDecreaseCount(name, amount));
+                }
+
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether mutations are refused because the journal failed.
+     *
+     * @return true if the inventory is read-only, false otherwise.
+     */
+    public boolean isReadOnly() {
+        return readOnly.get();
+    }
+
+    /**
+     * Checks that a mutation may go ahead. A journal whose writer has failed
+     * turns the inventory read-only here, before the change is applied.
+     *
+     * @return true if the inventory accepts changes, false otherwise.
+     */
+    private boolean isWritable() {
+        if (journal != null && journal.getFailure() != null)
+            enterReadOnly();
+
+        if (readOnly.get()) {
+            System.out.println("Error: The inventory is read-only because its journal failed.");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks the outcome of a journal append. A dropped record means the
+     * journal failed after the change was applied, so the inventory turns
+     * read-only before anything else changes.
+     *
+     * @param appended The value returned by the journal's log method.
+     * @return The same value.
+     */
+    private boolean journaled(boolean appended) {
+        if (!appended)
+            enterReadOnly();
+
+        return appended;
+    }
+
+    /**
+     * Makes the inventory read-only and, the first time only, reports the
+     * journal's error and publishes a JOURNAL_FAILED event.
+     */
+    private void enterReadOnly() {
+        if (!readOnly.compareAndSet(false, true))
+            return;
+
+        IOException failure = journal.getFailure();
+        System.out.println("Error: The journal can no longer record changes" +
+                ((failure != null) ? " (" + failure.getMessage() + ")" : "") +
+                "; the inventory is now read-only.");
+        collectionManager.getEventBus().publish(InventoryEventType.JOURNAL_FAILED, null, 0);
+    }
+
+    /**
+     * Subscribes a listener to every later change to the inventory: cards
+     * added, count changes, cards moved into or out of binders and decks,
+     * binders and decks created, deleted or sold, and money received.
+     *
+     * @param listener The listener to add.
+     */
+    public void addInventoryListener(InventoryListener listener) {
+        collectionManager.getEventBus().addListener(listener);
+    }
+
+    /**
+     * Unsubscribes a listener from inventory changes.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeInventoryListener(InventoryListener listener) {
+        collectionManager.getEventBus().removeListener(listener);
+    }
+
+    /**
+     * Gets the real value of every card the player owns, whether loose, in a
+     * binder, or in a deck, broken down by rarity and variant. The totals are
+     * kept up to date by every mutation, so this takes constant time.
+     *
+     * @return A copy of the portfolio's value breakdown.
+     */
+    public ValueBreakdown getPortfolioValue() {
+        return valuation.getTotalValue();
+    }
+
+    /**
+     * Gets the real value of the copies held loose in the collection.
+     *
+     * @return A copy of the collection's value breakdown.
+     */
+    public ValueBreakdown getCollectionValue() {
+        return valuation.getCollectionValue();
+    }
+
+    /**
+     * Gets the real value of the cards in a binder.
+     *
+     * @param binderName The name of the binder.
+     * @return A copy of the binder's value breakdown, or null if not found.
+     */
+    public ValueBreakdown getBinderValue(String binderName) {
+        return valuation.getBinderValue(binderName);
+    }
+
+    /**
+     * Gets the real value of the cards in a deck.
+     *
+     * @param deckName The name of the deck.
+     * @return A copy of the deck's value breakdown, or null if not found.
+     */
+    public ValueBreakdown getDeckValue(String deckName) {
+        return valuation.getDeckValue(deckName);
+    }
+
+    /**
+     * Gets the valuation engine, which also reports the combined value of all
+     * binders and of all decks.
+     *
+     * @return The portfolio valuation.
+     */
+    public PortfolioValuation getValuation() {
+        return valuation;
     }
 
     /**
@@ -90,14 +567,28 @@ public class InventorySystem {
      * @return true if the sale was successful, false otherwise.
      */
     public boolean sellCardFromCollection(String cardName, int amount) {
-        Card card = collectionManager.findCard(cardName);
+        Lock lock = lockChanges();
 
-        if (card != null && collectionManager.sellCard(cardName, amount)) {
-            this.totalMoney += card.getCalculatedValue() * amount;
-            return true;
-        }
+        try {
+            if (!isWritable())
+                return false;
+
+            Card card = collectionManager.findCard(cardName);
+
+            if (card != null && collectionManager.sellCard(cardName, amount)) {
+                recordSale(SaleType.CARD, card.getName(), amount,
+                        card.getValueCents() * amount);
+
+                if (journal != null)
+                    journaled(journal.logSellCard(cardName, amount));
+
+                return true;
+            }
 
-        return false;
+            return false;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
@@ -108,14 +599,27 @@ public class InventorySystem {
      * @return true if the sale was successful, false otherwise.
      */
     public boolean sellBinder(String binderName) {
-        double price = binderManager.sellBinder(binderName);
+        Lock lock = lockChanges();
 
-        if (price > 0) { // sellBinder returns <= 0 on failure
-            this.totalMoney += price;
-            return true;
-        }
+        try {
+            if (!isWritable())
+                return false;
+
+            long price = binderManager.sellBinder(binderName);
+
+            if (price >= 0) { // sellBinder returns -1 on failure
+                recordSale(SaleType.BINDER, binderName.trim(), 1, price);
+
+                if (journal != null)
+                    journaled(journal.logSellBinder(binderName));
 
-        return false;
+                return true;
+            }
+
+            return false;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
@@ -126,14 +630,27 @@ public class InventorySystem {
      * @return true if the sale was successful, false otherwise.
      */
     public boolean sellDeck(String deckName) {
-        double price = deckManager.sellDeck(deckName);
+        Lock lock = lockChanges();
 
-        if (price > 0) { // sellDeck returns <= 0 on failure
-            this.totalMoney += price;
-            return true;
-        }
+        try {
+            if (!isWritable())
+                return false;
+
+            long price = deckManager.sellDeck(deckName);
+
+            if (price >= 0) { // sellDeck returns -1 on failure
+                recordSale(SaleType.DECK, deckName.trim(), 1, price);
 
-        return false;
+                if (journal != null)
+                    journaled(journal.logSellDeck(deckName));
+
+                return true;
+            }
+
+            return false;
+        } finally {
+            unlock(lock);
+        }
     }
 
     // --- Binder Delegation Methods ---
@@ -146,7 +663,35 @@ public class InventorySystem {
      * @return true if the binder was created successfully, false otherwise.
      */
     public boolean createBinder(String name, String type) {
-        return binderManager.createBinder(name, type);
+        return createBinder(name, type, Binder.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Delegates the request to create a new binder with a given capacity to
+     * the BinderManager.
+     *
+     * @param name     The name for the new binder.
+     * @param type     The string representing the type of binder to create.
+     * @param capacity The maximum number of cards the binder can hold.
+     * @return true if the binder was created successfully, false otherwise.
+     */
+    public boolean createBinder(String name, String type, int capacity) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!binderManager.createBinder(name, type, capacity))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logCreateBinder(name, type, capacity));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
@@ -156,7 +701,22 @@ public class InventorySystem {
      * @return true if the binder was found and deleted, false otherwise.
      */
     public boolean deleteBinder(String name) {
-        return binderManager.deleteBinder(name);
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!binderManager.deleteBinder(name))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logDeleteBinder(name));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
@@ -168,6 +728,16 @@ public class InventorySystem {
         return binderManager.getBinders();
     }
 
+    /**
+     * Delegates the request to get all binders, sorted by name, to the
+     * BinderManager, which keeps them in order as binders come and go.
+     *
+     * @return A new list of all Binder objects, sorted by name.
+     */
+    public ArrayList<Binder> getBindersByName() {
+        return binderManager.getBindersByName();
+    }
+
     /**
      * Delegates the request to find a specific binder to the BinderManager.
      *
@@ -183,33 +753,169 @@ public class InventorySystem {
      *
      * @param cardName   The name of the card to move.
      * @param binderName The name of the target binder.
-     * @return An integer status code representing the outcome.
+     * @return An integer status code representing the outcome, or
+     *         {@code READ_ONLY} if the inventory is read-only.
      */
     public int addCardToBinder(String cardName, String binderName) {
-        return binderManager.addCardToBinder(cardName, binderName);
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return READ_ONLY;
+
+            int status = binderManager.addCardToBinder(cardName, binderName);
+
+            if (status == 0 && journal != null)
+                journaled(journal.logAddCardToBinder(cardName, binderName));
+
+            return status;
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    /**
+     * Delegates the request to add a card, identified by its ID, to a binder
+     * to the BinderManager.
+     *
+     * @param cardId     The ID of the card to move.
+     * @param binderName The name of the target binder.
+     * @return An integer status code representing the outcome, or
+     *         {@code READ_ONLY} if the inventory is read-only.
+     */
+    public int addCardToBinder(int cardId, String binderName) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return READ_ONLY;
+
+            int status = binderManager.addCardToBinder(cardId, binderName);
+
+            if (status == 0 && journal != null)
+                journaled(journal.logAddCardToBinder(
+                        collectionManager.getCard(cardId).getName(), binderName));
+
+            return status;
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    /**
+     * Delegates the request to move several cards into a binder in one call
+     * to the BinderManager. The cards that had copies moved are journaled
+     * together as one record, so the batch replays as a whole.
+     *
+     * @param binderName The name of the target binder.
+     * @param quantities The number of copies to move, keyed by card name.
+     * @return The number of copies moved and the status code for each
+     *         requested card. Every card gets {@code READ_ONLY} if the
+     *         inventory is read-only.
+     */
+    public TransferResult addCardsToBinder(String binderName, Map<String, Integer> quantities) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return TransferResult.rejected(quantities.keySet(), READ_ONLY);
+
+            TransferResult result = binderManager.addCardsToBinder(binderName, quantities);
+
+            if (journal != null && result.getTotalMoved() > 0) {
+                LinkedHashMap<String, Integer> moved = new LinkedHashMap<>();
+
+                for (String cardName : result.getCardNames())
+                    if (result.getMovedCount(cardName) > 0)
+                        moved.put(cardName, result.getMovedCount(cardName));
+
+                journaled(journal.logAddCardsToBinder(binderName, moved));
+            }
+
+            return result;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
      * Delegates the request to remove a card from a binder to the BinderManager.
      *
-     * @param cardIndex  The index of the card to remove.
+     * @param slot       The slot of the card to remove.
      * @param binderName The name of the binder.
      * @return true if the removal was successful, false otherwise.
      */
-    public boolean removeCardFromBinder(int cardIndex, String binderName) {
-        return binderManager.removeCardFromBinder(cardIndex, binderName);
+    public boolean removeCardFromBinder(int slot, String binderName) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!binderManager.removeCardFromBinder(slot, binderName))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logRemoveCardFromBinder(slot, binderName));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    /**
+     * Delegates the request to set a Luxury Binder's custom price to the
+     * BinderManager.
+     *
+     * @param binderName The name of the binder.
+     * @param price      The desired custom price.
+     * @return true if the price was set, false otherwise.
+     */
+    public boolean setBinderPrice(String binderName, double price) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!binderManager.setBinderPrice(binderName, price))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logSetBinderPrice(binderName, price));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
      * Delegates a trade request to the BinderManager.
      *
-     * @param binderName        The name of the binder where the trade occurs.
-     * @param outgoingCardIndex The index of the card being given up.
-     * @param incomingCard      The new Card object being received.
+     * @param binderName   The name of the binder where the trade occurs.
+     * @param outgoingSlot The slot of the card being given up.
+     * @param incomingCard The new Card object being received.
      * @return true if the trade was successful, false otherwise.
      */
-    public boolean performTrade(String binderName, int outgoingCardIndex, Card incomingCard) {
-        return binderManager.performTrade(binderName, outgoingCardIndex, incomingCard);
+    public boolean performTrade(String binderName, int outgoingSlot, Card incomingCard) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!binderManager.performTrade(binderName, outgoingSlot, incomingCard))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logTrade(binderName, outgoingSlot, incomingCard));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
     }
 
     // --- Deck Delegation Methods ---
@@ -222,7 +928,35 @@ public class InventorySystem {
      * @return true if the deck was created successfully, false otherwise.
      */
     public boolean createDeck(String name, String type) {
-        return deckManager.createDeck(name, type);
+        return createDeck(name, type, Deck.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Delegates the request to create a new deck with a given capacity to
+     * the DeckManager.
+     *
+     * @param name     The name for the new deck.
+     * @param type     The string representing the type of deck to create.
+     * @param capacity The maximum number of cards the deck can hold.
+     * @return true if the deck was created successfully, false otherwise.
+     */
+    public boolean createDeck(String name, String type, int capacity) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!deckManager.createDeck(name, type, capacity))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logCreateDeck(name, type, capacity));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
@@ -232,7 +966,22 @@ public class InventorySystem {
      * @return true if the deck was found and deleted, false otherwise.
      */
     public boolean deleteDeck(String name) {
-        return deckManager.deleteDeck(name);
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!deckManager.deleteDeck(name))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logDeleteDeck(name));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
@@ -244,6 +993,16 @@ public class InventorySystem {
         return deckManager.getDecks();
     }
 
+    /**
+     * Delegates the request to get all decks, sorted by name, to the
+     * DeckManager, which keeps them in order as decks come and go.
+     *
+     * @return A new list of all Deck objects, sorted by name.
+     */
+    public ArrayList<Deck> getDecksByName() {
+        return deckManager.getDecksByName();
+    }
+
     /**
      * Delegates the request to find a specific deck to the DeckManager.
      *
@@ -254,26 +1013,106 @@ public class InventorySystem {
         return deckManager.findDeck(name);
     }
 
+    /**
+     * Delegates the check for whether any deck holds a card to the
+     * DeckManager.
+     *
+     * @param cardName The name of the card.
+     * @return true if at least one deck holds the card, false otherwise.
+     */
+    public boolean isCardInAnyDeck(String cardName) {
+        return deckManager.isCardInAnyDeck(cardName);
+    }
+
+    /**
+     * Delegates the request to count the decks holding a card to the
+     * DeckManager.
+     *
+     * @param cardName The name of the card.
+     * @return The number of decks holding the card.
+     */
+    public int countDecksContaining(String cardName) {
+        return deckManager.countDecksContaining(cardName);
+    }
+
     /**
      * Delegates the request to add a card to a deck to the DeckManager.
      *
      * @param cardName The name of the card to move.
      * @param deckName The name of the target deck.
-     * @return An integer status code representing the outcome.
+     * @return An integer status code representing the outcome, or
+     *         {@code READ_ONLY} if the inventory is read-only.
      */
     public int addCardToDeck(String cardName, String deckName) {
-        return deckManager.addCardToDeck(cardName, deckName);
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return READ_ONLY;
+
+            int status = deckManager.addCardToDeck(cardName, deckName);
+
+            if (status == 0 && journal != null)
+                journaled(journal.logAddCardToDeck(cardName, deckName));
+
+            return status;
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    /**
+     * Delegates the request to add a card, identified by its ID, to a deck to
+     * the DeckManager.
+     *
+     * @param cardId   The ID of the card to move.
+     * @param deckName The name of the target deck.
+     * @return An integer status code representing the outcome, or
+     *         {@code READ_ONLY} if the inventory is read-only.
+     */
+    public int addCardToDeck(int cardId, String deckName) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return READ_ONLY;
+
+            int status = deckManager.addCardToDeck(cardId, deckName);
+
+            if (status == 0 && journal != null)
+                journaled(journal.logAddCardToDeck(
+                        collectionManager.getCard(cardId).getName(), deckName));
+
+            return status;
+        } finally {
+            unlock(lock);
+        }
     }
 
     /**
      * Delegates the request to remove a card from a deck to the DeckManager.
      *
-     * @param cardIndex The index of the card to remove.
-     * @param deckName  The name of the deck.
+     * @param slot     The slot of the card to remove.
+     * @param deckName The name of the deck.
      * @return true if the removal was successful, false otherwise.
      */
-    public boolean removeCardFromDeck(int cardIndex, String deckName) {
-        return deckManager.removeCardFromDeck(cardIndex, deckName);
+    public boolean removeCardFromDeck(int slot, String deckName) {
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!deckManager.removeCardFromDeck(slot, deckName))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logRemoveCardFromDeck(slot, deckName));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
     }
 
     // --- Collection Delegation Methods ---
@@ -288,7 +1127,64 @@ public class InventorySystem {
      * @return true if the card was successfully added, false otherwise.
      */
     public boolean addNewCard(String name, double value, Rarity rarity, Variant variant) {
-        return collectionManager.addNewCard(name, value, rarity, variant);
+        Lock lock = lockChanges();
+
+        try {
+            if (!isWritable())
+                return false;
+
+            if (!collectionManager.addNewCard(name, value, rarity, variant))
+                return false;
+
+            if (journal != null)
+                journaled(journal.logAddNewCard(name, value, rarity, variant));
+
+            return true;
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    /**
+     * Imports a CSV or TSV card catalog into the collection, registering new
+     * card types and topping up the counts of existing ones.
+     *
+     * @param path The catalog file to import.
+     * @return A summary of the import, including any rejected rows.
+     * @throws IOException if the file cannot be read.
+     */
+    public ImportResult importCatalog(Path path) throws IOException {
+        return importCatalog(path, null);
+    }
+
+    /**
+     * Imports a card catalog from a CSV or TSV file while reporting its
+     * progress, so that it can run in the background and be cancelled.
+     * Cancelling keeps the batches already imported, and they are journaled
+     * like any others.
+     *
+     * @param path    The catalog file to import.
+     * @param monitor The monitor to report progress to and to check for
+     *                cancellation, or null for none.
+     * @return A summary of the import, including any rejected rows. If the
+     *         journal fails part way, the import stops there and is reported
+     *         as cancelled.
+     * @throws IOException if the file cannot be read or the inventory is
+     *                     read-only.
+     */
+    public ImportResult importCatalog(Path path, TaskMonitor monitor) throws IOException {
+        if (!isWritable())
+            throw new IOException("The inventory is read-only because its journal failed.");
+
+        InventoryJournal target = this.journal;
+        if (target == null)
+            return new CatalogImporter(collectionManager, null, monitor).importFile(path);
+
+        ImportListener listener = (card, count, added) ->
+                journaled(target.logImportedCard(card, count, added));
+
+        return new CatalogImporter(collectionManager, listener, monitor, changeLock.writeLock())
+                .importFile(path);
     }
 
     /**
@@ -301,6 +1197,68 @@ public class InventorySystem {
         return collectionManager.findCard(name);
     }
 
+    /**
+     * Starts a query over the card types in the collection. Conditions,
+     * ordering and a limit are added to the returned query before running
+     * it, for example
+     * {@code queryCards().rarity(Rarity.LEGENDARY).available().list()}.
+     *
+     * @return A new query that matches every card until it is narrowed.
+     */
+    public CardQuery queryCards() {
+        return collectionManager.query();
+    }
+
+    /**
+     * Delegates a rarity and variant query to the CollectionManager, which
+     * answers it from its indexes instead of scanning every card.
+     *
+     * @param rarity        The rarity to match, or null for any rarity.
+     * @param variant       The variant to match, or null for any variant.
+     * @param availableOnly Whether to leave out cards with no copies in the
+     *                      collection.
+     * @return The matching cards.
+     */
+    public ArrayList<Card> findCards(Rarity rarity, Variant variant, boolean availableOnly) {
+        return collectionManager.findCards(rarity, variant, availableOnly);
+    }
+
+    /**
+     * Finds the cards in the collection with copies available that a binder
+     * is allowed to take.
+     *
+     * @param binderName The name of the binder.
+     * @return The eligible, available cards. Empty if the binder was not
+     *         found.
+     */
+    public ArrayList<Card> findCardsForBinder(String binderName) {
+        return binderManager.findEligibleCards(binderName, true);
+    }
+
+    /**
+     * Delegates a search-as-you-type query to the CollectionManager, which
+     * completes card names from a prefix index fast enough to run on every
+     * keystroke.
+     *
+     * @param prefix The start of the name to complete (case-insensitive).
+     * @param limit  The largest number of cards to return.
+     * @return Up to {@code limit} matching cards, ordered by name.
+     */
+    public ArrayList<Card> searchCards(String prefix, int limit) {
+        return collectionManager.findCardsByPrefix(prefix, limit);
+    }
+
+    /**
+     * Delegates the request to get a card type by its ID to the
+     * CollectionManager.
+     *
+     * @param id The dense ID of the card.
+     * @return The Card object if found, otherwise null.
+     */
+    public Card getCard(int id) {
+        return collectionManager.getCard(id);
+    }
+
     /**
      * Delegates the request to increase a card's count to the CollectionManager.
      *
@@ -309,7 +1267,7 @@ public class InventorySystem {
      * @return true if the count was successfully updated, false otherwise.
      */
     public boolean increaseCardCount(String name, int amount) {
-        return collectionManager.increaseCount(name, amount);
+        return changeCardCount(name, amount, true);
     }
 
     /**
@@ -320,7 +1278,7 @@ public class InventorySystem {
      * @return true if the count was successfully updated, false otherwise.
      */
     public boolean decreaseCardCount(String name, int amount) {
-        return collectionManager.decreaseCount(name, amount);
+        return changeCardCount(name, amount, false);
     }
 
     /**
@@ -332,15 +1290,77 @@ public class InventorySystem {
         return collectionManager.getCardTypes();
     }
 
+    /**
+     * Delegates the request to get all unique card types in a given order to
+     * the CollectionManager, which keeps them sorted as cards are registered.
+     *
+     * @param order The order of the list.
+     * @return A new list of all unique Card objects, sorted.
+     */
+    public ArrayList<Card> getCardTypes(CardOrder order) {
+        return collectionManager.getCardTypes(order);
+    }
+
+    /**
+     * Delegates the request for a live, read-only view of all unique card
+     * types in a given order to the CollectionManager. Elements are read on
+     * demand, so only the rows a list actually shows are ever fetched.
+     *
+     * @param order The order of the view.
+     * @return A list view of all unique Card objects, sorted.
+     */
+    public List<Card> getCardTypeView(CardOrder order) {
+        return collectionManager.getCardTypeView(order);
+    }
+
+    /**
+     * Delegates the request for a live, read-only view of the available card
+     * types that pass a rarity and variant filter to the CollectionManager.
+     * The view is kept in name order and only looks again after a card
+     * becomes available or runs out, so showing it never builds a list.
+     *
+     * @param filter The rule deciding which rarity and variant pairs to
+     *               include.
+     * @return A list view of the matching available cards, by name.
+     */
+    public List<Card> getAvailableCardView(BiPredicate<Rarity, Variant> filter) {
+        return collectionManager.getAvailableCardView(filter);
+    }
+
     /**
      * Delegates the request to get all card counts to the CollectionManager.
      *
-     * @return A defensive copy of the map of card names to their counts.
+     * @return A read-only, live view of the map of card names to their
+     *         counts.
      */
-    public HashMap<String, Integer> getCardCounts() {
+    public Map<String, Integer> getCardCounts() {
         return collectionManager.getCardCounts();
     }
 
+    /**
+     * Delegates the request to get a single card's count to the
+     * CollectionManager.
+     *
+     * @param name The name of the card.
+     * @return The number of copies in the collection, or 0 if the card does
+     *         not exist.
+     */
+    public int getCardCount(String name) {
+        return collectionManager.getCardCount(name);
+    }
+
+    /**
+     * Delegates the request to get a single card's count, by ID, to the
+     * CollectionManager.
+     *
+     * @param id The dense ID of the card.
+     * @return The number of copies in the collection, or 0 if the ID is not
+     *         registered.
+     */
+    public int getCardCount(int id) {
+        return collectionManager.getCardCount(id);
+    }
+
     /**
      * Delegates the request to check if a card is available to the
      * CollectionManager.
@@ -0,0 +1,127 @@
+package com.tcis.backend;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.function.BiPredicate;
+
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * A live, read-only list of the card types in a CollectionManager that have
+ * copies in the collection and pass a rarity and variant filter, in name
+ * order.
+ *
+ * <p>
+ * The view keeps the positions of its cards in the collection's
+ * name-ordered array, and finds them again only when that array has been
+ * replaced by a newer one or some count has gone from zero to positive or
+ * back. A count change that leaves a card available, by far the most common
+ * kind, costs a refresh nothing. No list of cards is built and no lock is
+ * taken.
+ * </p>
+ *
+ * <p>
+ * The view is brought up to date when its size is read, and {@code get}
+ * answers from the state found then. A list model that reads the size once
+ * per refresh therefore sees the same rows until its next refresh, however
+ * the collection changes in between.
+ * </p>
+ */
+class AvailableCardView extends AbstractList<Card> {
+    /**
+     * The collection being viewed.
+     */
+    private final CollectionManager collectionManager;
+
+    /**
+     * The rule deciding which rarity and variant pairs to include.
+     */
+    private final BiPredicate<Rarity, Variant> filter;
+
+    /**
+     * The name-ordered array the positions were found in.
+     */
+    private Card[] sorted;
+
+    /**
+     * The collection's availability version when the positions were found.
+     */
+    private int version;
+
+    /**
+     * The positions in {@code sorted} of the cards in the view, in order.
+     * Only the first {@code size} entries are used.
+     */
+    private int[] positions;
+
+    /**
+     * The number of cards in the view.
+     */
+    private int size;
+
+    /**
+     * Constructs a view of the available cards of a collection that pass a
+     * filter.
+     *
+     * @param collectionManager The collection to view.
+     * @param filter            The rule deciding which rarity and variant
+     *                          pairs to include.
+     */
+    AvailableCardView(CollectionManager collectionManager,
+                      BiPredicate<Rarity, Variant> filter) {
+        this.collectionManager = collectionManager;
+        this.filter = filter;
+        this.sorted = null;
+        this.positions = new int[0];
+        this.size = 0;
+    }
+
+    /**
+     * Gets the card at a position, as of the last time the size was read.
+     *
+     * @param index The zero-based position.
+     * @return The card at that position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    @Override
+    public synchronized Card get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        return sorted[positions[index]];
+    }
+
+    /**
+     * Brings the view up to date and gets the number of cards in it.
+     *
+     * @return The size of the view.
+     */
+    @Override
+    public synchronized int size() {
+        // The version is read before the counts, so a count that changes
+        // during the scan leaves the view stale and it looks again next time.
+        int currentVersion = collectionManager.getAvailabilityVersion();
+        Card[] currentSorted = collectionManager.sortedCards(CardOrder.NAME);
+
+        if (currentSorted != sorted || currentVersion != version) {
+            if (positions.length < currentSorted.length)
+                positions = Arrays.copyOf(positions, currentSorted.length);
+
+            int found = 0;
+            for (int i = 0; i < currentSorted.length; i++) {
+                Card card = currentSorted[i];
+                if (filter.test(card.getRarity(), card.getVariant()) &&
+                        collectionManager.getCardCount(card.getId()) > 0)
+                    positions[found++] = i;
+            }
+
+            this.sorted = currentSorted;
+            this.version = currentVersion;
+            this.size = found;
+        }
+
+        return size;
+    }
+}
@@ -1,6 +1,10 @@
 package com.tcis.backend;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.tcis.models.binder.Binder;
 import com.tcis.models.binder.CollectorBinder;
@@ -9,6 +13,8 @@ import com.tcis.models.binder.NonCuratedBinder;
 import com.tcis.models.binder.PauperBinder;
 import com.tcis.models.binder.RaresBinder;
 import com.tcis.models.card.Card;
+import com.tcis.models.card.ValueBreakdown;
+import com.tcis.util.SortedIndex;
 
 /**
  * Manages the lifecycle and contents of all Binder objects.
@@ -19,14 +25,26 @@ import com.tcis.models.card.Card;
  * binders and the main collection based on MCO2 rules. It leverages
  * polymorphism to handle different binder types seamlessly.
  * </p>
+ *
+ * <p>
+ * Every operation that moves cards is atomic with respect to other threads.
+ * A transfer first reserves the card copy in the CollectionManager with a
+ * single compare-and-set, then locks only the binder involved, validates
+ * that the binder is still registered, and applies the change. If
+ * validation fails the reservation is returned and, where the binder was
+ * replaced concurrently, the operation retries against the current one. An
+ * uncontended transfer therefore costs one CAS and one uncontended monitor.
+ * </p>
  */
 public class BinderManager {
     /**
-     * The list of all binders managed by the system. It holds the abstract
-     * Binder superclass to allow for polymorphic behavior among different
-     * binder types.
+     * Every binder managed by the system, keyed by its case-folded name, so
+     * that finding, checking and removing one by name takes constant time
+     * however many there are. It holds the abstract Binder superclass to allow
+     * for polymorphic behavior among different binder types. Lookups never
+     * lock; changes are made while holding this manager's monitor.
      */
-    private final ArrayList<Binder> binders;
+    private final ConcurrentHashMap<String, Binder> binders;
 
     /**
      * A reference to the central CollectionManager, which is required for
@@ -34,6 +52,25 @@ public class BinderManager {
      */
     private final CollectionManager collectionManager;
 
+    /**
+     * The running value of the cards in every registered binder, by rarity and
+     * variant, kept in step with every change to their contents.
+     */
+    private final ValueBreakdown binderValue;
+
+    /**
+     * The registered binders kept sorted by name, so that sorted listings are
+     * read in order rather than sorted on every request. Guarded by this
+     * manager's monitor.
+     */
+    private final SortedIndex<Binder> bindersByName;
+
+    /**
+     * The bus shared with the CollectionManager, on which every change to
+     * the binders is published.
+     */
+    private final InventoryEventBus events;
+
     /**
      * Constructs a new BinderManager.
      *
@@ -42,8 +79,11 @@ public class BinderManager {
      *                          operations.
      */
     public BinderManager(CollectionManager collectionManager) {
-        this.binders = new ArrayList<>();
+        this.binders = new ConcurrentHashMap<>();
         this.collectionManager = collectionManager;
+        this.binderValue = new ValueBreakdown();
+        this.bindersByName = new SortedIndex<>(Comparator.comparing(Binder::getName));
+        this.events = collectionManager.getEventBus();
     }
 
     /**
@@ -56,11 +96,7 @@ public class BinderManager {
         if (name == null)
             return null;
 
-        for (Binder binder : binders)
-            if (binder.getName().equalsIgnoreCase(name.trim()))
-                return binder;
-
-        return null;
+        return binders.get(Card.foldName(name.trim()));
     }
 
     /**
@@ -78,6 +114,20 @@ public class BinderManager {
      * @return true if the binder was created successfully, false otherwise.
      */
     public boolean createBinder(String name, String type) {
+        return createBinder(name, type, Binder.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new binder of a specific type that holds up to a given
+     * number of cards.
+     *
+     * @param name     The name for the new binder.
+     * @param type     The string representing the type of binder to create
+     *                 (e.g., "Pauper", "Collector").
+     * @param capacity The maximum number of cards the binder can hold.
+     * @return true if the binder was created successfully, false otherwise.
+     */
+    public synchronized boolean createBinder(String name, String type, int capacity) {
         if (findBinder(name) != null) {
             System.out.println("Error: A binder with this name already exists.");
             return false;
@@ -88,25 +138,27 @@ public class BinderManager {
 
             switch (type.toLowerCase().trim()) {
                 case "non-curated":
-                    newBinder = new NonCuratedBinder(name);
+                    newBinder = new NonCuratedBinder(name, capacity);
                     break;
                 case "collector":
-                    newBinder = new CollectorBinder(name);
+                    newBinder = new CollectorBinder(name, capacity);
                     break;
                 case "pauper":
-                    newBinder = new PauperBinder(name);
+                    newBinder = new PauperBinder(name, capacity);
                     break;
                 case "rares":
-                    newBinder = new RaresBinder(name);
+                    newBinder = new RaresBinder(name, capacity);
                     break;
                 case "luxury":
-                    newBinder = new LuxuryBinder(name);
+                    newBinder = new LuxuryBinder(name, capacity);
                     break;
                 default:
                     System.out.println("Error: Unknown binder type '" + type + "'.");
                     return false;
             }
-            binders.add(newBinder);
+            binders.put(Card.foldName(newBinder.getName()), newBinder);
+            bindersByName.add(newBinder);
+            events.publish(InventoryEventType.BINDER_CREATED, newBinder.getName(), 0);
             return true;
         } catch (IllegalArgumentException e) {
             System.out.println("Error creating binder: " + e.getMessage());
@@ -130,10 +182,21 @@ public class BinderManager {
             return false;
         }
 
-        for (Card card : binderToDelete.getCards())
-            collectionManager.increaseCount(card.getName(), 1);
+        synchronized (binderToDelete) {
+            if (!unregister(binderToDelete)) {
+                System.out.println("Error: Binder not found.");
+                return false;
+            }
+
+            binderValue.subtractAll(binderToDelete.getValueBreakdown());
+
+            for (Card card : binderToDelete.getCards())
+                collectionManager.increaseCount(
+                        collectionManager.resolveId(card), 1);
+        }
 
-        return binders.remove(binderToDelete);
+        events.publish(InventoryEventType.BINDER_DELETED, binderToDelete.getName(), 0);
+        return true;
     }
 
     /**
@@ -147,30 +210,63 @@ public class BinderManager {
      * </p>
      *
      * @param name The name of the binder to sell.
-     * @return The calculated sale price of the binder if sold successfully.
-     *         Returns a value less than or equal to 0 on failure (e.g., binder
-     *         not found or not sellable), which the calling method should check 
-     *         for.
+     * @return The calculated sale price of the binder in cents if sold
+     *         successfully, which may be 0 for an empty binder. Returns -1 on
+     *         failure (e.g., binder not found or not sellable), which the
+     *         calling method should check for.
      */
-    public double sellBinder(String name) {
+    public long sellBinder(String name) {
         Binder binderToSell = findBinder(name);
 
         if (binderToSell == null) {
             System.out.println("Error: Binder not found.");
-            return 0.0;
+            return -1;
         }
 
         if (!binderToSell.isSellable()) {
             System.out.println(
                     "Error: This binder type ('" + binderToSell.getClass().getSimpleName() + "') cannot be sold.");
-            return 0.0;
+            return -1;
         }
 
-        double price = binderToSell.calculatePrice();
-        binders.remove(binderToSell);
+        long price;
+
+        synchronized (binderToSell) {
+            if (!unregister(binderToSell)) {
+                System.out.println("Error: Binder not found.");
+                return -1;
+            }
+
+            binderValue.subtractAll(binderToSell.getValueBreakdown());
+            price = binderToSell.calculatePriceCents();
+        }
+
+        events.publish(InventoryEventType.BINDER_SOLD, binderToSell.getName(), price);
         return price;
     }
 
+    /**
+     * Sets the custom price of a Luxury Binder.
+     *
+     * @param name  The name of the binder.
+     * @param price The desired custom price.
+     * @return true if the price was set, false if the binder was not found,
+     *         is not a Luxury Binder, or the price is below the value of its
+     *         cards.
+     */
+    public boolean setBinderPrice(String name, double price) {
+        Binder binder = findBinder(name);
+
+        if (!(binder instanceof LuxuryBinder)) {
+            System.out.println("Error: Custom prices can only be set on a Luxury Binder.");
+            return false;
+        }
+
+        synchronized (binder) {
+            return isRegistered(binder) && ((LuxuryBinder) binder).setPrice(price);
+        }
+    }
+
     /**
      * Moves a card from the main collection to a specified binder, respecting
      * the binder's specific rules.
@@ -182,43 +278,210 @@ public class BinderManager {
      *         card violates binder's rules.
      */
     public int addCardToBinder(String cardName, String binderName) {
-        Binder binder = findBinder(binderName);
-        Card card = collectionManager.findCard(cardName);
+        return addCardToBinder(collectionManager.getCardId(cardName), binderName);
+    }
 
-        if (binder == null || card == null)
-            return 1;
+    /**
+     * Moves a card, identified by its ID, from the main collection to a
+     * specified binder, respecting the binder's specific rules.
+     *
+     * @param cardId     The ID of the card to move.
+     * @param binderName The name of the target binder.
+     * @return An integer status code: 0 for success, 1 for card/binder not
+     *         found, 2 for no copies available, 3 for binder is full, 4 for
+     *         card violates binder's rules.
+     */
+    public int addCardToBinder(int cardId, String binderName) {
+        Card card = collectionManager.getCard(cardId);
+
+        while (true) {
+            Binder binder = findBinder(binderName);
+
+            if (binder == null || card == null)
+                return 1;
+
+            // Reserve the copy first so no concurrent transfer can spend it.
+            if (!collectionManager.decreaseCount(cardId, 1))
+                return 2;
+
+            synchronized (binder) {
+                if (isRegistered(binder)) {
+                    if (binder.addCard(card)) {
+                        binderValue.add(card, 1);
+                        events.publish(InventoryEventType.CARD_MOVED, card, 1,
+                                binder.getName());
+                        return 0;
+                    }
+
+                    collectionManager.increaseCount(cardId, 1);
+
+                    if (binder.isFull())
+                        return 3;
+                    else
+                        return 4;
+                }
+            }
 
-        if (!collectionManager.isCardAvailable(cardName))
-            return 2;
+            // The binder was deleted or sold after it was found. Return the
+            // copy and retry against whichever binder now has that name.
+            collectionManager.increaseCount(cardId, 1);
+        }
+    }
 
-        if (!binder.addCard(card)) {
-            if (binder.isFull())
-                return 3;
-            else
-                return 4;
+    /**
+     * Moves several cards from the main collection into a binder in one
+     * call, respecting the binder's specific rules.
+     *
+     * <p>
+     * Every card name is resolved once before the binder is touched. The
+     * binder is then locked once, and for each card the binder's rules are
+     * checked a single time and as many copies as both the collection and
+     * the binder's free space allow are reserved with one count update, so
+     * that filling a binder with thousands of cards costs one lookup and one
+     * lock rather than thousands. Cards are handled in the map's iteration
+     * order, so when the binder fills up the earlier cards take precedence.
+     * </p>
+     *
+     * <p>
+     * Each card gets the status codes of a single transfer, plus 5 if its
+     * quantity was not positive. A card can stop short with status 2 or 3
+     * after some of its copies were moved.
+     * </p>
+     *
+     * @param binderName The name of the target binder.
+     * @param quantities The number of copies to move, keyed by card name.
+     * @return The number of copies moved and the status code for each
+     *         requested card.
+     */
+    public TransferResult addCardsToBinder(String binderName, Map<String, Integer> quantities) {
+        int size = quantities.size();
+        String[] names = new String[size];
+        int[] ids = new int[size];
+        int[] wanted = new int[size];
+
+        int item = 0;
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            names[item] = entry.getKey();
+            ids[item] = collectionManager.getCardId(entry.getKey());
+            wanted[item] = entry.getValue() == null ? 0 : entry.getValue();
+            item++;
         }
 
-        collectionManager.decreaseCount(card.getName(), 1);
-        return 0;
+        while (true) {
+            Binder binder = findBinder(binderName);
+            TransferResult result = new TransferResult();
+
+            if (binder == null) {
+                for (String name : names)
+                    result.record(name, 0, 1);
+                return result;
+            }
+
+            synchronized (binder) {
+                // The binder was deleted or sold after it was found. Nothing
+                // has been reserved yet, so retry against the current one.
+                if (!isRegistered(binder))
+                    continue;
+
+                int free = binder.getCapacity() - binder.getCardCount();
+
+                for (int i = 0; i < size; i++) {
+                    Card card = collectionManager.getCard(ids[i]);
+
+                    if (wanted[i] <= 0) {
+                        result.record(names[i], 0, 5);
+                        continue;
+                    }
+
+                    if (card == null) {
+                        result.record(names[i], 0, 1);
+                        continue;
+                    }
+
+                    if (!binder.canAddCard(card)) {
+                        result.record(names[i], 0, 4);
+                        continue;
+                    }
+
+                    int fitting = Math.min(wanted[i], free);
+                    int reserved = reserveCopies(ids[i], fitting);
+                    int placed = 0;
+
+                    while (placed < reserved && binder.addCard(card))
+                        placed++;
+
+                    // Copies the binder refused go back to the collection.
+                    if (placed < reserved)
+                        collectionManager.increaseCount(ids[i], reserved - placed);
+
+                    if (placed > 0) {
+                        free -= placed;
+                        binderValue.add(card, placed);
+                        events.publish(InventoryEventType.CARD_MOVED, card, placed,
+                                binder.getName());
+                    }
+
+                    if (placed == wanted[i])
+                        result.record(names[i], placed, 0);
+                    else if (placed == reserved && reserved < fitting)
+                        result.record(names[i], placed, 2);
+                    else
+                        result.record(names[i], placed, 3);
+                }
+
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Takes up to a given number of copies of a card out of the collection
+     * with a single count update, or fewer if fewer are available.
+     *
+     * @param cardId The ID of the card.
+     * @param amount The most copies to take.
+     * @return The number of copies taken.
+     */
+    private int reserveCopies(int cardId, int amount) {
+        while (true) {
+            int available = Math.min(amount, collectionManager.getCardCount(cardId));
+
+            if (available <= 0)
+                return 0;
+
+            // Fails only if another thread spent copies in the meantime.
+            if (collectionManager.decreaseCount(cardId, available))
+                return available;
+        }
     }
 
     /**
-     * Removes a card from a binder at a specific index and returns it to the
-     * main collection.
+     * Removes the card in a slot of a binder and returns it to the main
+     * collection. The slot addresses the card directly, so no other card is
+     * searched or moved.
      *
-     * @param cardIndex  The index of the card to remove from the binder's list.
+     * @param slot       The slot of the card to remove.
      * @param binderName The name of the binder.
      * @return true if the removal was successful, false otherwise.
      */
-    public boolean removeCardFromBinder(int cardIndex, String binderName) {
+    public boolean removeCardFromBinder(int slot, String binderName) {
         Binder binder = findBinder(binderName);
         if (binder == null)
             return false;
 
-        Card removedCard = binder.removeCard(cardIndex);
-        if (removedCard != null) {
-            collectionManager.increaseCount(removedCard.getName(), 1);
-            return true;
+        synchronized (binder) {
+            if (!isRegistered(binder))
+                return false;
+
+            Card removedCard = binder.removeCard(slot);
+            if (removedCard != null) {
+                binderValue.add(removedCard, -1);
+                collectionManager.increaseCount(
+                        collectionManager.resolveId(removedCard), 1);
+                events.publish(InventoryEventType.CARD_MOVED, removedCard, -1,
+                        binder.getName());
+                return true;
+            }
         }
 
         return false;
@@ -228,18 +491,22 @@ public class BinderManager {
      * Executes a 1-for-1 card trade if the binder type allows it.
      *
      * <p>
-     * The outgoing card is removed permanently, and the incoming card is
-     * added to the binder. This method uses polymorphism to check the trade
-     * and add eligibility rules of the specific binder subclass.
+     * The outgoing card is removed permanently, and the incoming card takes
+     * its slot in the binder. This method uses polymorphism to check the trade
+     * and add eligibility rules of the specific binder subclass. The binder
+     * always receives the canonical instance of the incoming card's type, so
+     * no duplicate Card objects accumulate. The whole exchange happens while
+     * holding the binder's lock, and an unknown incoming card type is
+     * registered with zero copies in one step.
      * </p>
      *
-     * @param binderName        The name of the binder where the trade occurs.
-     * @param outgoingCardIndex The index of the card being given up.
-     * @param incomingCard      The new Card object being received. Must be a valid,
-     *                          pre-constructed card.
+     * @param binderName   The name of the binder where the trade occurs.
+     * @param outgoingSlot The slot of the card being given up.
+     * @param incomingCard The new Card object being received. Must be a valid,
+     *                     pre-constructed card.
      * @return true if the trade was successful, false otherwise.
      */
-    public boolean performTrade(String binderName, int outgoingCardIndex, Card incomingCard) {
+    public boolean performTrade(String binderName, int outgoingSlot, Card incomingCard) {
         Binder binder = findBinder(binderName);
         if (binder == null || incomingCard == null)
             return false;
@@ -256,31 +523,140 @@ public class BinderManager {
             return false;
         }
 
-        Card outgoingCard = binder.removeCard(outgoingCardIndex);
-        if (outgoingCard == null)
-            return false;
+        synchronized (binder) {
+            if (!isRegistered(binder))
+                return false;
+
+            Card outgoingCard = binder.removeCard(outgoingSlot);
+            if (outgoingCard == null)
+                return false;
+
+            binderValue.add(outgoingCard, -1);
 
-        if (collectionManager.findCard(incomingCard.getName()) == null) {
-            collectionManager.addNewCard(
-                incomingCard.getName(), 
+            collectionManager.registerCard(
+                incomingCard.getName(),
                 incomingCard.getBaseValue(),
                 incomingCard.getRarity(),
-                incomingCard.getVariant()
+                incomingCard.getVariant(),
+                0
             );
 
-            collectionManager.decreaseCount(incomingCard.getName(), 1);
+            Card canonical = collectionManager.internCard(incomingCard);
+            binder.addCardAt(outgoingSlot, canonical);
+            binderValue.add(canonical, 1);
+
+            events.publish(InventoryEventType.CARD_MOVED, outgoingCard, -1,
+                    binder.getName());
+            events.publish(InventoryEventType.CARD_MOVED, canonical, 1,
+                    binder.getName());
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the cards in the collection that a binder's rules allow it to
+     * take. The binder's rule is evaluated once per rarity and variant pair
+     * against the collection's indexes, rather than once per card.
+     *
+     * @param binderName    The name of the binder.
+     * @param availableOnly Whether to leave out cards with no copies in the
+     *                      collection.
+     * @return The eligible cards, in ID order. Empty if the binder was not
+     *         found.
+     */
+    public ArrayList<Card> findEligibleCards(String binderName, boolean availableOnly) {
+        Binder binder = findBinder(binderName);
+        if (binder == null)
+            return new ArrayList<>();
+
+        BitSet ids = collectionManager.getCardIds(binder::accepts);
+        if (availableOnly)
+            collectionManager.retainAvailable(ids);
+
+        return collectionManager.getCards(ids);
+    }
+
+    /**
+     * Places a card into a binder without taking a copy from the collection.
+     * This is used when restoring saved state, where the card was already
+     * accounted for when it was first moved into the binder.
+     *
+     * @param binderName The name of the binder.
+     * @param slot       The slot the card was saved in.
+     * @param card       The card to place.
+     * @return true if the card was placed, false if the binder was not found or
+     *         would not accept the card in that slot.
+     */
+    public boolean restoreCard(String binderName, int slot, Card card) {
+        Binder binder = findBinder(binderName);
+        if (binder == null)
+            return false;
+
+        synchronized (binder) {
+            if (!binder.addCardAt(slot, card))
+                return false;
+
+            binderValue.add(card, 1);
+            events.publish(InventoryEventType.CARD_MOVED, card, 1, binder.getName());
+            return true;
         }
+    }
+
+    /**
+     * Gets the value of the cards in every binder, broken down by rarity and
+     * variant. It is maintained as binders change, so this takes constant time.
+     *
+     * @return A copy of the combined value breakdown of all binders.
+     */
+    public ValueBreakdown getValueBreakdown() {
+        return binderValue.copy();
+    }
 
-        binder.addCard(incomingCard);
+    /**
+     * Removes a binder from the registry and from the sorted index together, so
+     * that a binder created under the same name at the same time is never lost
+     * from either.
+     *
+     * @param binder The binder to remove.
+     * @return true if the binder was registered and has been removed, false
+     *         otherwise.
+     */
+    private synchronized boolean unregister(Binder binder) {
+        if (!binders.remove(Card.foldName(binder.getName()), binder))
+            return false;
+
+        bindersByName.remove(binder);
         return true;
     }
 
     /**
-     * Gets a defensive copy of the list of all binders.
+     * Gets the list of all binders sorted by name. The list is read from a
+     * maintained sorted index in linear time, without sorting.
+     *
+     * @return A new ArrayList containing all Binder objects, sorted by name.
+     */
+    public synchronized ArrayList<Binder> getBindersByName() {
+        return bindersByName.toList();
+    }
+
+    /**
+     * Checks whether a binder is still the one registered under its name, and
+     * so has not been deleted, sold or replaced since it was found.
+     *
+     * @param binder The binder to check.
+     * @return true if the binder is registered, false otherwise.
+     */
+    private boolean isRegistered(Binder binder) {
+        return binders.get(Card.foldName(binder.getName())) == binder;
+    }
+
+    /**
+     * Gets a defensive copy of the list of all binders, in no particular order.
      *
      * @return A new ArrayList containing all Binder objects.
      */
     public ArrayList<Binder> getBinders() {
-        return new ArrayList<>(binders);
+        return new ArrayList<>(binders.values());
     }
 }
@@ -0,0 +1,110 @@
+package com.tcis.backend;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.tcis.models.card.Card;
+
+/**
+ * A read-only, live view of the card counts held by a CollectionManager.
+ *
+ * <p>
+ * It presents the counts as a map from lowercase card names to quantities
+ * without copying them. Point lookups go straight to the manager's count
+ * table, so callers that only need a few counts never pay for the whole
+ * collection. Any attempt to modify the view throws
+ * {@code UnsupportedOperationException}.
+ * </p>
+ */
+class CardCountView extends AbstractMap<String, Integer> {
+    /**
+     * The manager whose counts this view exposes.
+     */
+    private final CollectionManager collectionManager;
+
+    /**
+     * Constructs a view over the given manager's counts.
+     *
+     * @param collectionManager The manager to read counts from.
+     */
+    CardCountView(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Gets the count for a card name (case-insensitive).
+     *
+     * @param key The card name.
+     * @return The count, or null if no card with that name exists.
+     */
+    @Override
+    public Integer get(Object key) {
+        if (!(key instanceof String) || !containsKey(key))
+            return null;
+
+        return collectionManager.getCardCount((String) key);
+    }
+
+    /**
+     * Checks whether a card with the given name exists (case-insensitive).
+     *
+     * @param key The card name.
+     * @return true if the card exists, false otherwise.
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String &&
+               collectionManager.findCard((String) key) != null;
+    }
+
+    /**
+     * Gets the number of unique card types.
+     *
+     * @return The number of entries in the view.
+     */
+    @Override
+    public int size() {
+        return collectionManager.getCardTypeCount();
+    }
+
+    /**
+     * Returns a set view of the entries, iterated in registration order.
+     *
+     * @return A set whose iterator reads each count on demand.
+     */
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return collectionManager.getCardTypeCount();
+            }
+
+            @Override
+            public Iterator<Entry<String, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < collectionManager.getCardTypeCount();
+                    }
+
+                    @Override
+                    public Entry<String, Integer> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+
+                        Card card = collectionManager.getCard(next++);
+                        return new SimpleImmutableEntry<>(
+                                card.getName().toLowerCase(),
+                                collectionManager.getCardCount(card.getId()));
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.tcis.backend;
+
+import com.tcis.models.card.Card;
+
+/**
+ * A hash key that identifies a card type by its normalized name, rarity,
+ * variant and base value.
+ *
+ * <p>
+ * It is used by the CollectionManager's interning registry so that every
+ * card describing the same type maps to one canonical Card instance. Two keys
+ * are equal exactly when {@code Card.isSameType} holds for their cards.
+ * </p>
+ */
+class CardKey {
+    /**
+     * The card whose type this key describes.
+     */
+    private final Card card;
+
+    /**
+     * The precomputed hash of the card's type.
+     */
+    private final int hash;
+
+    /**
+     * Constructs a key for the given card.
+     *
+     * @param card The card to describe. Must not be null.
+     */
+    CardKey(Card card) {
+        this.card = card;
+
+        // Hashed on the same per-character fold as equalsIgnoreCase, so
+        // equal keys always hash alike whatever the default locale.
+        int h = Card.foldName(card.getName()).hashCode();
+        h = 31 * h + card.getRarity().hashCode();
+        h = 31 * h + card.getVariant().hashCode();
+        h = 31 * h + Double.hashCode(card.getBaseValue());
+        this.hash = h;
+    }
+
+    /**
+     * Checks whether another key describes the same card type.
+     *
+     * @param obj The object to compare against.
+     * @return true if the other object is a key for the same card type.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+
+        if (!(obj instanceof CardKey))
+            return false;
+
+        CardKey other = (CardKey) obj;
+        return this.hash == other.hash && this.card.isSameType(other.card);
+    }
+
+    /**
+     * Gets the hash of the card type.
+     *
+     * @return The precomputed hash value.
+     */
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+}
@@ -0,0 +1,240 @@
+package com.tcis.backend;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.tcis.models.card.Card;
+
+/**
+ * An open-addressing hash table that maps card names to primitive int values
+ * without boxing.
+ *
+ * <p>
+ * Names are compared case-insensitively and ignoring surrounding whitespace,
+ * matching the lookup rules of the CollectionManager. Queries are hashed and
+ * compared directly against the caller's string, so a lookup never allocates
+ * a trimmed or lowercased copy of the key. Collisions are resolved with
+ * linear probing.
+ * </p>
+ *
+ * <p>
+ * Lookups never lock. A table has a fixed number of slots; {@code put}
+ * fills a slot's hash and value before publishing its key with a volatile
+ * write, so a concurrent reader either sees the whole entry or none of it.
+ * Growing builds a complete, larger copy through {@code grow}, which the
+ * owner then publishes in place of this one. Writers must be serialized by
+ * the caller.
+ * </p>
+ */
+class CardNameTable {
+    /**
+     * The value returned by {@code get} when a name is not in the table. It
+     * matches {@code Card.UNREGISTERED} so that IDs can be stored directly.
+     */
+    static final int NOT_FOUND = Card.UNREGISTERED;
+
+    /**
+     * The number of slots allocated for a new, empty table. Must be a power
+     * of two.
+     */
+    static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The stored names, already trimmed. A null slot is empty. Each slot is
+     * written last, so it publishes the hash and value beside it.
+     */
+    private final AtomicReferenceArray<String> keys;
+
+    /**
+     * The cached case-insensitive hash of each stored name, used to skip
+     * most string comparisons and to rehash without recomputing.
+     */
+    private final int[] hashes;
+
+    /**
+     * The value associated with each stored name.
+     */
+    private final int[] values;
+
+    /**
+     * The number of names currently stored. Only read and written by the
+     * single writer.
+     */
+    private int size;
+
+    /**
+     * Constructs a new, empty table with the given number of slots.
+     *
+     * @param capacity The number of slots. Must be a power of two.
+     */
+    CardNameTable(int capacity) {
+        this.keys = new AtomicReferenceArray<>(capacity);
+        this.hashes = new int[capacity];
+        this.values = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Gets the number of names stored in the table.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Looks up the value stored for a name.
+     *
+     * @param name The name to look up. Surrounding whitespace and letter case
+     *             are ignored.
+     * @return The stored value, or {@code NOT_FOUND} if the name is absent or
+     *         null.
+     */
+    int get(String name) {
+        if (name == null)
+            return NOT_FOUND;
+
+        int start = trimStart(name);
+        int end = trimEnd(name, start);
+        int hash = hash(name, start, end);
+        int mask = keys.length() - 1;
+        String key;
+
+        for (int i = hash & mask; (key = keys.get(i)) != null; i = (i + 1) & mask)
+            if (hashes[i] == hash && matches(key, name, start, end))
+                return values[i];
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Stores a value for a name that is not yet in the table. The table must
+     * have room for it; see {@code grow}.
+     *
+     * @param name  The name to store. It is trimmed before being kept.
+     * @param value The value to associate with the name.
+     * @return true if the entry was added, false if the name was already
+     *         present.
+     */
+    boolean put(String name, int value) {
+        String key = name.trim();
+        int hash = hash(key, 0, key.length());
+        int mask = keys.length() - 1;
+        int i = hash & mask;
+        String existing;
+
+        for (; (existing = keys.get(i)) != null; i = (i + 1) & mask)
+            if (hashes[i] == hash && matches(existing, key, 0, key.length()))
+                return false;
+
+        hashes[i] = hash;
+        values[i] = value;
+        keys.set(i, key);
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns a table with room for the given number of additional names
+     * while staying at most half full.
+     *
+     * @param additional The number of names about to be stored.
+     * @return This table if it already has room, otherwise a larger copy
+     *         holding the same entries.
+     */
+    CardNameTable grow(int additional) {
+        long required = 2L * (size + additional);
+        int capacity = keys.length();
+
+        while (capacity < required && capacity < (1 << 30))
+            capacity *= 2;
+
+        if (capacity == keys.length())
+            return this;
+
+        CardNameTable grown = new CardNameTable(capacity);
+        int mask = capacity - 1;
+
+        for (int j = 0; j < keys.length(); j++) {
+            String key = keys.get(j);
+            if (key == null)
+                continue;
+
+            int i = hashes[j] & mask;
+            while (grown.keys.get(i) != null)
+                i = (i + 1) & mask;
+
+            grown.hashes[i] = hashes[j];
+            grown.values[i] = values[j];
+            grown.keys.set(i, key);
+        }
+
+        grown.size = size;
+        return grown;
+    }
+
+    /**
+     * Finds the index of the first character that {@code String.trim} would
+     * keep.
+     *
+     * @param s The string to scan.
+     * @return The index of the first non-whitespace character.
+     */
+    private static int trimStart(String s) {
+        int start = 0;
+        while (start < s.length() && s.charAt(start) <= ' ')
+            start++;
+
+        return start;
+    }
+
+    /**
+     * Finds the index just past the last character that {@code String.trim}
+     * would keep.
+     *
+     * @param s     The string to scan.
+     * @param start The trimmed start index, used as a lower bound.
+     * @return The exclusive end index of the trimmed region.
+     */
+    private static int trimEnd(String s, int start) {
+        int end = s.length();
+        while (end > start && s.charAt(end - 1) <= ' ')
+            end--;
+
+        return end;
+    }
+
+    /**
+     * Computes a case-insensitive hash over a region of a string. Characters
+     * are folded the same way {@code String.regionMatches} folds them when
+     * ignoring case, so equal names always hash alike.
+     *
+     * @param s     The string to hash.
+     * @param start The inclusive start of the region.
+     * @param end   The exclusive end of the region.
+     * @return The spread hash value.
+     */
+    private static int hash(String s, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++)
+            h = 31 * h + Character.toLowerCase(
+                    Character.toUpperCase(s.charAt(i)));
+
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Checks whether a stored key equals a region of a query string, ignoring
+     * case.
+     *
+     * @param key   The stored, trimmed key.
+     * @param s     The query string.
+     * @param start The inclusive start of the query region.
+     * @param end   The exclusive end of the query region.
+     * @return true if the key and the region match.
+     */
+    private static boolean matches(String key, String s, int start, int end) {
+        return key.length() == end - start &&
+               key.regionMatches(true, 0, s, start, end - start);
+    }
+}
@@ -0,0 +1,262 @@
+package com.tcis.backend;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A compressed prefix tree over card names, used for search-as-you-type.
+ *
+ * <p>
+ * Names are matched case-insensitively, folding each character the same way
+ * the CardNameTable does, and completions are returned in order of their
+ * folded names. Each edge holds a run of characters rather than a single one,
+ * so the tree has fewer nodes than names. Finding the first K completions of
+ * a prefix walks the prefix once and then visits only the nodes that lead to
+ * those K names, so its cost does not depend on the size of the catalog.
+ * </p>
+ *
+ * <p>
+ * Lookups never lock. Node labels never change and child arrays are replaced
+ * rather than modified, so a reader sees either the tree before an insert or
+ * the tree after it. Writers must be serialized by the caller.
+ * </p>
+ */
+class CardNameTrie {
+    /**
+     * The empty result returned when nothing matches.
+     */
+    private static final int[] NO_MATCHES = new int[0];
+
+    /**
+     * The root of the tree, whose label is empty.
+     */
+    private final CardNameTrieNode root;
+
+    /**
+     * Constructs a new, empty trie.
+     */
+    CardNameTrie() {
+        this.root = new CardNameTrieNode("", CardNameTable.NOT_FOUND,
+                CardNameTrieNode.NO_CHILDREN);
+    }
+
+    /**
+     * Stores the ID of a card under its name.
+     *
+     * @param name The card's name. It is trimmed and case-folded before
+     *             being kept.
+     * @param id   The card's ID.
+     */
+    void put(String name, int id) {
+        String key = fold(name.trim());
+        CardNameTrieNode node = root;
+        int i = 0;
+
+        while (i < key.length()) {
+            CardNameTrieNode[] children = node.children;
+            int pos = CardNameTrieNode.search(children, key.charAt(i));
+
+            if (pos < 0) {
+                CardNameTrieNode leaf = new CardNameTrieNode(key.substring(i),
+                        id, CardNameTrieNode.NO_CHILDREN);
+                node.children = insert(children, -pos - 1, leaf);
+                return;
+            }
+
+            CardNameTrieNode child = children[pos];
+            String label = child.label;
+            int common = 1;
+
+            while (common < label.length() && i + common < key.length() &&
+                   label.charAt(common) == key.charAt(i + common))
+                common++;
+
+            if (common == label.length()) {
+                node = child;
+                i += common;
+                continue;
+            }
+
+            // The key leaves the child's label part way along, so the edge is
+            // split. The child is rebuilt below the split rather than changed
+            // in place, keeping its label immutable for concurrent readers.
+            CardNameTrieNode tail = new CardNameTrieNode(label.substring(common),
+                    child.id, child.children);
+            CardNameTrieNode split;
+
+            if (i + common == key.length()) {
+                split = new CardNameTrieNode(label.substring(0, common), id,
+                        new CardNameTrieNode[] { tail });
+            } else {
+                CardNameTrieNode leaf = new CardNameTrieNode(
+                        key.substring(i + common), id,
+                        CardNameTrieNode.NO_CHILDREN);
+                CardNameTrieNode[] pair = (tail.label.charAt(0) < leaf.label.charAt(0))
+                                          ? new CardNameTrieNode[] { tail, leaf }
+                                          : new CardNameTrieNode[] { leaf, tail };
+                split = new CardNameTrieNode(label.substring(0, common),
+                        CardNameTable.NOT_FOUND, pair);
+            }
+
+            CardNameTrieNode[] replaced = children.clone();
+            replaced[pos] = split;
+            node.children = replaced;
+            return;
+        }
+
+        node.id = id;
+    }
+
+    /**
+     * Finds the cards whose names start with a prefix.
+     *
+     * @param prefix The prefix to complete. Leading whitespace and letter
+     *               case are ignored.
+     * @param limit  The largest number of IDs to return.
+     * @return The IDs of at most {@code limit} matching cards, in order of
+     *         their case-folded names. Empty if nothing matches.
+     */
+    int[] complete(String prefix, int limit) {
+        if (prefix == null || limit <= 0)
+            return NO_MATCHES;
+
+        CardNameTrieNode node = find(prefix);
+        if (node == null)
+            return NO_MATCHES;
+
+        int[] ids = new int[limit];
+        int found = collect(node, ids, 0);
+        return (found == limit) ? ids : Arrays.copyOf(ids, found);
+    }
+
+    /**
+     * Marks every card whose name starts with a prefix, however many there
+     * are.
+     *
+     * @param prefix The prefix to match. Leading whitespace and letter case
+     *               are ignored.
+     * @param ids    The set that receives the IDs of the matching cards.
+     */
+    void collectAll(String prefix, BitSet ids) {
+        if (prefix == null)
+            return;
+
+        CardNameTrieNode node = find(prefix);
+        if (node != null)
+            collectAll(node, ids);
+    }
+
+    /**
+     * Walks down the tree along a prefix.
+     *
+     * @param prefix The prefix to follow. Leading whitespace and letter case
+     *               are ignored.
+     * @return The highest node below which every name starts with the
+     *         prefix, or null if no name does.
+     */
+    private CardNameTrieNode find(String prefix) {
+        CardNameTrieNode node = root;
+        int i = 0;
+
+        while (i < prefix.length() && prefix.charAt(i) <= ' ')
+            i++;
+
+        while (i < prefix.length()) {
+            CardNameTrieNode[] children = node.children;
+            int pos = CardNameTrieNode.search(children, fold(prefix.charAt(i)));
+
+            if (pos < 0)
+                return null;
+
+            node = children[pos];
+            String label = node.label;
+
+            for (int j = 0; j < label.length() && i < prefix.length(); j++, i++)
+                if (label.charAt(j) != fold(prefix.charAt(i)))
+                    return null;
+        }
+
+        return node;
+    }
+
+    /**
+     * Gathers the IDs stored at and below a node in name order, stopping once
+     * the output array is full.
+     *
+     * @param node  The node to start from.
+     * @param ids   The array that receives the IDs.
+     * @param found The number of IDs already gathered.
+     * @return The number of IDs gathered afterward.
+     */
+    private static int collect(CardNameTrieNode node, int[] ids, int found) {
+        int id = node.id;
+        if (id != CardNameTable.NOT_FOUND)
+            ids[found++] = id;
+
+        for (CardNameTrieNode child : node.children) {
+            if (found == ids.length)
+                break;
+
+            found = collect(child, ids, found);
+        }
+
+        return found;
+    }
+
+    /**
+     * Marks the IDs stored at and below a node.
+     *
+     * @param node The node to start from.
+     * @param ids  The set that receives the IDs.
+     */
+    private static void collectAll(CardNameTrieNode node, BitSet ids) {
+        int id = node.id;
+        if (id != CardNameTable.NOT_FOUND)
+            ids.set(id);
+
+        for (CardNameTrieNode child : node.children)
+            collectAll(child, ids);
+    }
+
+    /**
+     * Returns a copy of an array with a node inserted at a position.
+     *
+     * @param children The original array.
+     * @param pos      The index at which to insert.
+     * @param node     The node to insert.
+     * @return The new array.
+     */
+    private static CardNameTrieNode[] insert(CardNameTrieNode[] children, int pos,
+                                             CardNameTrieNode node) {
+        CardNameTrieNode[] grown = new CardNameTrieNode[children.length + 1];
+        System.arraycopy(children, 0, grown, 0, pos);
+        grown[pos] = node;
+        System.arraycopy(children, pos, grown, pos + 1, children.length - pos);
+        return grown;
+    }
+
+    /**
+     * Folds a string's characters for case-insensitive matching.
+     *
+     * @param s The string to fold.
+     * @return The folded string.
+     */
+    private static String fold(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = fold(chars[i]);
+
+        return new String(chars);
+    }
+
+    /**
+     * Folds a character the way {@code String.regionMatches} does when
+     * ignoring case.
+     *
+     * @param c The character to fold.
+     * @return The folded character.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,77 @@
+package com.tcis.backend;
+
+/**
+ * A single node of a CardNameTrie.
+ *
+ * <p>
+ * The label on the edge leading into a node never changes. Its children are
+ * kept in an array sorted by the first character of their labels, and that
+ * array is only ever replaced, never modified, so a reader that has loaded it
+ * always sees a consistent set of children.
+ * </p>
+ */
+class CardNameTrieNode {
+    /**
+     * The shared, empty children array of every leaf.
+     */
+    static final CardNameTrieNode[] NO_CHILDREN = new CardNameTrieNode[0];
+
+    /**
+     * The case-folded characters on the edge from the parent to this node.
+     * It is empty only for the root.
+     */
+    final String label;
+
+    /**
+     * The child nodes, sorted by the first character of their labels.
+     * Replacing the array publishes the children it holds.
+     */
+    volatile CardNameTrieNode[] children;
+
+    /**
+     * The ID of the card whose folded name ends at this node, or
+     * {@code CardNameTable.NOT_FOUND} if no name ends here.
+     */
+    volatile int id;
+
+    /**
+     * Constructs a new node.
+     *
+     * @param label    The folded characters on the edge into this node.
+     * @param id       The ID of the card whose name ends here, or
+     *                 {@code CardNameTable.NOT_FOUND}.
+     * @param children The sorted children of this node.
+     */
+    CardNameTrieNode(String label, int id, CardNameTrieNode[] children) {
+        this.label = label;
+        this.id = id;
+        this.children = children;
+    }
+
+    /**
+     * Finds the position of the child whose label starts with a character.
+     *
+     * @param children The sorted children to search.
+     * @param c        The folded first character to look for.
+     * @return The index of the matching child, or {@code -(insertion point)
+     *         - 1} if there is none.
+     */
+    static int search(CardNameTrieNode[] children, char c) {
+        int low = 0;
+        int high = children.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = children[mid].label.charAt(0);
+
+            if (first < c)
+                low = mid + 1;
+            else if (first > c)
+                high = mid - 1;
+            else
+                return mid;
+        }
+
+        return -(low + 1);
+    }
+}
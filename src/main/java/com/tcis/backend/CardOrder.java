@@ -0,0 +1,49 @@
+package com.tcis.backend;
+
+import java.util.Comparator;
+
+import com.tcis.models.card.Card;
+
+/**
+ * Represents the orderings in which the CollectionManager keeps its card
+ * types sorted.
+ */
+public enum CardOrder {
+    /**
+     * Alphabetical by name.
+     */
+    NAME(Comparator.comparing(Card::getName)
+                   .thenComparingInt(Card::getId)),
+
+    /**
+     * By real value, lowest first, then by name.
+     */
+    VALUE(Comparator.comparingLong(Card::getValueCents)
+                    .thenComparing(Card::getName)
+                    .thenComparingInt(Card::getId));
+
+    /**
+     * The comparator that defines the ordering. It never considers two
+     * different card types equal.
+     */
+    private final Comparator<Card> comparator;
+
+    /**
+     * Private constructor to initialize each enum constant with its
+     * comparator.
+     *
+     * @param comparator The comparator that defines the ordering.
+     */
+    CardOrder(Comparator<Card> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Gets the comparator that defines the ordering.
+     *
+     * @return The comparator.
+     */
+    public Comparator<Card> getComparator() {
+        return this.comparator;
+    }
+}
@@ -0,0 +1,508 @@
+package com.tcis.backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * A composable query over the card types in a CollectionManager.
+ *
+ * <p>
+ * Conditions are added with the narrowing methods, each of which returns the
+ * same query so they can be chained, and are combined with a logical AND.
+ * Results are produced by {@code list}, {@code stream} or {@code count}, and
+ * may be ordered and limited.
+ * </p>
+ *
+ * <p>
+ * When the query runs, the rarity and variant conditions and any name prefix
+ * are answered from the collection's indexes, which narrows the candidate
+ * IDs without looking at individual cards. A value range is answered from the
+ * collection's value order: two binary searches find the positions of its
+ * bounds, and only the cards between them are candidates. Only the remaining
+ * conditions (count range, name substring and custom predicates) are tested
+ * card by card, and only against those candidates. When many candidates
+ * remain, they are tested in parallel. A query holds no locks and reflects
+ * the collection as it is while it runs. Ordering by a CardOrder streams the
+ * collection's maintained sorted cards in place instead of sorting or
+ * copying them, so a limit stops the scan as soon as it is reached.
+ * </p>
+ */
+public class CardQuery {
+    /**
+     * The number of candidate cards at or above which the per-card
+     * conditions are tested in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 50_000;
+
+    /**
+     * The collection being queried.
+     */
+    private final CollectionManager collectionManager;
+
+    /**
+     * The rarities a card may have.
+     */
+    private final EnumSet<Rarity> rarities;
+
+    /**
+     * The variants a card may have.
+     */
+    private final EnumSet<Variant> variants;
+
+    /**
+     * The prefix every matching name starts with, or null for any name.
+     */
+    private String namePrefix;
+
+    /**
+     * The text every matching name contains (case-insensitive), or null for
+     * any name.
+     */
+    private String nameSubstring;
+
+    /**
+     * The lowest real value a card may have, in cents.
+     */
+    private long minValueCents;
+
+    /**
+     * The highest real value a card may have, in cents.
+     */
+    private long maxValueCents;
+
+    /**
+     * The fewest copies a card may have in the collection.
+     */
+    private int minCount;
+
+    /**
+     * The most copies a card may have in the collection.
+     */
+    private int maxCount;
+
+    /**
+     * Any further conditions, combined with a logical AND, or null for none.
+     */
+    private Predicate<Card> predicate;
+
+    /**
+     * The order in which results are returned, or null for ID order.
+     */
+    private Comparator<Card> order;
+
+    /**
+     * The maintained ordering to read results in, or null if none. Unlike
+     * {@code order}, it needs no sort.
+     */
+    private CardOrder sortedOrder;
+
+    /**
+     * A further rule on a card's rarity and variant that the indexes can
+     * answer, such as a binder's eligibility rule, or null for none.
+     */
+    private BiPredicate<Rarity, Variant> typeFilter;
+
+    /**
+     * The largest number of results to return.
+     */
+    private long limit;
+
+    /**
+     * Constructs a query over a collection that matches every card.
+     *
+     * @param collectionManager The collection to query.
+     */
+    CardQuery(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+        this.rarities = EnumSet.allOf(Rarity.class);
+        this.variants = EnumSet.allOf(Variant.class);
+        this.minValueCents = Long.MIN_VALUE;
+        this.maxValueCents = Long.MAX_VALUE;
+        this.minCount = 0;
+        this.maxCount = Integer.MAX_VALUE;
+        this.limit = Long.MAX_VALUE;
+    }
+
+    /**
+     * Keeps only cards with one of the given rarities.
+     *
+     * @param allowed The rarities to keep.
+     * @return This query.
+     */
+    public CardQuery rarity(Rarity... allowed) {
+        rarities.retainAll(Arrays.asList(allowed));
+        return this;
+    }
+
+    /**
+     * Keeps only cards with one of the given variants.
+     *
+     * @param allowed The variants to keep.
+     * @return This query.
+     */
+    public CardQuery variant(Variant... allowed) {
+        variants.retainAll(Arrays.asList(allowed));
+        return this;
+    }
+
+    /**
+     * Keeps only cards whose rarity and variant pass a rule, such as
+     * {@code binder::accepts}. The rule is answered from the indexes.
+     *
+     * @param filter The rule on rarity and variant.
+     * @return This query.
+     */
+    public CardQuery type(BiPredicate<Rarity, Variant> filter) {
+        this.typeFilter = (typeFilter == null) ? filter : typeFilter.and(filter);
+        return this;
+    }
+
+    /**
+     * Keeps only cards whose names start with a prefix (case-insensitive).
+     *
+     * @param prefix The start of the name.
+     * @return This query.
+     */
+    public CardQuery namePrefix(String prefix) {
+        this.namePrefix = prefix;
+        return this;
+    }
+
+    /**
+     * Keeps only cards whose names contain some text (case-insensitive).
+     *
+     * @param text The text to look for.
+     * @return This query.
+     */
+    public CardQuery nameContains(String text) {
+        this.nameSubstring = text;
+        return this;
+    }
+
+    /**
+     * Keeps only cards whose real value is at least an amount.
+     *
+     * @param value The lowest value, in dollars.
+     * @return This query.
+     */
+    public CardQuery minValue(double value) {
+        this.minValueCents = Math.round(value * 100);
+        return this;
+    }
+
+    /**
+     * Keeps only cards whose real value is at most an amount.
+     *
+     * @param value The highest value, in dollars.
+     * @return This query.
+     */
+    public CardQuery maxValue(double value) {
+        this.maxValueCents = Math.round(value * 100);
+        return this;
+    }
+
+    /**
+     * Keeps only cards with at least a number of copies in the collection.
+     *
+     * @param count The fewest copies.
+     * @return This query.
+     */
+    public CardQuery minCount(int count) {
+        this.minCount = count;
+        return this;
+    }
+
+    /**
+     * Keeps only cards with at most a number of copies in the collection.
+     *
+     * @param count The most copies.
+     * @return This query.
+     */
+    public CardQuery maxCount(int count) {
+        this.maxCount = count;
+        return this;
+    }
+
+    /**
+     * Keeps only cards with at least one copy in the collection.
+     *
+     * @return This query.
+     */
+    public CardQuery available() {
+        return minCount(Math.max(minCount, 1));
+    }
+
+    /**
+     * Keeps only cards that also pass a custom condition. Since the index
+     * cannot answer it, it is tested on each remaining candidate, possibly
+     * from several threads at once.
+     *
+     * @param condition The condition to test.
+     * @return This query.
+     */
+    public CardQuery where(Predicate<Card> condition) {
+        this.predicate = (predicate == null) ? condition : predicate.and(condition);
+        return this;
+    }
+
+    /**
+     * Returns results in the given order instead of ID order.
+     *
+     * @param comparator The order of the results.
+     * @return This query.
+     */
+    public CardQuery orderBy(Comparator<Card> comparator) {
+        this.order = comparator;
+        this.sortedOrder = null;
+        return this;
+    }
+
+    /**
+     * Returns results in one of the orderings the collection maintains.
+     * The results are read from the sorted cards and filtered, so no sort
+     * is performed.
+     *
+     * @param cardOrder The order of the results.
+     * @return This query.
+     */
+    public CardQuery orderBy(CardOrder cardOrder) {
+        this.sortedOrder = cardOrder;
+        this.order = null;
+        return this;
+    }
+
+    /**
+     * Returns at most a number of results.
+     *
+     * @param max The largest number of results.
+     * @return This query.
+     */
+    public CardQuery limit(long max) {
+        this.limit = Math.max(0, max);
+        return this;
+    }
+
+    /**
+     * Runs the query and streams the matching cards, ordered and limited as
+     * requested.
+     *
+     * @return A stream of the matching cards.
+     */
+    public Stream<Card> stream() {
+        if (sortedOrder != null)
+            return sortedStream();
+
+        Stream<Card> cards = candidates().mapToObj(collectionManager::getCard)
+                                         .filter(this::matches);
+
+        if (order != null)
+            cards = cards.sorted(order);
+
+        return cards.limit(limit);
+    }
+
+    /**
+     * Runs the query and collects the matching cards.
+     *
+     * @return A new list of the matching cards, ordered and limited as
+     *         requested.
+     */
+    public ArrayList<Card> list() {
+        return stream().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Runs the query and counts the matching cards, up to the limit.
+     *
+     * @return The number of matching cards.
+     */
+    public long count() {
+        return stream().count();
+    }
+
+    /**
+     * Streams the matching cards in the maintained sorted order, keeping
+     * the candidates the indexes allow. The sorted cards are streamed where
+     * they are, so the scan stops at the limit. In value order, only the
+     * positions between the bounds of the value range are scanned.
+     *
+     * @return A stream of the matching cards.
+     */
+    private Stream<Card> sortedStream() {
+        Card[] sorted = collectionManager.sortedCards(sortedOrder);
+        int from = 0;
+        int to = sorted.length;
+        BitSet ids;
+
+        if (sortedOrder == CardOrder.VALUE) {
+            from = valueRank(sorted, minValueCents);
+            to = Math.max(from, valueRankAbove(sorted, maxValueCents));
+            ids = candidateIds(false);
+        } else {
+            ids = candidateIds(true);
+        }
+
+        return Arrays.stream(sorted, from, to)
+                     .filter(card -> ids == null || ids.get(card.getId()))
+                     .filter(this::matches)
+                     .limit(limit);
+    }
+
+    /**
+     * Narrows the query to the IDs the indexes allow.
+     *
+     * @param byValue Whether to narrow by the value range too.
+     * @return The candidate card IDs, or null if the indexes rule none out.
+     */
+    private BitSet candidateIds(boolean byValue) {
+        BitSet ids = null;
+
+        if (rarities.size() < Rarity.values().length ||
+            variants.size() < Variant.values().length ||
+            typeFilter != null)
+            ids = collectionManager.getCardIds(
+                    (rarity, variant) -> rarities.contains(rarity) &&
+                                         variants.contains(variant) &&
+                                         (typeFilter == null ||
+                                          typeFilter.test(rarity, variant)));
+
+        if (namePrefix != null) {
+            BitSet named = collectionManager.getCardIdsByPrefix(namePrefix);
+
+            if (ids == null)
+                ids = named;
+            else
+                ids.and(named);
+        }
+
+        if (byValue && (minValueCents > Long.MIN_VALUE || maxValueCents < Long.MAX_VALUE)) {
+            BitSet valued = new BitSet();
+            Card[] byValueOrder = collectionManager.sortedCards(CardOrder.VALUE);
+            int to = valueRankAbove(byValueOrder, maxValueCents);
+
+            for (int i = valueRank(byValueOrder, minValueCents); i < to; i++)
+                valued.set(byValueOrder[i].getId());
+
+            if (ids == null)
+                ids = valued;
+            else
+                ids.and(valued);
+        }
+
+        return ids;
+    }
+
+    /**
+     * Finds, by binary search, the first position in value order of a card
+     * worth at least an amount.
+     *
+     * @param byValue    The card types in value order.
+     * @param valueCents The amount, in cents.
+     * @return The number of cards worth less than the amount.
+     */
+    private static int valueRank(Card[] byValue, long valueCents) {
+        int low = 0;
+        int high = byValue.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byValue[mid].getValueCents() < valueCents)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds, by binary search, the first position in value order of a card
+     * worth more than an amount.
+     *
+     * @param byValue    The card types in value order.
+     * @param valueCents The amount, in cents.
+     * @return The number of cards worth at most the amount.
+     */
+    private static int valueRankAbove(Card[] byValue, long valueCents) {
+        return (valueCents == Long.MAX_VALUE)
+               ? byValue.length
+               : valueRank(byValue, valueCents + 1);
+    }
+
+    /**
+     * Narrows the query to the IDs the indexes allow and turns them into a
+     * stream, parallel if there are enough of them.
+     *
+     * @return The candidate card IDs, in ascending order.
+     */
+    private IntStream candidates() {
+        BitSet ids = candidateIds(true);
+        IntStream stream;
+        int size;
+
+        if (ids == null) {
+            size = collectionManager.getCardTypeCount();
+            stream = IntStream.range(0, size);
+        } else {
+            size = ids.cardinality();
+            stream = (size >= PARALLEL_THRESHOLD)
+                     ? Arrays.stream(ids.stream().toArray())
+                     : ids.stream();
+        }
+
+        return (size >= PARALLEL_THRESHOLD) ? stream.parallel() : stream;
+    }
+
+    /**
+     * Tests a candidate card against the conditions the indexes and the
+     * value order could not answer.
+     *
+     * @param card The card to test.
+     * @return true if the card matches.
+     */
+    private boolean matches(Card card) {
+        if (card == null)
+            return false;
+
+        if (minCount > 0 || maxCount < Integer.MAX_VALUE) {
+            int count = collectionManager.getCardCount(card.getId());
+            if (count < minCount || count > maxCount)
+                return false;
+        }
+
+        if (nameSubstring != null && !containsIgnoreCase(card.getName(), nameSubstring))
+            return false;
+
+        return predicate == null || predicate.test(card);
+    }
+
+    /**
+     * Checks whether a string contains another, ignoring case, without
+     * allocating lowercased copies.
+     *
+     * @param s    The string to search.
+     * @param text The text to look for.
+     * @return true if {@code s} contains {@code text}.
+     */
+    private static boolean containsIgnoreCase(String s, String text) {
+        int last = s.length() - text.length();
+
+        for (int i = 0; i <= last; i++)
+            if (s.regionMatches(true, i, text, 0, text.length()))
+                return true;
+
+        return false;
+    }
+}
@@ -0,0 +1,671 @@
+package com.tcis.backend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Streams card catalogs from CSV or TSV files into a CollectionManager.
+ *
+ * <p>
+ * Each data row holds {@code name, baseValue, rarity, variant[, count]}. The
+ * count is optional and defaults to 1. A first line whose name column reads
+ * "name" is treated as a header and skipped. CSV fields may be wrapped in
+ * double quotes, with {@code ""} standing for a literal quote, so names can
+ * contain commas. A quoted field must end at a delimiter or the end of the
+ * line and cannot span lines; a row that breaks either rule is rejected.
+ * When a quote is left open, the following lines are read ahead, scanning
+ * each only once, to find where it closes. If it closes within 64 lines,
+ * the whole record is rejected as one row. Otherwise only the first line is
+ * rejected, and the lines read ahead are read again as rows of their own,
+ * so one stray quote never swallows the rest of the file.
+ * </p>
+ *
+ * <p>
+ * The file is read one line at a time and never held in memory as a whole.
+ * Rows are validated with the same rules as the Card constructor and
+ * inserted in batches. A row whose name matches an existing card of the same
+ * type tops up that card's count. A row that names an existing card with a
+ * different rarity, variant or base value is rejected. Every rejected row is
+ * reported in the returned ImportResult rather than stopping the import.
+ * </p>
+ *
+ * <p>
+ * An optional TaskMonitor is told how far through the file the import is
+ * after every batch, and may cancel it there. A cancelled import keeps the
+ * batches already applied, so the collection never holds half a batch.
+ * </p>
+ *
+ * <p>
+ * A listener may also stop the import, for instance when it can no longer
+ * record the rows it is given. The import then ends right after the row the
+ * listener refused, and the result reports it as cancelled with an error
+ * on that row's line.
+ * </p>
+ */
+public class CatalogImporter {
+    /**
+     * The number of validated rows collected before they are inserted into
+     * the collection together.
+     */
+    private static final int BATCH_SIZE = 4096;
+
+    /**
+     * The largest number of columns a row may have.
+     */
+    private static final int MAX_FIELDS = 5;
+
+    /**
+     * Returned by {@code split} for a line with text between a closing quote
+     * and the next delimiter.
+     */
+    private static final int TEXT_AFTER_QUOTE = -1;
+
+    /**
+     * Returned by {@code split} for a line whose quoted field is not closed
+     * before the end of the line, as when a field spans lines.
+     */
+    private static final int UNCLOSED_QUOTE = -2;
+
+    /**
+     * The largest number of lines read ahead to find the end of a quoted
+     * field that is left open.
+     */
+    private static final int MAX_SPANNED_LINES = 64;
+
+    /**
+     * The largest number of characters read ahead to find the end of a
+     * quoted field that is left open.
+     */
+    private static final int MAX_SPANNED_CHARS = 1 << 16;
+
+    /**
+     * The collection that imported cards are registered in.
+     */
+    private final CollectionManager collectionManager;
+
+    /**
+     * The listener notified of every applied row, or null if none.
+     */
+    private final ImportListener listener;
+
+    /**
+     * The monitor that follows the import's progress, or null if none.
+     */
+    private final TaskMonitor monitor;
+
+    /**
+     * The lock held while a batch is applied and reported to the listener,
+     * or null if none.
+     */
+    private final Lock applyLock;
+
+    /**
+     * The pending batch of validated card names.
+     */
+    private final String[] names;
+
+    /**
+     * The pending batch of validated base values.
+     */
+    private final double[] values;
+
+    /**
+     * The pending batch of validated rarities.
+     */
+    private final Rarity[] rarities;
+
+    /**
+     * The pending batch of validated variants.
+     */
+    private final Variant[] variants;
+
+    /**
+     * The pending batch of validated counts.
+     */
+    private final int[] counts;
+
+    /**
+     * The source line number of each pending row, for error reporting.
+     */
+    private final long[] lineNumbers;
+
+    /**
+     * The number of rows currently waiting in the batch.
+     */
+    private int pending;
+
+    /**
+     * Whether the listener asked to stop the import.
+     */
+    private boolean stopped;
+
+    /**
+     * Lines read ahead for a quoted field that never closed, waiting to be
+     * read again as rows of their own.
+     */
+    private final ArrayDeque<String> heldLines;
+
+    /**
+     * The number of UTF-8 bytes read from the stream so far.
+     */
+    private long bytesRead;
+
+    /**
+     * Constructs an importer that registers cards in the given collection.
+     *
+     * @param collectionManager The collection to import into.
+     */
+    public CatalogImporter(CollectionManager collectionManager) {
+        this(collectionManager, null);
+    }
+
+    /**
+     * Constructs an importer that registers cards in the given collection and
+     * reports every applied row to a listener.
+     *
+     * @param collectionManager The collection to import into.
+     * @param listener          The listener to notify, or null for none.
+     */
+    public CatalogImporter(CollectionManager collectionManager, ImportListener listener) {
+        this(collectionManager, listener, null);
+    }
+
+    /**
+     * Constructs an importer that registers cards in the given collection,
+     * reports every applied row to a listener, and reports its progress to a
+     * monitor that may cancel it.
+     *
+     * @param collectionManager The collection to import into.
+     * @param listener          The listener to notify, or null for none.
+     * @param monitor           The monitor to report progress to, or null
+     *                          for none.
+     */
+    public CatalogImporter(CollectionManager collectionManager, ImportListener listener,
+                           TaskMonitor monitor) {
+        this(collectionManager, listener, monitor, null);
+    }
+
+    /**
+     * Constructs an importer like the three-argument constructor that also
+     * holds a lock while it applies each batch and reports its rows to the
+     * listener. A listener that journals the rows then records them in the
+     * same order as other changes made under that lock.
+     *
+     * @param collectionManager The collection to import into.
+     * @param listener          The listener to notify, or null for none.
+     * @param monitor           The monitor to report progress to, or null
+     *                          for none.
+     * @param applyLock         The lock to hold while applying a batch, or
+     *                          null for none.
+     */
+    public CatalogImporter(CollectionManager collectionManager, ImportListener listener,
+                           TaskMonitor monitor, Lock applyLock) {
+        this.collectionManager = collectionManager;
+        this.listener = listener;
+        this.monitor = monitor;
+        this.applyLock = applyLock;
+        this.names = new String[BATCH_SIZE];
+        this.values = new double[BATCH_SIZE];
+        this.rarities = new Rarity[BATCH_SIZE];
+        this.variants = new Variant[BATCH_SIZE];
+        this.counts = new int[BATCH_SIZE];
+        this.lineNumbers = new long[BATCH_SIZE];
+        this.heldLines = new ArrayDeque<>();
+    }
+
+    /**
+     * Imports a catalog file. Files ending in ".tsv" or ".tab" are read as
+     * tab-separated; all others are read as comma-separated.
+     *
+     * @param path The catalog file to read, encoded in UTF-8.
+     * @return A summary of the rows read, cards added or updated, and errors.
+     * @throws IOException if the file cannot be read.
+     */
+    public ImportResult importFile(Path path) throws IOException {
+        String fileName = path.getFileName().toString().toLowerCase();
+        char delimiter = (fileName.endsWith(".tsv") || fileName.endsWith(".tab"))
+                         ? '\t'
+                         : ',';
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return importFrom(reader, delimiter, Files.size(path));
+        }
+    }
+
+    /**
+     * Imports a catalog from a character stream.
+     *
+     * @param source    The stream of catalog rows. It is not closed.
+     * @param delimiter The column separator, usually ',' or '\t'.
+     * @return A summary of the rows read, cards added or updated, and errors.
+     * @throws IOException if the stream cannot be read.
+     */
+    public ImportResult importFrom(Reader source, char delimiter) throws IOException {
+        return importFrom(source, delimiter, 0);
+    }
+
+    /**
+     * Imports a catalog from a character stream of a known length, so that
+     * progress can be reported as a fraction of it.
+     *
+     * @param source    The stream of catalog rows. It is not closed.
+     * @param delimiter The column separator, usually ',' or '\t'.
+     * @param length    The length of the stream in UTF-8 bytes, or 0 if
+     *                  unknown. Progress counts each line break as one byte,
+     *                  so it is approximate for files with CRLF line endings.
+     * @return A summary of the rows read, cards added or updated, and errors.
+     * @throws IOException if the stream cannot be read.
+     */
+    public ImportResult importFrom(Reader source, char delimiter, long length)
+            throws IOException {
+        BufferedReader reader = (source instanceof BufferedReader)
+                                ? (BufferedReader) source
+                                : new BufferedReader(source, 1 << 16);
+        ImportResult result = new ImportResult();
+        String[] fields = new String[MAX_FIELDS + 1];
+        long lineNumber = 0;
+        String line;
+
+        pending = 0;
+        stopped = false;
+        heldLines.clear();
+        bytesRead = 0;
+
+        while ((line = readLine(reader)) != null) {
+            lineNumber++;
+
+            if (line.isBlank())
+                continue;
+
+            int fieldCount = split(line, delimiter, fields);
+
+            if (fieldCount == TEXT_AFTER_QUOTE) {
+                result.rowRead();
+                result.error(lineNumber, "Unexpected text after a closing quote.");
+                continue;
+            }
+
+            if (fieldCount == UNCLOSED_QUOTE) {
+                // The field may continue on the following lines. Read ahead,
+                // scanning only each new line, to find its closing quote.
+                ArrayList<String> spanned = new ArrayList<>();
+                long chars = line.length();
+                boolean open = true;
+                String next;
+
+                while (open && spanned.size() < MAX_SPANNED_LINES &&
+                       chars <= MAX_SPANNED_CHARS && (next = readLine(reader)) != null) {
+                    spanned.add(next);
+                    chars += next.length() + 1;
+                    open = endsInsideQuote(next, delimiter);
+                }
+
+                result.rowRead();
+
+                if (!open) {
+                    result.error(lineNumber, "Quoted field spans lines " + lineNumber +
+                            " to " + (lineNumber + spanned.size()) +
+                            "; fields cannot contain line breaks.");
+                    lineNumber += spanned.size();
+                } else {
+                    result.error(lineNumber, "Quoted field is not closed.");
+
+                    // Hand the lines read ahead back, to be read as rows.
+                    for (int i = spanned.size() - 1; i >= 0; i--)
+                        heldLines.addFirst(spanned.get(i));
+                }
+
+                continue;
+            }
+
+            if (lineNumber == 1 && fields[0].trim().equalsIgnoreCase("name"))
+                continue;
+
+            result.rowRead();
+            parseRow(fields, fieldCount, lineNumber, result);
+
+            if (pending == BATCH_SIZE) {
+                flush(result);
+
+                if (stopped) {
+                    result.cancel();
+                    return result;
+                }
+
+                if (monitor != null) {
+                    monitor.progressed(Math.min(bytesRead, length), length);
+
+                    if (monitor.isCancelRequested()) {
+                        result.cancel();
+                        return result;
+                    }
+                }
+            }
+        }
+
+        flush(result);
+
+        if (stopped) {
+            result.cancel();
+            return result;
+        }
+
+        if (monitor != null)
+            monitor.progressed(length, length);
+
+        return result;
+    }
+
+    /**
+     * Validates one row and, if it is valid, appends it to the pending batch.
+     *
+     * @param fields     The row's columns.
+     * @param fieldCount The number of columns in the row.
+     * @param lineNumber The row's line number, for error reporting.
+     * @param result     The result that collects errors.
+     */
+    private void parseRow(String[] fields, int fieldCount, long lineNumber,
+                          ImportResult result) {
+        if (fieldCount < MAX_FIELDS - 1 || fieldCount > MAX_FIELDS) {
+            result.error(lineNumber, "Expected 4 or 5 columns but found " +
+                    fieldCount + ".");
+            return;
+        }
+
+        String name = fields[0].trim();
+        if (name.isEmpty()) {
+            result.error(lineNumber, "Card name cannot be null or blank.");
+            return;
+        }
+
+        double baseValue;
+        try {
+            baseValue = Double.parseDouble(fields[1]);
+        } catch (NumberFormatException e) {
+            result.error(lineNumber, "Base value '" + fields[1].trim() +
+                    "' is not a number.");
+            return;
+        }
+
+        if (!Double.isFinite(baseValue)) {
+            result.error(lineNumber, "Base value must be a finite number.");
+            return;
+        }
+
+        if (baseValue < 0) {
+            result.error(lineNumber, "Base value cannot be negative.");
+            return;
+        }
+
+        if (baseValue > Card.MAX_BASE_VALUE) {
+            result.error(lineNumber, String.format(
+                    "Base value cannot be more than $%,.2f.", Card.MAX_BASE_VALUE));
+            return;
+        }
+
+        Rarity rarity = Rarity.fromString(fields[2]);
+        if (rarity == null) {
+            result.error(lineNumber, "Unknown rarity '" + fields[2].trim() + "'.");
+            return;
+        }
+
+        Variant variant = Variant.fromString(fields[3]);
+        if (variant == null) {
+            result.error(lineNumber, "Unknown variant '" + fields[3].trim() + "'.");
+            return;
+        }
+
+        int count = 1;
+        if (fieldCount == MAX_FIELDS && !fields[4].isBlank()) {
+            try {
+                count = Integer.parseInt(fields[4].trim());
+            } catch (NumberFormatException e) {
+                result.error(lineNumber, "Count '" + fields[4].trim() +
+                        "' is not a whole number.");
+                return;
+            }
+
+            if (count < 0) {
+                result.error(lineNumber, "Count cannot be negative.");
+                return;
+            }
+        }
+
+        names[pending] = name;
+        values[pending] = baseValue;
+        rarities[pending] = rarity;
+        variants[pending] = variant;
+        counts[pending] = count;
+        lineNumbers[pending] = lineNumber;
+        pending++;
+    }
+
+    /**
+     * Inserts every pending row into the collection and empties the batch.
+     *
+     * @param result The result that collects outcomes and errors.
+     */
+    private void flush(ImportResult result) {
+        if (applyLock != null)
+            applyLock.lock();
+
+        try {
+            collectionManager.ensureCapacity(pending);
+
+            for (int i = 0; i < pending && !stopped; i++) {
+                int id = collectionManager.registerCard(
+                        names[i], values[i], rarities[i], variants[i], counts[i]);
+
+                if (id != Card.UNREGISTERED) {
+                    result.cardAdded();
+
+                    if (listener != null && !listener.cardImported(
+                            collectionManager.getCard(id), counts[i], true))
+                        stop(result, i);
+                } else {
+                    Card existing = collectionManager.findCard(names[i]);
+                    boolean sameType = existing.getRarity() == rarities[i] &&
+                                       existing.getVariant() == variants[i] &&
+                                       Double.compare(existing.getBaseValue(), values[i]) == 0;
+
+                    if (!sameType) {
+                        result.error(lineNumbers[i], "Card '" + names[i] +
+                                "' already exists with different details.");
+                    } else if (counts[i] == 0) {
+                        result.cardUpdated();
+                    } else if (collectionManager.increaseCount(existing.getId(), counts[i])) {
+                        result.cardUpdated();
+
+                        if (listener != null &&
+                                !listener.cardImported(existing, counts[i], false))
+                            stop(result, i);
+                    }
+                }
+            }
+
+            // Release the names, including those of rows left behind by a stop.
+            Arrays.fill(names, 0, pending, null);
+            pending = 0;
+        } finally {
+            if (applyLock != null)
+                applyLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the import after a row the listener refused.
+     *
+     * @param result The result that collects errors.
+     * @param row    The index of the refused row in the pending batch.
+     */
+    private void stop(ImportResult result, int row) {
+        result.error(lineNumbers[row], "The import stopped because this row could " +
+                "not be recorded.");
+        stopped = true;
+    }
+
+    /**
+     * Splits a line into columns, honoring double-quoted fields.
+     *
+     * @param line      The line to split.
+     * @param delimiter The column separator.
+     * @param fields    The array that receives the columns. Columns beyond
+     *                  its length are counted but not stored.
+     * @return The number of columns found, or {@code TEXT_AFTER_QUOTE} or
+     *         {@code UNCLOSED_QUOTE} if the line's quoting is malformed.
+     */
+    private static int split(String line, char delimiter, String[] fields) {
+        int count = 0;
+        int i = 0;
+        int length = line.length();
+
+        while (true) {
+            String field;
+
+            if (i < length && line.charAt(i) == '"') {
+                StringBuilder quoted = new StringBuilder();
+                boolean closed = false;
+                i++;
+
+                while (i < length) {
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        quoted.append(c);
+                    } else if (i < length && line.charAt(i) == '"') {
+                        quoted.append('"');
+                        i++;
+                    } else {
+                        closed = true;
+                        break;
+                    }
+                }
+
+                if (!closed)
+                    return UNCLOSED_QUOTE;
+
+                int end = line.indexOf(delimiter, i);
+                if (end < 0)
+                    end = length;
+
+                // Only padding may follow the closing quote.
+                if (!line.substring(i, end).isBlank())
+                    return TEXT_AFTER_QUOTE;
+
+                field = quoted.toString();
+                i = end;
+            } else {
+                int end = line.indexOf(delimiter, i);
+                if (end < 0)
+                    end = length;
+
+                field = line.substring(i, end);
+                i = end;
+            }
+
+            if (count < fields.length)
+                fields[count] = field;
+
+            count++;
+
+            if (i >= length)
+                return count;
+
+            i++; // Skip the delimiter
+        }
+    }
+
+    /**
+     * Reads the next line, taking lines handed back after a read-ahead before
+     * any new ones from the stream.
+     *
+     * @param reader The stream of catalog rows.
+     * @return The next line, or null at the end of the stream.
+     * @throws IOException if the stream cannot be read.
+     */
+    private String readLine(BufferedReader reader) throws IOException {
+        if (!heldLines.isEmpty())
+            return heldLines.poll();
+
+        String line = reader.readLine();
+        if (line != null)
+            bytesRead += utf8Length(line) + 1;
+
+        return line;
+    }
+
+    /**
+     * Scans a line that starts inside a quoted field and checks whether it
+     * also ends inside one, either because the field never closes or
+     * because a later field opens a quote of its own.
+     *
+     * @param line      The line, which continues a quoted field.
+     * @param delimiter The column separator.
+     * @return true if the line ends inside a quoted field, false otherwise.
+     */
+    private static boolean endsInsideQuote(String line, char delimiter) {
+        boolean quoted = true;
+        boolean fieldStart = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c != '"')
+                    continue;
+
+                if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                    i++; // An escaped quote
+                else
+                    quoted = false;
+            } else if (c == delimiter) {
+                fieldStart = true;
+            } else {
+                quoted = fieldStart && c == '"';
+                fieldStart = false;
+            }
+        }
+
+        return quoted;
+    }
+
+    /**
+     * Counts the bytes a line takes up in UTF-8, so that progress is measured
+     * in the same unit as the file's size.
+     *
+     * @param line The line, without its line break.
+     * @return The line's length in UTF-8 bytes.
+     */
+    private static long utf8Length(String line) {
+        long bytes = 0;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < line.length()
+                       && Character.isLowSurrogate(line.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+
+        return bytes;
+    }
+}
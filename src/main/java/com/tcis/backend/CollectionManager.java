@@ -1,10 +1,21 @@
 package com.tcis.backend;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiPredicate;
 
 import com.tcis.models.card.Card;
 import com.tcis.models.card.Rarity;
+import com.tcis.models.card.ValueBreakdown;
 import com.tcis.models.card.Variant;
 
 /**
@@ -15,27 +26,185 @@ import com.tcis.models.card.Variant;
  * pool, handling the core logic of card creation and inventory counts. All
  * card name lookups are case-insensitive.
  * </p>
+ *
+ * <p>
+ * It is safe to use from many threads at once. Lookups and count reads never
+ * lock. Count updates are compare-and-set loops on the card's own slot, so
+ * updates to different cards never contend and a decrease can never drive a
+ * count below zero. Only registering a new card type takes a lock. Callers
+ * that need several steps on one card to happen as a unit can hold the
+ * card's striped lock from {@code getCardLock}.
+ * </p>
  */
 public class CollectionManager {
     /**
-     * Stores a list of the unique Card objects that have been created. This
-     * list defines all possible cards in the system.
+     * The number of counts held by each page of {@code countPages}, as a
+     * power of two.
+     */
+    private static final int PAGE_SHIFT = 14;
+
+    /**
+     * Masks a card ID down to its position within a count page.
+     */
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+
+    /**
+     * The number of striped locks handed out by {@code getCardLock}. Must be
+     * a power of two.
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * The number of variants, which is the stride between rarities in
+     * {@code typeIndex}.
+     */
+    private static final int VARIANT_COUNT = Variant.values().length;
+
+    /**
+     * Stores the unique Card objects that have been created, indexed by their
+     * dense ID. This array defines all possible cards in the system. It is
+     * replaced by a larger copy when it fills up; slots at or beyond
+     * {@code cardTypeCount} are not yet published.
+     */
+    private volatile Card[] cardTypes;
+
+    /**
+     * The number of registered card types. Writing it publishes the card and
+     * count stored under the newest ID.
+     */
+    private volatile int cardTypeCount;
+
+    /**
+     * Maps every card name (case-insensitive) to that card's ID, so that
+     * lookups by name take constant time and never allocate a lowercased key.
+     * It is replaced by a larger copy when it fills up.
+     */
+    private volatile CardNameTable cardIndex;
+
+    /**
+     * Indexes every card name (case-insensitive) by prefix, so that names
+     * can be completed as the user types.
+     */
+    private final CardNameTrie nameTrie;
+
+    /**
+     * Stores the quantity of each card as a primitive int, indexed by card
+     * ID and split into fixed-size pages. Growing only appends new pages, so
+     * a count update never races with a copy of its slot.
+     */
+    private volatile AtomicIntegerArray[] countPages;
+
+    /**
+     * The IDs of the card types of each rarity. Guarded by
+     * {@code registrationLock}.
+     */
+    private final EnumMap<Rarity, BitSet> rarityIndex;
+
+    /**
+     * The IDs of the card types of each variant. Guarded by
+     * {@code registrationLock}.
+     */
+    private final EnumMap<Variant, BitSet> variantIndex;
+
+    /**
+     * The IDs of the card types of each rarity and variant pair, indexed by
+     * {@code rarity.ordinal() * VARIANT_COUNT + variant.ordinal()}. Guarded
+     * by {@code registrationLock}.
+     */
+    private final BitSet[] typeIndex;
+
+    /**
+     * The card types sorted in each CardOrder, indexed by the order's
+     * ordinal, so that sorted views are read in order rather than sorted on
+     * every request. A published array is never changed. Card types are
+     * never removed and IDs are handed out in order, so an array holds the
+     * card types with the lowest IDs and is current exactly when its length
+     * equals {@code cardTypeCount}. A stale array is replaced on the next
+     * sorted read by merging in the newer card types, all together, so
+     * readers never lock and a bulk import pays for one merge instead of an
+     * insert per card.
+     */
+    private final AtomicReferenceArray<Card[]> sortedCards;
+
+    /**
+     * Counts the times a card's count has gone from zero to positive or
+     * back, so that views of the available cards know when to look again.
      */
-    private final ArrayList<Card> cardTypes;
+    private final AtomicInteger availabilityVersion;
 
     /**
-     * Stores the quantity of each card. The key is the card's name in
-     * lowercase to ensure case-insensitive lookups, and the value is the
-     * integer count.
+     * Serializes the registration of new card types and the growth of the
+     * storage and indexes above.
      */
-    private final HashMap<String, Integer> cardCounts;
+    private final Object registrationLock;
+
+    /**
+     * The striped locks that guard multi-step operations on a single card.
+     */
+    private final Object[] cardLocks;
+
+    /**
+     * A live, read-only view of the counts handed out to callers so that
+     * reading them never copies them.
+     */
+    private final Map<String, Integer> cardCountView;
+
+    /**
+     * The interning registry for cards that describe a type the collection
+     * does not hold under that name, such as a traded card whose name is
+     * already used by a different card type. Registered cards are not stored
+     * here because {@code cardIndex} already finds them.
+     */
+    private final ConcurrentHashMap<CardKey, Card> internedCards;
+
+    /**
+     * The running value of every copy held loose in the collection, by
+     * rarity and variant, kept in step with every count change.
+     */
+    private final ValueBreakdown looseValue;
+
+    /**
+     * The bus on which every change to the collection is published. The
+     * binder and deck managers publish on it too, so one subscription sees
+     * every change to the inventory.
+     */
+    private final InventoryEventBus events;
 
     /**
      * Constructs a new, empty CollectionManager.
      */
     public CollectionManager() {
-        this.cardTypes = new ArrayList<>();
-        this.cardCounts = new HashMap<>();
+        this.cardTypes = new Card[16];
+        this.cardTypeCount = 0;
+        this.cardIndex = new CardNameTable(CardNameTable.INITIAL_CAPACITY);
+        this.nameTrie = new CardNameTrie();
+        this.countPages = new AtomicIntegerArray[0];
+        this.registrationLock = new Object();
+        this.cardLocks = new Object[LOCK_STRIPES];
+        this.cardCountView = new CardCountView(this);
+        this.internedCards = new ConcurrentHashMap<>();
+        this.looseValue = new ValueBreakdown();
+        this.rarityIndex = new EnumMap<>(Rarity.class);
+        this.variantIndex = new EnumMap<>(Variant.class);
+        this.typeIndex = new BitSet[Rarity.values().length * VARIANT_COUNT];
+        this.sortedCards = new AtomicReferenceArray<>(CardOrder.values().length);
+        this.availabilityVersion = new AtomicInteger();
+        this.events = new InventoryEventBus();
+
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            this.cardLocks[i] = new Object();
+
+        for (Rarity rarity : Rarity.values())
+            this.rarityIndex.put(rarity, new BitSet());
+
+        for (Variant variant : Variant.values())
+            this.variantIndex.put(variant, new BitSet());
+
+        for (int i = 0; i < typeIndex.length; i++)
+            this.typeIndex[i] = new BitSet();
+
+        for (CardOrder order : CardOrder.values())
+            this.sortedCards.set(order.ordinal(), new Card[0]);
     }
 
     /**
@@ -45,14 +214,139 @@ public class CollectionManager {
      * @return The Card object if found, otherwise null.
      */
     public Card findCard(String name) {
-        if (name == null)
+        return getCard(cardIndex.get(name));
+    }
+
+    /**
+     * Finds the card types whose names start with a prefix
+     * (case-insensitive), for search-as-you-type.
+     *
+     * <p>
+     * The cost depends only on the length of the prefix and the number of
+     * results, not on the number of cards in the collection.
+     * </p>
+     *
+     * @param prefix The start of the name to complete.
+     * @param limit  The largest number of cards to return.
+     * @return Up to {@code limit} matching cards, ordered by name.
+     */
+    public ArrayList<Card> findCardsByPrefix(String prefix, int limit) {
+        int[] ids = nameTrie.complete(prefix, limit);
+        ArrayList<Card> matches = new ArrayList<>(ids.length);
+
+        for (int id : ids)
+            matches.add(getCard(id));
+
+        return matches;
+    }
+
+    /**
+     * Gets the IDs of every card type whose name starts with a prefix
+     * (case-insensitive).
+     *
+     * @param prefix The start of the name to match.
+     * @return A new BitSet with the bit of each matching card's ID set.
+     */
+    public BitSet getCardIdsByPrefix(String prefix) {
+        BitSet ids = new BitSet();
+        nameTrie.collectAll(prefix, ids);
+        return ids;
+    }
+
+    /**
+     * Starts a query over the card types in the collection.
+     *
+     * @return A new query that matches every card until it is narrowed.
+     */
+    public CardQuery query() {
+        return new CardQuery(this);
+    }
+
+    /**
+     * Gets a card type by its dense ID.
+     *
+     * @param id The ID of the card.
+     * @return The Card object if the ID is registered, otherwise null.
+     */
+    public Card getCard(int id) {
+        if (id < 0 || id >= cardTypeCount)
+            return null;
+
+        return cardTypes[id];
+    }
+
+    /**
+     * Gets the striped lock that guards multi-step operations on a card.
+     * Several cards share each lock, so it must only be held briefly and
+     * never while waiting on another card's lock.
+     *
+     * @param id The ID of the card.
+     * @return The lock object for the card's stripe.
+     */
+    public Object getCardLock(int id) {
+        return cardLocks[id & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Resolves a card name (case-insensitive) to its dense ID.
+     *
+     * @param name The name of the card.
+     * @return The card's ID, or {@code Card.UNREGISTERED} if no card with
+     *         that name exists.
+     */
+    public int getCardId(String name) {
+        return cardIndex.get(name);
+    }
+
+    /**
+     * Resolves the ID under which a card's copies are counted in this
+     * collection.
+     *
+     * <p>
+     * A card registered here resolves to its own ID without any string work.
+     * Any other card, such as one received in a trade whose name already
+     * belonged to a different card type, falls back to a lookup by name.
+     * </p>
+     *
+     * @param card The card to resolve.
+     * @return The matching ID, or {@code Card.UNREGISTERED} if the collection
+     *         has no card type for it.
+     */
+    public int resolveId(Card card) {
+        if (card == null)
+            return Card.UNREGISTERED;
+
+        if (getCard(card.getId()) == card)
+            return card.getId();
+
+        return cardIndex.get(card.getName());
+    }
+
+    /**
+     * Returns the canonical instance for a card's type.
+     *
+     * <p>
+     * If the collection holds a registered card of the same type (same name,
+     * rarity, variant and base value), that registered card is returned.
+     * Otherwise the first instance interned for the type is returned, and the
+     * given card becomes that instance if none exists yet. Interned cards can
+     * therefore be compared by identity.
+     * </p>
+     *
+     * @param card The card to intern.
+     * @return The canonical Card instance for the card's type, or null if
+     *         the card is null.
+     */
+    public Card internCard(Card card) {
+        if (card == null)
             return null;
 
-        for (Card card : cardTypes)
-            if (card.getName().equalsIgnoreCase(name.trim()))
-                return card;
+        Card registered = findCard(card.getName());
+        if (card.isSameType(registered))
+            return registered;
 
-        return null;
+        Card canonical = internedCards.putIfAbsent(new CardKey(card), card);
+        return (canonical != null) ? canonical : card;
     }
 
     /**
@@ -73,15 +367,14 @@ public class CollectionManager {
      *         otherwise.
      */
     public boolean addNewCard(String name, double baseValue, Rarity rarity, Variant variant) {
-        if (findCard(name) != null) {
-            System.out.println("Error: A card with this name already exists.");
-            return false;
-        }
-
         try {
-            Card newCard = new Card(name, baseValue, rarity, variant);
-            cardTypes.add(newCard);
-            cardCounts.put(name.toLowerCase(), 1); // Start with one copy
+            // Start with one copy. The duplicate check happens atomically
+            // inside registerCard, so it is the only place it is reported.
+            if (registerCard(name, baseValue, rarity, variant, 1) == Card.UNREGISTERED) {
+                System.out.println("Error: A card with this name already exists.");
+                return false;
+            }
+
             return true;
         } catch (IllegalArgumentException e) {
             System.out.println("Error creating card: " + e.getMessage());
@@ -89,6 +382,85 @@ public class CollectionManager {
         }
     }
 
+    /**
+     * Registers a new card type with an initial count, without printing any
+     * messages.
+     *
+     * <p>
+     * This is the bulk-loading counterpart of {@code addNewCard}, used by the
+     * catalog importer. Invalid card data is reported through the Card
+     * constructor's exception rather than being caught here.
+     * </p>
+     *
+     * @param name      The name for the new card.
+     * @param baseValue The base value for the new card.
+     * @param rarity    The rarity for the new card.
+     * @param variant   The variant for the new card.
+     * @param count     The initial number of copies. Cannot be negative.
+     * @return The new card's ID, or {@code Card.UNREGISTERED} if a card with
+     *         the same name already exists.
+     * @throws IllegalArgumentException if the card data or count is invalid.
+     */
+    public int registerCard(String name, double baseValue, Rarity rarity,
+                            Variant variant, int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count cannot be negative.");
+
+        Card newCard;
+
+        synchronized (registrationLock) {
+            if (cardIndex.get(name) != CardNameTable.NOT_FOUND)
+                return Card.UNREGISTERED;
+
+            int id = cardTypeCount;
+            newCard = new Card(id, name, baseValue, rarity, variant);
+
+            ensureCapacity(1);
+            cardTypes[id] = newCard;
+            countPages[id >>> PAGE_SHIFT].set(id & PAGE_MASK, count);
+            cardTypeCount = id + 1; // Publishes the card and its count
+            cardIndex.put(newCard.getName(), id);
+            nameTrie.put(newCard.getName(), id);
+            rarityIndex.get(rarity).set(id);
+            variantIndex.get(variant).set(id);
+            typeIndex[typeCell(rarity, variant)].set(id);
+            looseValue.add(newCard, count);
+        }
+
+        // Published outside the lock so listeners never delay registration.
+        events.publish(InventoryEventType.CARD_ADDED, newCard, count, null);
+        return newCard.getId();
+    }
+
+    /**
+     * Grows the card storage, the count pages and the name index so that the
+     * given number of additional card types can be registered without further
+     * resizing. Bulk loaders call this once per batch.
+     *
+     * @param additional The number of card types about to be registered.
+     */
+    public void ensureCapacity(int additional) {
+        synchronized (registrationLock) {
+            int required = cardTypeCount + additional;
+
+            if (required > cardTypes.length)
+                cardTypes = Arrays.copyOf(cardTypes,
+                        Math.max(required, cardTypes.length * 2));
+
+            int pagesRequired = (required + PAGE_MASK) >>> PAGE_SHIFT;
+            if (pagesRequired > countPages.length) {
+                AtomicIntegerArray[] pages = Arrays.copyOf(countPages, pagesRequired);
+
+                for (int i = countPages.length; i < pagesRequired; i++)
+                    pages[i] = new AtomicIntegerArray(1 << PAGE_SHIFT);
+
+                countPages = pages;
+            }
+
+            cardIndex = cardIndex.grow(additional);
+        }
+    }
+
     /**
      * Increases the count of an existing card.
      *
@@ -98,12 +470,37 @@ public class CollectionManager {
      *         doesn't exist or amount is invalid.
      */
     public boolean increaseCount(String name, int amount) {
-        String key = name.toLowerCase().trim();
+        return increaseCount(cardIndex.get(name), amount);
+    }
 
-        if (findCard(name) == null || amount <= 0)
+    /**
+     * Increases the count of an existing card, identified by its ID.
+     *
+     * @param id     The ID of the card.
+     * @param amount The positive integer amount to increase by.
+     * @return true if the count was successfully updated, false if the card
+     *         doesn't exist or amount is invalid.
+     */
+    public boolean increaseCount(int id, int amount) {
+        if (getCard(id) == null || amount <= 0)
             return false;
 
-        cardCounts.put(key, cardCounts.getOrDefault(key, 0) + amount);
+        AtomicIntegerArray page = countPages[id >>> PAGE_SHIFT];
+        int slot = id & PAGE_MASK;
+        int count;
+
+        do {
+            count = page.get(slot);
+            if (count > Integer.MAX_VALUE - amount)
+                return false;
+        } while (!page.compareAndSet(slot, count, count + amount));
+
+        if (count == 0)
+            availabilityVersion.incrementAndGet();
+
+        Card card = getCard(id);
+        looseValue.add(card, amount);
+        events.publish(InventoryEventType.COUNT_CHANGED, card, amount, null);
         return true;
     }
 
@@ -120,14 +517,36 @@ public class CollectionManager {
      * @return true if the count was successfully updated, false otherwise.
      */
     public boolean decreaseCount(String name, int amount) {
-        String key = name.toLowerCase().trim();
+        return decreaseCount(cardIndex.get(name), amount);
+    }
 
-        if (findCard(name) == null ||
-                amount <= 0 ||
-                cardCounts.getOrDefault(key, 0) < amount)
+    /**
+     * Decreases the count of an existing card, identified by its ID.
+     *
+     * @param id     The ID of the card.
+     * @param amount The positive integer amount to decrease by.
+     * @return true if the count was successfully updated, false otherwise.
+     */
+    public boolean decreaseCount(int id, int amount) {
+        if (getCard(id) == null || amount <= 0)
             return false;
 
-        cardCounts.put(key, cardCounts.get(key) - amount);
+        AtomicIntegerArray page = countPages[id >>> PAGE_SHIFT];
+        int slot = id & PAGE_MASK;
+        int count;
+
+        do {
+            count = page.get(slot);
+            if (count < amount)
+                return false;
+        } while (!page.compareAndSet(slot, count, count - amount));
+
+        if (count == amount)
+            availabilityVersion.incrementAndGet();
+
+        Card card = getCard(id);
+        looseValue.add(card, -amount);
+        events.publish(InventoryEventType.COUNT_CHANGED, card, -amount, null);
         return true;
     }
 
@@ -156,10 +575,191 @@ public class CollectionManager {
      * @return true if the card count is greater than 0, false otherwise.
      */
     public boolean isCardAvailable(String name) {
-        if (name == null)
-            return false;
+        return getCardCount(name) > 0;
+    }
+
+    /**
+     * Checks if at least one copy of a card, identified by its ID, is
+     * available in the collection.
+     *
+     * @param id The ID of the card.
+     * @return true if the card count is greater than 0, false otherwise.
+     */
+    public boolean isCardAvailable(int id) {
+        return getCardCount(id) > 0;
+    }
+
+    /**
+     * Gets the number of copies of a card in the collection without boxing.
+     *
+     * @param name The name of the card (case-insensitive).
+     * @return The card's count, or 0 if no card with that name exists.
+     */
+    public int getCardCount(String name) {
+        return getCardCount(cardIndex.get(name));
+    }
+
+    /**
+     * Gets the number of copies of a card, identified by its ID.
+     *
+     * @param id The ID of the card.
+     * @return The card's count, or 0 if the ID is not registered.
+     */
+    public int getCardCount(int id) {
+        if (getCard(id) == null)
+            return 0;
+
+        return countPages[id >>> PAGE_SHIFT].get(id & PAGE_MASK);
+    }
+
+    /**
+     * Gets the bus on which changes to the collection, and to the binders
+     * and decks that draw on it, are published.
+     *
+     * @return The event bus.
+     */
+    public InventoryEventBus getEventBus() {
+        return events;
+    }
+
+    /**
+     * Gets the value of every copy held loose in the collection, broken down
+     * by rarity and variant. It is maintained as counts change, so this takes
+     * constant time.
+     *
+     * @return A copy of the collection's current value breakdown.
+     */
+    public ValueBreakdown getValueBreakdown() {
+        return looseValue.copy();
+    }
+
+    /**
+     * Gets the IDs of every card type of a rarity.
+     *
+     * @param rarity The rarity to look up.
+     * @return A new BitSet with the bit of each matching card's ID set.
+     */
+    public BitSet getCardIds(Rarity rarity) {
+        synchronized (registrationLock) {
+            return (BitSet) rarityIndex.get(rarity).clone();
+        }
+    }
+
+    /**
+     * Gets the IDs of every card type of a variant.
+     *
+     * @param variant The variant to look up.
+     * @return A new BitSet with the bit of each matching card's ID set.
+     */
+    public BitSet getCardIds(Variant variant) {
+        synchronized (registrationLock) {
+            return (BitSet) variantIndex.get(variant).clone();
+        }
+    }
+
+    /**
+     * Gets the IDs of every card type of a rarity and variant.
+     *
+     * @param rarity  The rarity to look up.
+     * @param variant The variant to look up.
+     * @return A new BitSet with the bit of each matching card's ID set.
+     */
+    public BitSet getCardIds(Rarity rarity, Variant variant) {
+        synchronized (registrationLock) {
+            return (BitSet) typeIndex[typeCell(rarity, variant)].clone();
+        }
+    }
+
+    /**
+     * Gets the IDs of every card type whose rarity and variant pass a
+     * filter, such as a binder's eligibility rule. The filter is asked about
+     * each of the rarity and variant pairs once, and the matching pairs are
+     * combined by bitset union, so no individual card is examined.
+     *
+     * @param filter The rule deciding which rarity and variant pairs to
+     *               include.
+     * @return A new BitSet with the bit of each matching card's ID set.
+     */
+    public BitSet getCardIds(BiPredicate<Rarity, Variant> filter) {
+        BitSet ids = new BitSet();
+
+        synchronized (registrationLock) {
+            for (Rarity rarity : Rarity.values())
+                for (Variant variant : Variant.values())
+                    if (filter.test(rarity, variant))
+                        ids.or(typeIndex[typeCell(rarity, variant)]);
+        }
+
+        return ids;
+    }
 
-        return cardCounts.getOrDefault(name.toLowerCase().trim(), 0) > 0;
+    /**
+     * Clears the IDs of the cards that have no copies in the collection.
+     * Only the IDs already in the set are examined.
+     *
+     * @param ids The card IDs to filter. It is modified in place.
+     */
+    public void retainAvailable(BitSet ids) {
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1))
+            if (getCardCount(id) == 0)
+                ids.clear(id);
+    }
+
+    /**
+     * Finds the card types with a given rarity and variant.
+     *
+     * @param rarity        The rarity to match, or null for any rarity.
+     * @param variant       The variant to match, or null for any variant.
+     * @param availableOnly Whether to leave out cards with no copies in the
+     *                      collection.
+     * @return The matching cards, in ID order.
+     */
+    public ArrayList<Card> findCards(Rarity rarity, Variant variant,
+                                     boolean availableOnly) {
+        BitSet ids;
+
+        if (rarity != null && variant != null) {
+            ids = getCardIds(rarity, variant);
+        } else if (rarity != null) {
+            ids = getCardIds(rarity);
+        } else if (variant != null) {
+            ids = getCardIds(variant);
+        } else {
+            ids = new BitSet();
+            ids.set(0, cardTypeCount);
+        }
+
+        if (availableOnly)
+            retainAvailable(ids);
+
+        return getCards(ids);
+    }
+
+    /**
+     * Gets the card types whose IDs are set in a BitSet.
+     *
+     * @param ids The card IDs to fetch.
+     * @return The cards, in ID order.
+     */
+    public ArrayList<Card> getCards(BitSet ids) {
+        ArrayList<Card> cards = new ArrayList<>(ids.cardinality());
+
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            Card card = getCard(id);
+            if (card != null)
+                cards.add(card);
+        }
+
+        return cards;
+    }
+
+    /**
+     * Gets the number of unique card types in the collection.
+     *
+     * @return The number of registered card types.
+     */
+    public int getCardTypeCount() {
+        return cardTypeCount;
     }
 
     /**
@@ -168,16 +768,146 @@ public class CollectionManager {
      * @return A new ArrayList containing all unique Card objects.
      */
     public ArrayList<Card> getCardTypes() {
-        return new ArrayList<>(cardTypes);
+        int count = cardTypeCount;
+        return new ArrayList<>(Arrays.asList(cardTypes).subList(0, count));
+    }
+
+    /**
+     * Gets the list of unique card types already in the given order. The
+     * list is copied from the published sorted array in linear time, without
+     * sorting and without taking a lock.
+     *
+     * @param order The order of the list.
+     * @return A new ArrayList containing all unique Card objects, sorted.
+     */
+    public ArrayList<Card> getCardTypes(CardOrder order) {
+        return new ArrayList<>(Arrays.asList(sortedCards(order)));
+    }
+
+    /**
+     * Gets a live, read-only view of the card types in the given order.
+     * Nothing is copied; each element is read from the published sorted
+     * array when it is asked for, and the view grows as new cards are
+     * registered.
+     *
+     * @param order The order of the view.
+     * @return A list view of all unique Card objects, sorted.
+     */
+    public List<Card> getCardTypeView(CardOrder order) {
+        return new SortedCardView(this, order);
+    }
+
+    /**
+     * Gets a live, read-only view of the card types that have copies in the
+     * collection and whose rarity and variant pass a filter, such as a
+     * binder's eligibility rule, in name order. Nothing is copied; the view
+     * looks again only after a card type is registered or a count goes from
+     * zero to positive or back.
+     *
+     * @param filter The rule deciding which rarity and variant pairs to
+     *               include.
+     * @return A list view of the matching available cards, by name.
+     */
+    public List<Card> getAvailableCardView(BiPredicate<Rarity, Variant> filter) {
+        return new AvailableCardView(this, filter);
     }
 
     /**
-     * Gets a defensive copy of the map of card names to their counts.
+     * Gets the card type at a position in the given order, in constant time
+     * and without taking a lock.
      *
-     * @return A new HashMap containing card names (lowercase) and their
+     * @param order The order to use.
+     * @param index The zero-based position.
+     * @return The card at that position, or null if the position is out of
+     *         range.
+     */
+    public Card getCardTypeAt(CardOrder order, int index) {
+        Card[] sorted = sortedCards(order);
+        return (index >= 0 && index < sorted.length) ? sorted[index] : null;
+    }
+
+    /**
+     * Finds the position of a card type in the given order, in O(log n)
+     * time and without taking a lock.
+     *
+     * @param order The order to use.
+     * @param card  The card to find.
+     * @return The zero-based position, or -1 if the card is not registered.
+     */
+    public int indexOfCardType(CardOrder order, Card card) {
+        if (card == null || getCard(card.getId()) != card)
+            return -1;
+
+        int index = Arrays.binarySearch(sortedCards(order), card, order.getComparator());
+        return (index >= 0) ? index : -1;
+    }
+
+    /**
+     * Gets a read-only view of the card counts. The view reflects later
+     * changes to the collection and is not copied on each call.
+     *
+     * @return An unmodifiable map of card names (lowercase) to their
      *         quantities.
      */
-    public HashMap<String, Integer> getCardCounts() {
-        return new HashMap<>(cardCounts);
+    public Map<String, Integer> getCardCounts() {
+        return cardCountView;
+    }
+
+    /**
+     * Gets the card types sorted in an order, bringing the published array
+     * up to date with the cards registered since the last sorted read. The
+     * newer cards are sorted on their own and merged in, and the result is
+     * published for later readers. No lock is taken; two readers that find
+     * the same stale array both merge, and either result is correct.
+     *
+     * @param order The ordering about to be read.
+     * @return The card types in that order. The array must not be changed.
+     */
+    Card[] sortedCards(CardOrder order) {
+        Card[] sorted = sortedCards.get(order.ordinal());
+        int count = cardTypeCount;
+        if (sorted.length >= count)
+            return sorted;
+
+        Comparator<Card> comparator = order.getComparator();
+        Card[] added = Arrays.copyOfRange(cardTypes, sorted.length, count);
+        Arrays.sort(added, comparator);
+
+        Card[] merged = new Card[count];
+        int i = 0;
+        int j = 0;
+
+        for (int k = 0; k < count; k++) {
+            if (j == added.length || (i < sorted.length &&
+                    comparator.compare(sorted[i], added[j]) < 0))
+                merged[k] = sorted[i++];
+            else
+                merged[k] = added[j++];
+        }
+
+        sortedCards.compareAndSet(order.ordinal(), sorted, merged);
+        return merged;
+    }
+
+    /**
+     * Gets a number that changes whenever a card's count goes from zero to
+     * positive or back.
+     *
+     * @return The current availability version.
+     */
+    int getAvailabilityVersion() {
+        return availabilityVersion.get();
+    }
+
+    /**
+     * Finds the cell of {@code typeIndex} that holds a rarity and variant
+     * pair.
+     *
+     * @param rarity  The rarity.
+     * @param variant The variant.
+     * @return The index into {@code typeIndex}.
+     */
+    private static int typeCell(Rarity rarity, Variant variant) {
+        return rarity.ordinal() * VARIANT_COUNT + variant.ordinal();
     }
 }
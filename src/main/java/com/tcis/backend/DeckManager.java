@@ -1,11 +1,15 @@
 package com.tcis.backend;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.tcis.models.card.Card;
+import com.tcis.models.card.ValueBreakdown;
 import com.tcis.models.deck.Deck;
 import com.tcis.models.deck.NormalDeck;
 import com.tcis.models.deck.SellableDeck;
+import com.tcis.util.SortedIndex;
 
 /**
  * Manages the lifecycle and contents of all Deck objects.
@@ -15,14 +19,23 @@ import com.tcis.models.deck.SellableDeck;
  * decks, ensuring rules like capacity and card uniqueness are followed. It
  * leverages polymorphism to handle different deck types seamlessly.
  * </p>
+ *
+ * <p>
+ * Card transfers follow the same protocol as in BinderManager: the copy is
+ * reserved in the CollectionManager with a compare-and-set, the deck's lock
+ * is taken only to validate that the deck is still registered and apply the
+ * change, and the reservation is returned if validation fails.
+ * </p>
  */
 public class DeckManager {
     /**
-     * The list of all decks managed by the system. It holds the abstract Deck
-     * superclass to allow for polymorphic behavior between Normal and Sellable
-     * decks.
+     * Every deck managed by the system, keyed by its case-folded name, so
+     * that finding, checking and removing one by name takes constant time
+     * however many there are. It holds the abstract Deck superclass to allow
+     * for polymorphic behavior between Normal and Sellable decks. Lookups
+     * never lock; changes are made while holding this manager's monitor.
      */
-    private final ArrayList<Deck> decks;
+    private final ConcurrentHashMap<String, Deck> decks;
 
     /**
      * A reference to the central CollectionManager, required for updating card
@@ -30,6 +43,32 @@ public class DeckManager {
      */
     private final CollectionManager collectionManager;
 
+    /**
+     * The running value of the cards in every registered deck, by rarity and
+     * variant, kept in step with every change to their contents.
+     */
+    private final ValueBreakdown deckValue;
+
+    /**
+     * The registered decks kept sorted by name, so that sorted listings are
+     * read in order rather than sorted on every request. Guarded by this
+     * manager's monitor.
+     */
+    private final SortedIndex<Deck> decksByName;
+
+    /**
+     * The bus shared with the CollectionManager, on which every change to
+     * the decks is published.
+     */
+    private final InventoryEventBus events;
+
+    /**
+     * The number of registered decks holding each card, keyed by the card's
+     * folded name. A card held by no deck has no entry, so checking whether
+     * a card is in any deck is a single hash lookup.
+     */
+    private final ConcurrentHashMap<String, Integer> deckCounts;
+
     /**
      * Constructs a new DeckManager.
      *
@@ -38,8 +77,12 @@ public class DeckManager {
      *                          operations.
      */
     public DeckManager(CollectionManager collectionManager) {
-        this.decks = new ArrayList<>();
+        this.decks = new ConcurrentHashMap<>();
         this.collectionManager = collectionManager;
+        this.deckValue = new ValueBreakdown();
+        this.decksByName = new SortedIndex<>(Comparator.comparing(Deck::getName));
+        this.events = collectionManager.getEventBus();
+        this.deckCounts = new ConcurrentHashMap<>();
     }
 
     /**
@@ -52,11 +95,7 @@ public class DeckManager {
         if (name == null)
             return null;
 
-        for (Deck deck : decks)
-            if (deck.getName().equalsIgnoreCase(name.trim()))
-                return deck;
-
-        return null;
+        return decks.get(Card.foldName(name.trim()));
     }
 
     /**
@@ -73,6 +112,20 @@ public class DeckManager {
      * @return true if the deck was created successfully, false otherwise.
      */
     public boolean createDeck(String name, String type) {
+        return createDeck(name, type, Deck.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty deck of a specific type that holds up to a given
+     * number of cards.
+     *
+     * @param name     The name for the new deck.
+     * @param type     The string representing the type of deck to create
+     *                 ("Normal" or "Sellable").
+     * @param capacity The maximum number of cards the deck can hold.
+     * @return true if the deck was created successfully, false otherwise.
+     */
+    public synchronized boolean createDeck(String name, String type, int capacity) {
         if (findDeck(name) != null) {
             System.out.println("Error: A deck with this name already exists.");
             return false;
@@ -81,16 +134,18 @@ public class DeckManager {
             Deck newDeck;
             switch (type.toLowerCase().trim()) {
                 case "normal":
-                    newDeck = new NormalDeck(name);
+                    newDeck = new NormalDeck(name, capacity);
                     break;
                 case "sellable":
-                    newDeck = new SellableDeck(name);
+                    newDeck = new SellableDeck(name, capacity);
                     break;
                 default:
                     System.out.println("Error: Unknown deck type '" + type + "'.");
                     return false;
             }
-            decks.add(newDeck);
+            decks.put(Card.foldName(newDeck.getName()), newDeck);
+            decksByName.add(newDeck);
+            events.publish(InventoryEventType.DECK_CREATED, newDeck.getName(), 0);
             return true;
         } catch (IllegalArgumentException e) {
             System.out.println("Error creating deck: " + e.getMessage());
@@ -111,10 +166,23 @@ public class DeckManager {
             return false;
         }
 
-        for (Card card : deckToDelete.getCards())
-            collectionManager.increaseCount(card.getName(), 1);
+        synchronized (deckToDelete) {
+            if (!unregister(deckToDelete)) {
+                System.out.println("Error: Deck not found.");
+                return false;
+            }
+
+            deckValue.subtractAll(deckToDelete.getValueBreakdown());
+
+            for (Card card : deckToDelete.getCards()) {
+                countMembership(card, -1);
+                collectionManager.increaseCount(
+                        collectionManager.resolveId(card), 1);
+            }
+        }
 
-        return decks.remove(deckToDelete);
+        events.publish(InventoryEventType.DECK_DELETED, deckToDelete.getName(), 0);
+        return true;
     }
 
     /**
@@ -126,28 +194,39 @@ public class DeckManager {
      * </p>
      *
      * @param name The name of the deck to sell.
-     * @return The calculated sale price if sold successfully. Returns a value
-     *         less than or equal to 0 on failure.
+     * @return The calculated sale price in cents if sold successfully, which
+     *         may be 0 for an empty deck. Returns -1 on failure.
      */
-    public double sellDeck(String name) {
+    public long sellDeck(String name) {
         Deck deckToSell = findDeck(name);
         if (deckToSell == null) {
             System.out.println("Error: Deck not found.");
-            return 0.0;
+            return -1;
         }
 
         if (!deckToSell.isSellable()) {
             System.out.println("Error: This deck type ('" +
                     deckToSell.getClass().getSimpleName() + "') cannot be sold.");
-            return 0.0;
+            return -1;
         }
 
-        double totalPrice = 0.0;
-        for (Card card : deckToSell.getCards())
-            totalPrice += card.getCalculatedValue();
+        long price;
+
+        synchronized (deckToSell) {
+            if (!unregister(deckToSell)) {
+                System.out.println("Error: Deck not found.");
+                return -1;
+            }
+
+            deckValue.subtractAll(deckToSell.getValueBreakdown());
+            price = deckToSell.getTotalValueCents();
+
+            for (Card card : deckToSell.getCards())
+                countMembership(card, -1);
+        }
 
-        decks.remove(deckToSell);
-        return totalPrice;
+        events.publish(InventoryEventType.DECK_SOLD, deckToSell.getName(), price);
+        return price;
     }
 
     /**
@@ -159,54 +238,210 @@ public class DeckManager {
      *         no copies, 3 for deck full, 4 for duplicate card.
      */
     public int addCardToDeck(String cardName, String deckName) {
-        Deck deck = findDeck(deckName);
-        Card card = collectionManager.findCard(cardName);
+        return addCardToDeck(collectionManager.getCardId(cardName), deckName);
+    }
 
-        if (deck == null || card == null)
-            return 1;
+    /**
+     * Moves a card, identified by its ID, from the main collection to a
+     * specified deck.
+     *
+     * @param cardId   The ID of the card to move.
+     * @param deckName The name of the target deck.
+     * @return An integer status code: 0 for success, 1 for not found, 2 for
+     *         no copies, 3 for deck full, 4 for duplicate card.
+     */
+    public int addCardToDeck(int cardId, String deckName) {
+        Card card = collectionManager.getCard(cardId);
 
-        if (!collectionManager.isCardAvailable(cardName))
-            return 2;
+        while (true) {
+            Deck deck = findDeck(deckName);
 
-        if (!deck.addCard(card)) {
-            if (deck.isFull())
-                return 3;
-            else
-                return 4;
-        }
+            if (deck == null || card == null)
+                return 1;
+
+            // Reserve the copy first so no concurrent transfer can spend it.
+            if (!collectionManager.decreaseCount(cardId, 1))
+                return 2;
+
+            synchronized (deck) {
+                if (isRegistered(deck)) {
+                    if (deck.addCard(card)) {
+                        deckValue.add(card, 1);
+                        countMembership(card, 1);
+                        events.publish(InventoryEventType.CARD_MOVED, card, 1,
+                                deck.getName());
+                        return 0;
+                    }
+
+                    collectionManager.increaseCount(cardId, 1);
 
-        collectionManager.decreaseCount(card.getName(), 1);
-        return 0;
+                    if (deck.isFull())
+                        return 3;
+                    else
+                        return 4;
+                }
+            }
+
+            // The deck was deleted or sold after it was found. Return the
+            // copy and retry against whichever deck now has that name.
+            collectionManager.increaseCount(cardId, 1);
+        }
     }
 
     /**
-     * Removes a card from a deck at a specific index and returns it to the
-     * main collection.
+     * Removes the card in a slot of a deck and returns it to the main
+     * collection. The slot addresses the card directly, so no other card is
+     * searched or moved.
      *
-     * @param cardIndex The index of the card to remove from the deck's list.
-     * @param deckName  The name of the deck.
+     * @param slot     The slot of the card to remove.
+     * @param deckName The name of the deck.
      * @return true if the removal was successful, false otherwise.
      */
-    public boolean removeCardFromDeck(int cardIndex, String deckName) {
+    public boolean removeCardFromDeck(int slot, String deckName) {
         Deck deck = findDeck(deckName);
         if (deck == null)
             return false;
 
-        Card removedCard = deck.removeCard(cardIndex);
-        if (removedCard != null) {
-            collectionManager.increaseCount(removedCard.getName(), 1);
-            return true;
+        synchronized (deck) {
+            if (!isRegistered(deck))
+                return false;
+
+            Card removedCard = deck.removeCard(slot);
+            if (removedCard != null) {
+                deckValue.add(removedCard, -1);
+                countMembership(removedCard, -1);
+                collectionManager.increaseCount(
+                        collectionManager.resolveId(removedCard), 1);
+                events.publish(InventoryEventType.CARD_MOVED, removedCard, -1,
+                        deck.getName());
+                return true;
+            }
         }
 
         return false;
     }
 
     /**
-     * Gets a defensive copy of the list of all decks.
+     * Places a card into a deck without taking a copy from the collection.
+     * This is used when restoring saved state, where the card was already
+     * accounted for when it was first moved into the deck.
+     *
+     * @param deckName The name of the deck.
+     * @param slot     The slot the card was saved in.
+     * @param card     The card to place.
+     * @return true if the card was placed, false if the deck was not found or
+     *         would not accept the card in that slot.
+     */
+    public boolean restoreCard(String deckName, int slot, Card card) {
+        Deck deck = findDeck(deckName);
+        if (deck == null)
+            return false;
+
+        synchronized (deck) {
+            if (!deck.addCardAt(slot, card))
+                return false;
+
+            deckValue.add(card, 1);
+            countMembership(card, 1);
+            events.publish(InventoryEventType.CARD_MOVED, card, 1, deck.getName());
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether any deck holds a card with the given name
+     * (case-insensitive), in constant time.
+     *
+     * @param cardName The name of the card.
+     * @return true if at least one deck holds the card, false otherwise.
+     */
+    public boolean isCardInAnyDeck(String cardName) {
+        return cardName != null && deckCounts.containsKey(Card.foldName(cardName.trim()));
+    }
+
+    /**
+     * Counts the decks that hold a card with the given name
+     * (case-insensitive), in constant time. A deck holds at most one copy of
+     * each card, so this is also the number of copies in decks.
+     *
+     * @param cardName The name of the card.
+     * @return The number of decks holding the card.
+     */
+    public int countDecksContaining(String cardName) {
+        if (cardName == null)
+            return 0;
+
+        return deckCounts.getOrDefault(Card.foldName(cardName.trim()), 0);
+    }
+
+    /**
+     * Gets the value of the cards in every deck, broken down by rarity and
+     * variant. It is maintained as decks change, so this takes constant time.
+     *
+     * @return A copy of the combined value breakdown of all decks.
+     */
+    public ValueBreakdown getValueBreakdown() {
+        return deckValue.copy();
+    }
+
+    /**
+     * Records that a card has entered or left a registered deck. The entry
+     * is removed when no deck holds the card any more.
+     *
+     * @param card  The card.
+     * @param delta 1 if the card entered a deck, -1 if it left one.
+     */
+    private void countMembership(Card card, int delta) {
+        deckCounts.compute(Card.foldName(card.getName()), (key, count) -> {
+            int updated = ((count == null) ? 0 : count) + delta;
+            return (updated <= 0) ? null : updated;
+        });
+    }
+
+    /**
+     * Removes a deck from the registry and from the sorted index together, so
+     * that a deck created under the same name at the same time is never lost
+     * from either.
+     *
+     * @param deck The deck to remove.
+     * @return true if the deck was registered and has been removed, false
+     *         otherwise.
+     */
+    private synchronized boolean unregister(Deck deck) {
+        if (!decks.remove(Card.foldName(deck.getName()), deck))
+            return false;
+
+        decksByName.remove(deck);
+        return true;
+    }
+
+    /**
+     * Gets the list of all decks sorted by name. The list is read from a
+     * maintained sorted index in linear time, without sorting.
+     *
+     * @return A new ArrayList containing all Deck objects, sorted by name.
+     */
+    public synchronized ArrayList<Deck> getDecksByName() {
+        return decksByName.toList();
+    }
+
+    /**
+     * Checks whether a deck is still the one registered under its name, and
+     * so has not been deleted, sold or replaced since it was found.
+     *
+     * @param deck The deck to check.
+     * @return true if the deck is registered, false otherwise.
+     */
+    private boolean isRegistered(Deck deck) {
+        return decks.get(Card.foldName(deck.getName())) == deck;
+    }
+
+    /**
+     * Gets a defensive copy of the list of all decks, in no particular order.
      *
      * @return A new ArrayList containing all Deck objects.
      */
     public ArrayList<Deck> getDecks() {
-        return new ArrayList<>(decks);
+        return new ArrayList<>(decks.values());
     }
 }
@@ -0,0 +1,27 @@
+package com.tcis.backend;
+
+import com.tcis.models.card.Card;
+
+/**
+ * Receives a callback for every catalog row that the CatalogImporter applies
+ * to the collection.
+ *
+ * <p>
+ * Rejected rows are not reported here; they are collected in the
+ * ImportResult instead. This lets callers such as the journal record the
+ * exact changes an import made.
+ * </p>
+ */
+public interface ImportListener {
+    /**
+     * Called after a row has been applied to the collection.
+     *
+     * @param card  The registered card the row applied to.
+     * @param count The number of copies the row contributed.
+     * @param added true if the row registered a new card type, false if it
+     *              increased the count of an existing one.
+     * @return true to go on, or false to stop the import after this row, as
+     *         when the row could not be recorded.
+     */
+    boolean cardImported(Card card, int count, boolean added);
+}
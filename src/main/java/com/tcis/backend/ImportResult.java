@@ -0,0 +1,142 @@
+package com.tcis.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summarizes the outcome of importing a card catalog.
+ *
+ * <p>
+ * It counts the data rows that were read, the new card types that were
+ * registered and the existing card types whose counts were topped up, and it
+ * keeps one message for every row that was rejected. If the import was
+ * cancelled, the counts cover only the batches applied before it stopped.
+ * </p>
+ */
+public class ImportResult {
+    /**
+     * The number of data rows read, excluding the header and blank lines.
+     */
+    private int rowsRead;
+
+    /**
+     * The number of new card types registered in the collection.
+     */
+    private int cardsAdded;
+
+    /**
+     * The number of rows that increased the count of an existing card type.
+     */
+    private int cardsUpdated;
+
+    /**
+     * One message per rejected row, each prefixed with its line number.
+     */
+    private final ArrayList<String> errors;
+
+    /**
+     * Whether the import was stopped before the end of the catalog.
+     */
+    private boolean cancelled;
+
+    /**
+     * Constructs an empty result.
+     */
+    ImportResult() {
+        this.errors = new ArrayList<>();
+    }
+
+    /**
+     * Records that a data row was read.
+     */
+    void rowRead() {
+        rowsRead++;
+    }
+
+    /**
+     * Records that a new card type was registered.
+     */
+    void cardAdded() {
+        cardsAdded++;
+    }
+
+    /**
+     * Records that an existing card type's count was increased.
+     */
+    void cardUpdated() {
+        cardsUpdated++;
+    }
+
+    /**
+     * Records that the import was stopped before the end of the catalog.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Records a rejected row.
+     *
+     * @param lineNumber The 1-based line number of the row in the source.
+     * @param message    The reason the row was rejected.
+     */
+    void error(long lineNumber, String message) {
+        errors.add("Line " + lineNumber + ": " + message);
+    }
+
+    /**
+     * Gets the number of data rows read.
+     *
+     * @return The row count.
+     */
+    public int getRowsRead() {
+        return this.rowsRead;
+    }
+
+    /**
+     * Gets the number of new card types registered.
+     *
+     * @return The number of cards added.
+     */
+    public int getCardsAdded() {
+        return this.cardsAdded;
+    }
+
+    /**
+     * Gets the number of rows that topped up an existing card type.
+     *
+     * @return The number of cards updated.
+     */
+    public int getCardsUpdated() {
+        return this.cardsUpdated;
+    }
+
+    /**
+     * Gets the messages for every rejected row. Rows that fail validation are
+     * reported as they are read; rows that conflict with an existing card are
+     * reported when their batch is inserted.
+     *
+     * @return A read-only list of error messages.
+     */
+    public List<String> getErrors() {
+        return List.copyOf(errors);
+    }
+
+    /**
+     * Gets the number of rejected rows.
+     *
+     * @return The error count.
+     */
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    /**
+     * Checks whether the import was stopped before the end of the catalog.
+     *
+     * @return true if it was cancelled, false if every row was read.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
@@ -0,0 +1,104 @@
+package com.tcis.backend;
+
+import com.tcis.models.card.Card;
+
+/**
+ * Represents one immutable change to the inventory, published through the
+ * InventoryEventBus.
+ *
+ * <p>
+ * An event describes the change itself rather than the resulting state, so a
+ * subscriber can apply it as a delta instead of re-reading everything. Which
+ * fields are set depends on the type; the others are null or zero.
+ * </p>
+ */
+public class InventoryEvent {
+    /**
+     * The kind of change.
+     */
+    private final InventoryEventType type;
+
+    /**
+     * The card involved, or null if the change is not about one card.
+     */
+    private final Card card;
+
+    /**
+     * The change in the number of copies, or 0 if not applicable.
+     */
+    private final int delta;
+
+    /**
+     * The name of the binder or deck involved, or of the item sold, or null.
+     */
+    private final String name;
+
+    /**
+     * The amount of money involved, in cents, or 0 if not applicable.
+     */
+    private final long amountCents;
+
+    /**
+     * Constructs a new event.
+     *
+     * @param type        The kind of change.
+     * @param card        The card involved, or null.
+     * @param delta       The change in the number of copies, or 0.
+     * @param name        The name of the binder, deck or item involved, or
+     *                    null.
+     * @param amountCents The amount of money involved, in cents, or 0.
+     */
+    public InventoryEvent(InventoryEventType type, Card card, int delta,
+                          String name, long amountCents) {
+        this.type = type;
+        this.card = card;
+        this.delta = delta;
+        this.name = name;
+        this.amountCents = amountCents;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return The InventoryEventType of the event.
+     */
+    public InventoryEventType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the card involved.
+     *
+     * @return The card, or null if the change is not about one card.
+     */
+    public Card getCard() {
+        return this.card;
+    }
+
+    /**
+     * Gets the change in the number of copies.
+     *
+     * @return The delta, negative for a decrease, or 0 if not applicable.
+     */
+    public int getDelta() {
+        return this.delta;
+    }
+
+    /**
+     * Gets the name of the binder or deck involved, or of the item sold.
+     *
+     * @return The name, or null if not applicable.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the amount of money involved.
+     *
+     * @return The amount, in cents, or 0 if not applicable.
+     */
+    public long getAmountCents() {
+        return this.amountCents;
+    }
+}
@@ -0,0 +1,101 @@
+package com.tcis.backend;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.tcis.models.card.Card;
+
+/**
+ * Delivers InventoryEvents to every registered InventoryListener.
+ *
+ * <p>
+ * Listeners are kept in a CopyOnWriteArrayList, so publishing never locks
+ * and a listener may subscribe or unsubscribe at any time. Publishers check
+ * {@code hasListeners} through the {@code publish} overloads before building
+ * an event, so a change costs a single volatile read when nobody is
+ * listening. A listener that throws is reported and skipped; it never stops
+ * the change or the other listeners.
+ * </p>
+ */
+public class InventoryEventBus {
+    /**
+     * The registered listeners, in the order they subscribed.
+     */
+    private final CopyOnWriteArrayList<InventoryListener> listeners;
+
+    /**
+     * Constructs a new bus with no listeners.
+     */
+    public InventoryEventBus() {
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Registers a listener to receive every later event.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(InventoryListener listener) {
+        if (listener != null)
+            listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener to remove.
+     * @return true if it was registered, false otherwise.
+     */
+    public boolean removeListener(InventoryListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Checks whether anyone is listening.
+     *
+     * @return true if at least one listener is registered.
+     */
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Builds and delivers an event about a card, if anyone is listening.
+     *
+     * @param type  The kind of change.
+     * @param card  The card involved.
+     * @param delta The change in the number of copies.
+     * @param name  The name of the binder or deck involved, or null.
+     */
+    public void publish(InventoryEventType type, Card card, int delta, String name) {
+        if (hasListeners())
+            publish(new InventoryEvent(type, card, delta, name, 0));
+    }
+
+    /**
+     * Builds and delivers an event about a named binder, deck or sale, if
+     * anyone is listening.
+     *
+     * @param type        The kind of change.
+     * @param name        The name of the binder, deck or item involved.
+     * @param amountCents The amount of money involved, in cents, or 0.
+     */
+    public void publish(InventoryEventType type, String name, long amountCents) {
+        if (hasListeners())
+            publish(new InventoryEvent(type, null, 0, name, amountCents));
+    }
+
+    /**
+     * Delivers an event to every listener, in the order they subscribed.
+     *
+     * @param event The event to deliver.
+     */
+    public void publish(InventoryEvent event) {
+        for (InventoryListener listener : listeners) {
+            try {
+                listener.inventoryChanged(event);
+            } catch (RuntimeException e) {
+                System.out.println("Error: An inventory listener failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.tcis.backend;
+
+/**
+ * Represents the kinds of change that are published as InventoryEvents.
+ */
+public enum InventoryEventType {
+    /**
+     * A new card type was registered in the collection. The delta is its
+     * initial number of copies.
+     */
+    CARD_ADDED("Card Added"),
+
+    /**
+     * The number of loose copies of a card in the collection changed by the
+     * event's delta.
+     */
+    COUNT_CHANGED("Count Changed"),
+
+    /**
+     * A card entered (positive delta) or left (negative delta) the named
+     * binder or deck.
+     */
+    CARD_MOVED("Card Moved"),
+
+    /**
+     * A binder was created.
+     */
+    BINDER_CREATED("Binder Created"),
+
+    /**
+     * A binder was deleted and its cards returned to the collection.
+     */
+    BINDER_DELETED("Binder Deleted"),
+
+    /**
+     * A binder was sold. The amount is its sale price.
+     */
+    BINDER_SOLD("Binder Sold"),
+
+    /**
+     * A deck was created.
+     */
+    DECK_CREATED("Deck Created"),
+
+    /**
+     * A deck was deleted and its cards returned to the collection.
+     */
+    DECK_DELETED("Deck Deleted"),
+
+    /**
+     * A deck was sold. The amount is its sale price.
+     */
+    DECK_SOLD("Deck Sold"),
+
+    /**
+     * A sale was recorded in the money ledger. The amount is the money
+     * received.
+     */
+    MONEY_CHANGED("Money Changed"),
+
+    /**
+     * The journal failed to write, so the inventory turned read-only. It is
+     * published once and carries no card, name or amount.
+     */
+    JOURNAL_FAILED("Journal Failed");
+
+    /**
+     * The user-friendly string representation of the event type.
+     */
+    private final String displayName;
+
+    /**
+     * Private constructor to initialize each enum constant with its display
+     * name.
+     *
+     * @param displayName The user-friendly name of the event type.
+     */
+    InventoryEventType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the user-friendly display name of the event type.
+     *
+     * @return The display name string (e.g., "Card Added").
+     */
+    public String getDisplayName() {
+        return this.displayName;
+    }
+}
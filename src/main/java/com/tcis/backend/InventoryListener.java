@@ -0,0 +1,20 @@
+package com.tcis.backend;
+
+/**
+ * Receives every change published through an InventoryEventBus.
+ *
+ * <p>
+ * Listeners are called on the thread that made the change, possibly while it
+ * still holds a lock on the binder, deck or manager involved. They must
+ * therefore return quickly and must not change the inventory themselves; a
+ * GUI listener should hand the event over to the Event Dispatch Thread.
+ * </p>
+ */
+public interface InventoryListener {
+    /**
+     * Called after a change has been applied.
+     *
+     * @param event The change.
+     */
+    void inventoryChanged(InventoryEvent event);
+}
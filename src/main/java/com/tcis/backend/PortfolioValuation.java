@@ -0,0 +1,122 @@
+package com.tcis.backend;
+
+import com.tcis.models.binder.Binder;
+import com.tcis.models.card.ValueBreakdown;
+import com.tcis.models.deck.Deck;
+
+/**
+ * Answers "what is everything worth" for the whole inventory.
+ *
+ * <p>
+ * Nothing is summed when a question is asked. The CollectionManager keeps a
+ * running breakdown of the loose collection, every binder and deck keeps its
+ * own, and the BinderManager and DeckManager keep combined breakdowns for all
+ * of their containers. Each of these is updated by the mutation that changes
+ * it, so every query here reads a fixed number of totals and takes constant
+ * time regardless of how many cards are held.
+ * </p>
+ *
+ * <p>
+ * Every breakdown returned is an independent copy, broken down by Rarity and
+ * Variant, so callers may keep it without seeing later changes.
+ * </p>
+ */
+public class PortfolioValuation {
+    /**
+     * The manager holding the loose collection.
+     */
+    private final CollectionManager collectionManager;
+
+    /**
+     * The manager holding every binder.
+     */
+    private final BinderManager binderManager;
+
+    /**
+     * The manager holding every deck.
+     */
+    private final DeckManager deckManager;
+
+    /**
+     * Constructs a valuation over the given managers.
+     *
+     * @param collectionManager The manager of the loose collection.
+     * @param binderManager     The manager of all binders.
+     * @param deckManager       The manager of all decks.
+     */
+    public PortfolioValuation(CollectionManager collectionManager,
+                              BinderManager binderManager,
+                              DeckManager deckManager) {
+        this.collectionManager = collectionManager;
+        this.binderManager = binderManager;
+        this.deckManager = deckManager;
+    }
+
+    /**
+     * Gets the value of every card in the inventory, whether loose, in a
+     * binder, or in a deck.
+     *
+     * @return The combined value breakdown.
+     */
+    public ValueBreakdown getTotalValue() {
+        ValueBreakdown total = collectionManager.getValueBreakdown();
+        total.addAll(binderManager.getValueBreakdown());
+        total.addAll(deckManager.getValueBreakdown());
+        return total;
+    }
+
+    /**
+     * Gets the value of the copies held loose in the collection.
+     *
+     * @return The value breakdown of the loose collection.
+     */
+    public ValueBreakdown getCollectionValue() {
+        return collectionManager.getValueBreakdown();
+    }
+
+    /**
+     * Gets the combined value of the cards in every binder.
+     *
+     * @return The value breakdown of all binders.
+     */
+    public ValueBreakdown getAllBindersValue() {
+        return binderManager.getValueBreakdown();
+    }
+
+    /**
+     * Gets the combined value of the cards in every deck.
+     *
+     * @return The value breakdown of all decks.
+     */
+    public ValueBreakdown getAllDecksValue() {
+        return deckManager.getValueBreakdown();
+    }
+
+    /**
+     * Gets the value of the cards in a single binder.
+     *
+     * @param binderName The name of the binder.
+     * @return The binder's value breakdown, or null if it was not found.
+     */
+    public ValueBreakdown getBinderValue(String binderName) {
+        Binder binder = binderManager.findBinder(binderName);
+        if (binder == null)
+            return null;
+
+        return binder.getValueBreakdown();
+    }
+
+    /**
+     * Gets the value of the cards in a single deck.
+     *
+     * @param deckName The name of the deck.
+     * @return The deck's value breakdown, or null if it was not found.
+     */
+    public ValueBreakdown getDeckValue(String deckName) {
+        Deck deck = deckManager.findDeck(deckName);
+        if (deck == null)
+            return null;
+
+        return deck.getValueBreakdown();
+    }
+}
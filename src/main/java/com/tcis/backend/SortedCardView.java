@@ -0,0 +1,67 @@
+package com.tcis.backend;
+
+import java.util.AbstractList;
+
+import com.tcis.models.card.Card;
+
+/**
+ * A live, read-only list of the card types in a CollectionManager, in one of
+ * its maintained orderings.
+ *
+ * <p>
+ * Nothing is copied. Each {@code get} reads one position of the published
+ * sorted array, without locking, so a list view that only asks for its
+ * visible rows touches only those rows, however large the collection, and
+ * painting never waits for a registration. Card types are never
+ * removed, so a position that was valid stays valid; the list only grows as
+ * new cards are registered.
+ * </p>
+ */
+class SortedCardView extends AbstractList<Card> {
+    /**
+     * The collection being viewed.
+     */
+    private final CollectionManager collectionManager;
+
+    /**
+     * The ordering of the view.
+     */
+    private final CardOrder order;
+
+    /**
+     * Constructs a view of a collection in the given order.
+     *
+     * @param collectionManager The collection to view.
+     * @param order             The ordering of the view.
+     */
+    SortedCardView(CollectionManager collectionManager, CardOrder order) {
+        this.collectionManager = collectionManager;
+        this.order = order;
+    }
+
+    /**
+     * Gets the card type at a position.
+     *
+     * @param index The zero-based position.
+     * @return The card at that position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    @Override
+    public Card get(int index) {
+        Card card = collectionManager.getCardTypeAt(order, index);
+        if (card == null)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+        return card;
+    }
+
+    /**
+     * Gets the number of card types currently registered.
+     *
+     * @return The size of the view.
+     */
+    @Override
+    public int size() {
+        return collectionManager.getCardTypeCount();
+    }
+}
@@ -0,0 +1,30 @@
+package com.tcis.backend;
+
+/**
+ * Follows the progress of a long-running operation and lets its caller stop
+ * it early.
+ *
+ * <p>
+ * The operation reports its progress and checks for cancellation at points
+ * where stopping leaves the inventory consistent, such as between import
+ * batches. Both methods are called on the thread running the operation, so
+ * an implementation that updates a GUI must hand the progress over to the
+ * Event Dispatch Thread.
+ * </p>
+ */
+public interface TaskMonitor {
+    /**
+     * Called as the operation advances.
+     *
+     * @param done  The amount of work done so far.
+     * @param total The total amount of work, in the same unit.
+     */
+    void progressed(long done, long total);
+
+    /**
+     * Checks whether the caller has asked the operation to stop.
+     *
+     * @return true if the operation should stop at the next safe point.
+     */
+    boolean isCancelRequested();
+}
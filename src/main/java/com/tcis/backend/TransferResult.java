@@ -0,0 +1,128 @@
+package com.tcis.backend;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Set;
+
+/**
+ * Summarizes the outcome of moving several cards into a binder in one call.
+ *
+ * <p>
+ * Every requested card name gets an entry, in the order it was requested,
+ * holding the number of copies that were moved and a status code with the
+ * same meaning as for a single transfer: 0 if every requested copy was
+ * moved, 1 if the card or binder was not found, 2 if the collection ran out
+ * of copies, 3 if the binder filled up, and 4 if the card violates the
+ * binder's rules. A quantity that is not positive gets its own status, 5. A
+ * card that stopped short with status 2 or 3 may still have had some copies
+ * moved. A request refused as a whole gives every card the same status.
+ * </p>
+ */
+public class TransferResult {
+    /**
+     * The status code of each requested card, keyed by the name it was
+     * requested under.
+     */
+    private final LinkedHashMap<String, Integer> statuses;
+
+    /**
+     * The number of copies moved for each requested card.
+     */
+    private final LinkedHashMap<String, Integer> moved;
+
+    /**
+     * The number of copies moved across all requested cards.
+     */
+    private int totalMoved;
+
+    /**
+     * Constructs an empty result.
+     */
+    TransferResult() {
+        this.statuses = new LinkedHashMap<>();
+        this.moved = new LinkedHashMap<>();
+    }
+
+    /**
+     * Builds the result of a request that was refused as a whole, without
+     * moving any copies.
+     *
+     * @param cardNames The names the cards were requested under.
+     * @param status    The status code to give every card.
+     * @return A result with the given status and no copies moved for every
+     *         card.
+     */
+    public static TransferResult rejected(Set<String> cardNames, int status) {
+        TransferResult result = new TransferResult();
+        for (String cardName : cardNames)
+            result.record(cardName, 0, status);
+
+        return result;
+    }
+
+    /**
+     * Records the outcome for one requested card.
+     *
+     * @param cardName The name the card was requested under.
+     * @param count    The number of copies moved.
+     * @param status   The status code.
+     */
+    void record(String cardName, int count, int status) {
+        statuses.put(cardName, status);
+        moved.put(cardName, count);
+        totalMoved += count;
+    }
+
+    /**
+     * Gets the names of the requested cards, in the order they were
+     * requested.
+     *
+     * @return An unmodifiable view of the requested names.
+     */
+    public Set<String> getCardNames() {
+        return Collections.unmodifiableSet(statuses.keySet());
+    }
+
+    /**
+     * Gets the status code for a requested card.
+     *
+     * @param cardName The name the card was requested under.
+     * @return The status code, or 1 if the name was not part of the request.
+     */
+    public int getStatus(String cardName) {
+        return statuses.getOrDefault(cardName, 1);
+    }
+
+    /**
+     * Gets the number of copies moved for a requested card.
+     *
+     * @param cardName The name the card was requested under.
+     * @return The number of copies moved, or 0 if the name was not part of
+     *         the request.
+     */
+    public int getMovedCount(String cardName) {
+        return moved.getOrDefault(cardName, 0);
+    }
+
+    /**
+     * Gets the number of copies moved across all requested cards.
+     *
+     * @return The total number of copies moved.
+     */
+    public int getTotalMoved() {
+        return totalMoved;
+    }
+
+    /**
+     * Checks whether every requested copy was moved.
+     *
+     * @return true if every requested card has status 0, false otherwise.
+     */
+    public boolean isComplete() {
+        for (int status : statuses.values())
+            if (status != 0)
+                return false;
+
+        return true;
+    }
+}
@@ -4,13 +4,16 @@ import java.awt.BorderLayout;
 import java.awt.CardLayout;
 import java.awt.Container;
 import java.awt.Font;
+import java.util.EnumSet;
 
 import javax.swing.BorderFactory;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 
 import com.tcis.InventorySystem;
+import com.tcis.backend.InventoryEventType;
 import com.tcis.gui.panels.BinderContentsPanel;
 import com.tcis.gui.panels.BinderPanel;
 import com.tcis.gui.panels.CollectionPanel;
@@ -27,6 +30,14 @@ import com.tcis.gui.panels.MainMenuPanel;
  * for the GUI, owning all the panel instances and controlling which one is
  * visible at any time.
  * </p>
+ *
+ * <p>
+ * It also subscribes to the backend's inventory events through a
+ * RefreshScheduler and passes the changes to the panels that show them, so
+ * the panels stay current without being rebuilt whenever they are shown.
+ * Changes are applied in batches at a bounded frame rate, so even a flood of
+ * updates keeps the window responsive.
+ * </p>
  */
 public class MainFrame extends JFrame {
     /**
@@ -81,6 +92,12 @@ public class MainFrame extends JFrame {
      */
     private DeckContentsPanel deckContentsPanel;
 
+    /**
+     * The scheduler that receives inventory events and applies them to the
+     * panels in batches.
+     */
+    private RefreshScheduler refreshScheduler;
+
     /**
      * Constructs the MainFrame, initializing the CardLayout and all associated
      * view panels.
@@ -132,35 +149,73 @@ public class MainFrame extends JFrame {
         contentPane.add(mainPanel, BorderLayout.CENTER);
 
         cardLayout.show(mainPanel, "mainMenu");
+
+        refreshScheduler = new RefreshScheduler(this::applyChanges);
+        inventory.addInventoryListener(refreshScheduler);
     }
 
     /**
      * Allows other panels to request a switch to a different panel.
      *
      * <p>
-     * This is the core navigation method for the entire GUI. Before showing
-     * a panel, it calls that panel's refresh method to ensure its data is
-     * up-to-date.
+     * This is the core navigation method for the entire GUI. The panels are
+     * kept up-to-date by inventory events, so switching to one does not
+     * rebuild it.
      * </p>
      *
      * @param panelName The string identifier of the panel to show.
      */
     public void showPanel(String panelName) {
-        switch (panelName) {
-            case "collectionPanel":
-                collectionPanel.refreshView();
-                break;
-            case "binderPanel":
-                binderPanel.refreshView();
-                break;
-            case "deckPanel":
-                deckPanel.refreshView();
-                break;
-        }
-
         cardLayout.show(mainPanel, panelName);
     }
 
+    /**
+     * Applies a batch of inventory changes to the panels that show them.
+     * This is run by the RefreshScheduler on the Event Dispatch Thread at
+     * most once per frame, however many changes the batch covers.
+     *
+     * @param types The types of every change made since the last batch.
+     */
+    private void applyChanges(EnumSet<InventoryEventType> types) {
+        boolean cardsAdded = types.contains(InventoryEventType.CARD_ADDED);
+        boolean countsChanged = cardsAdded ||
+                                types.contains(InventoryEventType.COUNT_CHANGED);
+        boolean cardsMoved = types.contains(InventoryEventType.CARD_MOVED);
+
+        if (countsChanged)
+            collectionPanel.applyChanges(cardsAdded);
+
+        if (cardsMoved ||
+            types.contains(InventoryEventType.BINDER_CREATED) ||
+            types.contains(InventoryEventType.BINDER_DELETED) ||
+            types.contains(InventoryEventType.BINDER_SOLD))
+            binderPanel.refreshView();
+
+        if (cardsMoved ||
+            types.contains(InventoryEventType.DECK_CREATED) ||
+            types.contains(InventoryEventType.DECK_DELETED) ||
+            types.contains(InventoryEventType.DECK_SOLD))
+            deckPanel.refreshView();
+
+        if ((countsChanged || cardsMoved) && binderContentsPanel.isShowing())
+            binderContentsPanel.refreshView();
+
+        if ((countsChanged || cardsMoved) && deckContentsPanel.isShowing())
+            deckContentsPanel.refreshView();
+
+        if (types.contains(InventoryEventType.MONEY_CHANGED))
+            updateTotalMoney();
+
+        if (types.contains(InventoryEventType.JOURNAL_FAILED))
+            JOptionPane.showMessageDialog(
+                this,
+                "Changes can no longer be saved because the journal could not be written.\n" +
+                "The inventory is now read-only. Restart the application to continue.",
+                "Journal Error",
+                JOptionPane.ERROR_MESSAGE
+            );
+    }
+
     /**
      * A specialized method to show the binder contents panel, ensuring it's
      * loaded with the correct binder's data before being displayed.
@@ -0,0 +1,114 @@
+package com.tcis.gui.main;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import com.tcis.backend.InventoryEvent;
+import com.tcis.backend.InventoryEventType;
+import com.tcis.backend.InventoryListener;
+
+/**
+ * Collects inventory events from any thread and applies them to the GUI in
+ * batches, at most once per frame.
+ *
+ * <p>
+ * Receiving an event only records its type in a bit mask; if that type is
+ * already pending, nothing is written at all. The first event of a frame
+ * starts a one-shot Swing Timer, and when it fires on the Event Dispatch
+ * Thread the set of types seen since the last frame is handed to the refresh
+ * action in one call. However many changes arrive, whether from an import, a
+ * scan, or many threads at once, the GUI refreshes at most
+ * {@code 1000 / FRAME_MILLIS} times a second and the EDT's event queue never
+ * fills with per-change tasks.
+ * </p>
+ */
+public class RefreshScheduler implements InventoryListener {
+    /**
+     * The shortest time between two refreshes, in milliseconds. This caps
+     * the refresh rate at about 30 frames a second.
+     */
+    public static final int FRAME_MILLIS = 33;
+
+    /**
+     * The action that applies a batch of changes, run on the EDT with the
+     * types of every event received since the previous batch.
+     */
+    private final Consumer<EnumSet<InventoryEventType>> refreshAction;
+
+    /**
+     * The types of the events received since the last batch, one bit per
+     * type ordinal.
+     */
+    private final AtomicInteger pendingTypes;
+
+    /**
+     * Whether a batch has already been scheduled, so that only the first
+     * event of a frame starts the timer.
+     */
+    private final AtomicBoolean scheduled;
+
+    /**
+     * The one-shot timer that runs the next batch on the EDT.
+     */
+    private final Timer timer;
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param refreshAction The action that applies a batch of changes. It is
+     *                      always run on the Event Dispatch Thread.
+     */
+    public RefreshScheduler(Consumer<EnumSet<InventoryEventType>> refreshAction) {
+        this.refreshAction = refreshAction;
+        this.pendingTypes = new AtomicInteger();
+        this.scheduled = new AtomicBoolean();
+        this.timer = new Timer(FRAME_MILLIS, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Records an event's type and schedules a batch if none is pending. This
+     * may be called on any thread and never blocks.
+     *
+     * @param event The change.
+     */
+    @Override
+    public void inventoryChanged(InventoryEvent event) {
+        int bit = 1 << event.getType().ordinal();
+
+        if ((pendingTypes.get() & bit) == 0)
+            pendingTypes.getAndUpdate(types -> types | bit);
+
+        if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+            if (SwingUtilities.isEventDispatchThread())
+                timer.start();
+            else
+                SwingUtilities.invokeLater(timer::start);
+        }
+    }
+
+    /**
+     * Takes every pending event type and applies them in one batch. The
+     * schedule flag is cleared first, so an event arriving during the batch
+     * schedules the next one instead of being lost.
+     */
+    private void flush() {
+        scheduled.set(false);
+        int types = pendingTypes.getAndSet(0);
+
+        if (types == 0)
+            return;
+
+        EnumSet<InventoryEventType> batch = EnumSet.noneOf(InventoryEventType.class);
+        for (InventoryEventType type : InventoryEventType.values())
+            if ((types & (1 << type.ordinal())) != 0)
+                batch.add(type);
+
+        refreshAction.accept(batch);
+    }
+}
@@ -0,0 +1,21 @@
+package com.tcis.gui.panels;
+
+import com.tcis.backend.TaskMonitor;
+
+/**
+ * A long-running inventory operation that a BackgroundTask runs off the
+ * Event Dispatch Thread.
+ *
+ * @param <T> The type of the operation's result.
+ */
+public interface BackgroundOperation<T> {
+    /**
+     * Runs the operation on a background thread.
+     *
+     * @param monitor The monitor to report progress to and to check for
+     *                cancellation.
+     * @return The operation's result.
+     * @throws Exception if the operation fails.
+     */
+    T run(TaskMonitor monitor) throws Exception;
+}
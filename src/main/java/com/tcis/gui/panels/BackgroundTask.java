@@ -0,0 +1,162 @@
+package com.tcis.gui.panels;
+
+import java.awt.Component;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+import com.tcis.backend.TaskMonitor;
+
+/**
+ * Runs a long inventory operation on a background thread while showing its
+ * progress, so the window stays responsive.
+ *
+ * <p>
+ * The operation reports progress through the TaskMonitor it is given. The
+ * progress is passed to the Event Dispatch Thread by the SwingWorker and shown
+ * in a ProgressMonitor, which only appears if the operation takes more than
+ * a moment. A timer on the Event Dispatch Thread checks the dialog's Cancel
+ * button several times a second, so a press is noticed promptly even while
+ * the percentage is not changing. It asks the operation to stop at its next
+ * safe point; the operation still returns normally with whatever it finished.
+ * The result, or the exception that ended the operation, is always delivered
+ * to its callback on the Event Dispatch Thread.
+ * </p>
+ *
+ * <p>
+ * A task must be constructed and started on the Event Dispatch Thread, and
+ * like any SwingWorker it can only be executed once.
+ * </p>
+ *
+ * @param <T> The type of the operation's result.
+ */
+public class BackgroundTask<T> extends SwingWorker<T, Void> implements TaskMonitor {
+    /**
+     * The number of milliseconds between checks of the Cancel button.
+     */
+    private static final int POLL_MILLIS = 100;
+
+    /**
+     * The operation to run in the background.
+     */
+    private final BackgroundOperation<T> operation;
+
+    /**
+     * The action run on the EDT with the operation's result.
+     */
+    private final Consumer<T> onSuccess;
+
+    /**
+     * The action run on the EDT with the exception that ended the operation.
+     */
+    private final Consumer<Exception> onFailure;
+
+    /**
+     * The dialog that shows the operation's progress and lets the user
+     * cancel it.
+     */
+    private final ProgressMonitor progressMonitor;
+
+    /**
+     * The timer that checks the Cancel button on the EDT while the operation
+     * runs.
+     */
+    private final Timer cancelPoller;
+
+    /**
+     * Set on the EDT when the user cancels, and read by the operation.
+     */
+    private volatile boolean cancelRequested;
+
+    /**
+     * Constructs a task. Call {@code execute} to start it.
+     *
+     * @param parent    The component the progress dialog is shown over.
+     * @param message   The description shown in the progress dialog.
+     * @param operation The operation to run in the background.
+     * @param onSuccess The action to run on the EDT with the result.
+     * @param onFailure The action to run on the EDT if the operation throws.
+     */
+    public BackgroundTask(Component parent, String message,
+                          BackgroundOperation<T> operation, Consumer<T> onSuccess,
+                          Consumer<Exception> onFailure) {
+        this.operation = operation;
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure;
+        this.progressMonitor = new ProgressMonitor(parent, message, null, 0, 100);
+
+        addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName()))
+                progressMonitor.setProgress((Integer) e.getNewValue());
+        });
+
+        // Progress events only fire when the percentage changes, so the
+        // Cancel button is polled instead. Repeating the current progress
+        // also lets the dialog decide to appear while it is unchanged.
+        this.cancelPoller = new Timer(POLL_MILLIS, e -> {
+            progressMonitor.setProgress(getProgress());
+
+            if (progressMonitor.isCanceled())
+                cancelRequested = true;
+        });
+        this.cancelPoller.start();
+    }
+
+    /**
+     * Runs the operation on the worker thread.
+     *
+     * @return The operation's result.
+     * @throws Exception if the operation fails.
+     */
+    @Override
+    protected T doInBackground() throws Exception {
+        return operation.run(this);
+    }
+
+    /**
+     * Records the operation's progress. It is shown as a percentage that
+     * stops short of 100 until the operation returns, since reaching the
+     * maximum would close the dialog early.
+     *
+     * @param done  The amount of work done so far.
+     * @param total The total amount of work, in the same unit.
+     */
+    @Override
+    public void progressed(long done, long total) {
+        if (total > 0)
+            setProgress((int) Math.min(99, done * 100 / total));
+    }
+
+    /**
+     * Checks whether the user has pressed Cancel.
+     *
+     * @return true if the operation should stop at its next safe point.
+     */
+    @Override
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    /**
+     * Closes the progress dialog and delivers the outcome on the EDT.
+     */
+    @Override
+    protected void done() {
+        cancelPoller.stop();
+        progressMonitor.close();
+
+        try {
+            onSuccess.accept(get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            onFailure.accept((cause instanceof Exception)
+                             ? (Exception) cause
+                             : new Exception(cause));
+        }
+    }
+}
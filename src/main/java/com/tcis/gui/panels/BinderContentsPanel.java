@@ -6,14 +6,12 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
-import javax.swing.DefaultListModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
@@ -26,6 +24,7 @@ import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
 
 import com.tcis.InventorySystem;
+import com.tcis.backend.TransferResult;
 import com.tcis.gui.main.MainFrame;
 import com.tcis.models.binder.Binder;
 import com.tcis.models.binder.LuxuryBinder;
@@ -65,25 +64,25 @@ public class BinderContentsPanel extends JPanel {
      * The data model for the JList that displays the cards contained within
      * the {@code currentBinder}.
      */
-    private DefaultListModel<String> binderListModel;
+    private CardListModel binderListModel;
 
     /**
      * The Swing component that visually displays the list of cards in the
      * current binder.
      */
-    private JList<String> binderCardList;
+    private JList<Card> binderCardList;
 
     /**
      * The data model for the JList that displays the cards available in the
-     * main collection.
+     * main collection. It reads rows from the backend on demand.
      */
-    private DefaultListModel<String> collectionListModel;
+    private CardListModel collectionListModel;
 
     /**
      * The Swing component that visually displays the list of cards available
      * in the main collection.
      */
-    private JList<String> collectionCardList;
+    private JList<Card> collectionCardList;
 
     /**
 
@@ -123,16 +122,18 @@ public class BinderContentsPanel extends JPanel {
 
         JPanel listsPanel = new JPanel(new GridLayout(1, 2, 10, 0));
 
-        binderListModel = new DefaultListModel<>();
+        binderListModel = new CardListModel();
         binderCardList = new JList<>(binderListModel);
         binderCardList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        new CardCellRenderer(inventory, null).install(binderCardList);
         JScrollPane binderScrollPane = new JScrollPane(binderCardList);
         listsPanel.add(binderScrollPane);
 
-        collectionListModel = new DefaultListModel<>();
+        collectionListModel = new CardListModel();
         collectionCardList = new JList<>(collectionListModel);
         collectionCardList.setSelectionMode(
-                ListSelectionModel.SINGLE_SELECTION);
+                ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        new CardCellRenderer(inventory, "Available").install(collectionCardList);
         JScrollPane collectionScrollPane = new JScrollPane(collectionCardList);
         collectionScrollPane.setBorder(
                 BorderFactory.createTitledBorder("Available in Collection"));
@@ -208,45 +209,39 @@ public class BinderContentsPanel extends JPanel {
         }
 
         binderTitleLabel.setText("Managing: " + currentBinder.getName());
+
+        // The binder keeps its cards in name order, so the list shows them
+        // straight from the binder without sorting or copying. Only the
+        // available cards this binder's rules allow are listed, from a live
+        // view that looks again only when a card becomes available or runs
+        // out.
+        binderListModel.setCards(currentBinder.getCardsByName());
+        collectionListModel.setCards(inventory.getAvailableCardView(currentBinder::accepts));
         refreshView();
     }
 
     /**
      * Refreshes both lists and all button states by fetching the latest data
-     * from the backend.
+     * from the backend. The MainFrame also calls this, at most once per
+     * frame, while the panel is shown and the inventory changes.
      */
-    private void refreshView() {
+    public void refreshView() {
         if (currentBinder == null)
             return;
 
-        binderListModel.clear();
-        ArrayList<Card> binderCards = currentBinder.getCards();
-        binderCards.sort(Comparator.comparing(Card::getName));
-
-        for (Card card : binderCards)
-            binderListModel.addElement(card.getName());
-
-        collectionListModel.clear();
-        ArrayList<Card> collectionCards = inventory.getCardTypes();
-        HashMap<String, Integer> counts = inventory.getCardCounts();
-        collectionCards.sort(Comparator.comparing(Card::getName));
-
-        for (Card card : collectionCards) {
-            int count = counts.getOrDefault(
-                    card.getName().toLowerCase(), 0);
-
-            if (count > 0)
-                collectionListModel.addElement(
-                    String.format("%s (Available: %d)", card.getName(), count)
-                );
-        }
+        // Both lists are live views, so a refresh only reports rows added or
+        // removed. Counts shown in rows that stay are read when painted.
+        binderListModel.refresh();
+        collectionListModel.refresh();
+        binderCardList.repaint();
+        collectionCardList.repaint();
 
         JScrollPane binderScrollPane = (JScrollPane) binderCardList.getParent().getParent();
         binderScrollPane.setBorder(BorderFactory.createTitledBorder(
             "Cards in Binder (" +
             currentBinder.getCardCount() + 
             "/" +
-            Binder.MAX_CAPACITY +
+            currentBinder.getCapacity() +
             ")"
         ));
 
@@ -263,12 +258,15 @@ public class BinderContentsPanel extends JPanel {
     }
 
     /**
-     * Handles the logic for moving a card from the collection to the binder.
+     * Handles the logic for moving the selected cards from the collection to
+     * the binder. One copy of each selected card is moved, all in a single
+     * call run in the background, and any cards that could not be moved are
+     * reported together when it finishes.
      */
     private void handleAddCard() {
-        String selectedValue = collectionCardList.getSelectedValue();
+        List<Card> selectedCards = collectionCardList.getSelectedValuesList();
 
-        if (selectedValue == null) {
+        if (selectedCards.isEmpty()) {
             JOptionPane.showMessageDialog(
                 this,
                 "Please select a card from the 'Available in Collection' list to add.",
@@ -278,44 +276,119 @@ public class BinderContentsPanel extends JPanel {
             return;
         }
 
-        String cardName = selectedValue.split(" \\(")[0];
-        int result = inventory.addCardToBinder(
-                cardName, currentBinder.getName());
+        LinkedHashMap<String, Integer> quantities = new LinkedHashMap<>();
+        for (Card card : selectedCards)
+            quantities.put(card.getName(), 1);
+
+        // A large selection is moved in the background. The batch holds the
+        // binder's lock from start to end, so it has no safe point to stop
+        // at and always runs to the end.
+        String binderName = currentBinder.getName();
+        new BackgroundTask<TransferResult>(this,
+                "Adding " + quantities.size() + " card(s) to '" + binderName + "'...",
+                monitor -> inventory.addCardsToBinder(binderName, quantities),
+                result -> showAddResult(result, quantities.size()),
+                this::showTaskError).execute();
+    }
 
-        if (result == 4) {
-            JOptionPane.showMessageDialog(
-                this,
-                "This card is not allowed in this type of binder.",
-                "Rule Violation", JOptionPane.ERROR_MESSAGE
-            );
-        } else if (result == 3) {
-            JOptionPane.showMessageDialog(
-                this,
-                "This binder is full.",
-                "Error",
-                JOptionPane.ERROR_MESSAGE
-            );
-        } else if (result != 0) {
-            JOptionPane.showMessageDialog(
-                this,
-                "An error occurred while adding the card.",
-                "Error",
-                JOptionPane.ERROR_MESSAGE
-            );
+    /**
+     * Reports the cards of a batch that could not be added to the binder,
+     * if any, grouped by the reason.
+     *
+     * @param result   The outcome of the batch.
+     * @param selected The number of cards selected for the batch.
+     */
+    private void showAddResult(TransferResult result, int selected) {
+        if (!result.isComplete()) {
+            boolean full = false;
+            boolean ruleViolation = false;
+            boolean readOnly = false;
+
+            for (String cardName : result.getCardNames()) {
+                if (result.getStatus(cardName) == 3)
+                    full = true;
+                else if (result.getStatus(cardName) == 4)
+                    ruleViolation = true;
+                else if (result.getStatus(cardName) == InventorySystem.READ_ONLY)
+                    readOnly = true;
+            }
+
+            String notAdded = (selected - result.getTotalMoved()) +
+                    " of " + selected + " selected card(s) could not be added.";
+
+            if (readOnly) {
+                JOptionPane.showMessageDialog(
+                    this,
+                    notAdded + "\nThe inventory is read-only because changes can no longer be saved.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+            } else if (ruleViolation) {
+                JOptionPane.showMessageDialog(
+                    this,
+                    notAdded + "\nSome cards are not allowed in this type of binder.",
+                    "Rule Violation", JOptionPane.ERROR_MESSAGE
+                );
+            } else if (full) {
+                JOptionPane.showMessageDialog(
+                    this,
+                    notAdded + "\nThis binder is full.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+            } else {
+                JOptionPane.showMessageDialog(
+                    this,
+                    notAdded + "\nAn error occurred while adding the cards.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+            }
         }
 
         refreshView();
     }
 
+    /**
+     * Reports a batch that ended with an exception.
+     *
+     * @param ex The exception that ended the batch.
+     */
+    private void showTaskError(Exception ex) {
+        JOptionPane.showMessageDialog(
+            this,
+            "An error occurred while adding the cards: " + ex.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE
+        );
+        refreshView();
+    }
+
+    /**
+     * Finds the slot of the card selected in the binder list.
+     *
+     * @return The selected card's slot, or -1 if nothing is selected or the
+     *         slot no longer holds the card that was shown.
+     */
+    private int getSelectedSlot() {
+        int selectedViewIndex = binderCardList.getSelectedIndex();
+        if (selectedViewIndex == -1 || selectedViewIndex >= currentBinder.getCardCount())
+            return -1;
+
+        int slot = currentBinder.getSlotByName(selectedViewIndex);
+        Card shown = binderCardList.getSelectedValue();
+        return (currentBinder.getCardAt(slot) == shown) ? slot : -1;
+    }
+
     /**
      * Handles the logic for moving a card from the binder back to the
-     * collection. It correctly finds the original index of the card to
-     * prevent sorting-related bugs.
+     * collection. The selected row addresses the card by its slot, so the
+     * sorted display order does not matter.
      */
     private void handleRemoveCard() {
-        String selectedValue = binderCardList.getSelectedValue();
+        Card selectedCard = binderCardList.getSelectedValue();
 
-        if (selectedValue == null) {
+        if (selectedCard == null) {
             JOptionPane.showMessageDialog(
                 this,
                 "Please select a card from the 'Cards in Binder' list to remove.",
@@ -325,21 +398,11 @@ public class BinderContentsPanel extends JPanel {
             return;
         }
 
-        // To prevent sorting issues, we find the true index of the card
-        // in the binder's actual, unsorted list.
-        int originalIndex = -1;
-        ArrayList<Card> originalCards =
-            inventory.findBinder(currentBinder.getName()).getCards();
-
-        for (int i = 0; i < originalCards.size(); i++)
-            if (originalCards.get(i).getName().equals(selectedValue)) {
-                originalIndex = i;
-                break;
-            }
+        int slot = getSelectedSlot();
 
-        if (originalIndex != -1 &&
+        if (slot != -1 &&
             inventory.removeCardFromBinder(
-                originalIndex,
+                slot,
                 currentBinder.getName()
             )) {
             // Success is silent; the refresh will show the result.
@@ -370,18 +433,8 @@ public class BinderContentsPanel extends JPanel {
             return;
         }
 
-        String selectedName = binderListModel.getElementAt(selectedViewIndex);
-        int outgoingCardIndex = -1;
-        Card outgoingCard = null;
-        ArrayList<Card> originalCards =
-            inventory.findBinder(currentBinder.getName()).getCards();
-
-        for (int i = 0; i < originalCards.size(); i++)
-            if (originalCards.get(i).getName().equals(selectedName)) {
-                outgoingCardIndex = i;
-                outgoingCard = originalCards.get(i);
-                break;
-            }
+        int outgoingSlot = getSelectedSlot();
+        Card outgoingCard = currentBinder.getCardAt(outgoingSlot);
 
         if (outgoingCard == null) {
             JOptionPane.showMessageDialog(
@@ -420,6 +473,14 @@ public class BinderContentsPanel extends JPanel {
         rarityComboBox.addActionListener(e -> updateVariantState.run());
         updateVariantState.run();
 
+        // Picking a known card fills in its details, which the user may
+        // still change before confirming.
+        new CardNameCompleter(inventory, nameField, card -> {
+            rarityComboBox.setSelectedItem(card.getRarity());
+            variantComboBox.setSelectedItem(card.getVariant());
+            valueField.setText(Double.toString(card.getBaseValue()));
+        });
+
         int result = 
             JOptionPane.showConfirmDialog(
                 this,
@@ -460,8 +521,14 @@ public class BinderContentsPanel extends JPanel {
                 }
 
                 if (inventory.performTrade(currentBinder.getName(), 
-                    outgoingCardIndex,
+                    outgoingSlot,
                         incomingCard)) {
+                    // The incoming card takes the outgoing card's slot, so
+                    // only the rows between its old and new positions by
+                    // name have changed.
+                    binderListModel.rowsChanged(selectedViewIndex,
+                        currentBinder.getPositionByName(outgoingSlot));
+
                     JOptionPane.showMessageDialog(
                         this,
                         "Trade successful!",
@@ -494,7 +561,6 @@ public class BinderContentsPanel extends JPanel {
      */
     private void handleSetPrice() {
         if (currentBinder instanceof LuxuryBinder) {
-            LuxuryBinder luxuryBinder = (LuxuryBinder) currentBinder;
             String priceStr = 
                 JOptionPane.showInputDialog(
                     this,
@@ -506,7 +572,7 @@ public class BinderContentsPanel extends JPanel {
             if (priceStr != null) {
                 try {
                     double price = Double.parseDouble(priceStr);
-                    if (luxuryBinder.setPrice(price)) {
+                    if (inventory.setBinderPrice(currentBinder.getName(), price)) {
                         JOptionPane.showMessageDialog(
                             this,
                             "Price set successfully.",
@@ -7,7 +7,6 @@ import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
 import java.util.ArrayList;
-import java.util.Comparator;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -20,8 +19,10 @@ import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingConstants;
 
 import com.tcis.InventorySystem;
@@ -152,26 +153,26 @@ public class BinderPanel extends JPanel {
         deleteButton.addActionListener(e -> handleDelete());
         sellButton.addActionListener(e -> handleSell());
 
-        updateButtonStates();
+        refreshView();
     }
 
     /**
      * Refreshes the entire view. It re-fetches data from the backend and
-     * updates the UI components. This should be called by the MainFrame
-     * whenever this panel is shown.
+     * updates the UI components. The MainFrame calls this, at most once per
+     * frame, whenever a binder is created, deleted, sold, or has cards moved
+     * into or out of it.
      */
     public void refreshView() {
         int selectedIndex = binderList.getSelectedIndex();
 
         binderListModel.clear();
-        ArrayList<Binder> binders = inventory.getBinders();
-        binders.sort(Comparator.comparing(Binder::getName));
+        ArrayList<Binder> binders = inventory.getBindersByName();
         for (Binder binder : binders) {
             String type = binder.getClass().getSimpleName().replace(
                     "Binder", "");
             binderListModel.addElement(String.format("%s (%s) [%d/%d]",
                     binder.getName(), type, binder.getCardCount(),
-                    Binder.MAX_CAPACITY));
+                    binder.getCapacity()));
         }
 
         if (selectedIndex >= 0 && selectedIndex < binderListModel.getSize())
@@ -206,17 +207,21 @@ public class BinderPanel extends JPanel {
      * JOptionPane.
      */
     private void handleCreate() {
-        JPanel panel = new JPanel(new GridLayout(2, 2, 5, 5));
+        JPanel panel = new JPanel(new GridLayout(3, 2, 5, 5));
         JTextField nameField = new JTextField();
         String[] binderTypes = {
             "Non-curated", "Collector", "Pauper", "Rares", "Luxury"
         };
         JComboBox<String> typeComboBox = new JComboBox<>(binderTypes);
+        JSpinner capacitySpinner = new JSpinner(new SpinnerNumberModel(
+            Binder.DEFAULT_CAPACITY, 1, Integer.MAX_VALUE, 1));
 
         panel.add(new JLabel("Binder Name:"));
         panel.add(nameField);
         panel.add(new JLabel("Binder Type:"));
         panel.add(typeComboBox);
+        panel.add(new JLabel("Capacity:"));
+        panel.add(capacitySpinner);
 
         int result =
             JOptionPane.showConfirmDialog(
@@ -230,15 +235,14 @@ public class BinderPanel extends JPanel {
         if (result == JOptionPane.OK_OPTION) {
             String name = nameField.getText();
             String type = (String) typeComboBox.getSelectedItem();
+            int capacity = (Integer) capacitySpinner.getValue();
 
-            if (inventory.createBinder(name, type)) {
+            if (inventory.createBinder(name, type, capacity)) {
                 JOptionPane.showMessageDialog(
                     mainFrame,
                     "Binder '" + name + "' created successfully.", "Success",
                     JOptionPane.INFORMATION_MESSAGE
                 );
-
-                refreshView();
             } else {
                 JOptionPane.showMessageDialog(
                     mainFrame,
@@ -281,23 +285,36 @@ public class BinderPanel extends JPanel {
             );
 
         if (choice == JOptionPane.YES_OPTION) {
-            if (inventory.deleteBinder(binderName)) {
-                JOptionPane.showMessageDialog(
-                    mainFrame,
-                    "Binder deleted successfully.",
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE
-                );
+            // Returning every card of a large binder to the collection takes
+            // a while, so it runs in the background. It has no safe point to
+            // stop at, so it always runs to the end.
+            new BackgroundTask<Boolean>(mainFrame,
+                    "Deleting binder '" + binderName + "'...",
+                    monitor -> inventory.deleteBinder(binderName),
+                    this::showDeleteResult, this::showTaskError).execute();
+        }
+    }
 
-                refreshView();
-            } else {
-                JOptionPane.showMessageDialog(
-                    mainFrame,
-                    "Failed to delete the binder.",
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-                );
-            }
+    /**
+     * Reports whether a binder was deleted.
+     *
+     * @param deleted Whether the binder was deleted.
+     */
+    private void showDeleteResult(boolean deleted) {
+        if (deleted) {
+            JOptionPane.showMessageDialog(
+                mainFrame,
+                "Binder deleted successfully.",
+                "Success",
+                JOptionPane.INFORMATION_MESSAGE
+            );
+        } else {
+            JOptionPane.showMessageDialog(
+                mainFrame,
+                "Failed to delete the binder.",
+                "Error",
+                JOptionPane.ERROR_MESSAGE
+            );
         }
     }
 
@@ -323,24 +340,50 @@ public class BinderPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION);
 
         if (choice == JOptionPane.YES_OPTION) {
-            if (inventory.sellBinder(binderName)) {
-                JOptionPane.showMessageDialog(
-                    mainFrame,
-                    "Binder sold successfully!",
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE
-                );
+            // Selling values and removes every card of the binder and
+            // records the sale, so it runs in the background. A sale is all
+            // or nothing, so it always runs to the end.
+            new BackgroundTask<Boolean>(mainFrame,
+                    "Selling binder '" + binderName + "'...",
+                    monitor -> inventory.sellBinder(binderName),
+                    this::showSellResult, this::showTaskError).execute();
+        }
+    }
 
-                refreshView();
-                mainFrame.updateTotalMoney();
-            } else {
-                JOptionPane.showMessageDialog(
-                    mainFrame,
-                    "Failed to sell the binder.",
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-                );
-            }
+    /**
+     * Reports whether a binder was sold.
+     *
+     * @param sold Whether the binder was sold.
+     */
+    private void showSellResult(boolean sold) {
+        if (sold) {
+            JOptionPane.showMessageDialog(
+                mainFrame,
+                "Binder sold successfully!",
+                "Success",
+                JOptionPane.INFORMATION_MESSAGE
+            );
+        } else {
+            JOptionPane.showMessageDialog(
+                mainFrame,
+                "Failed to sell the binder.",
+                "Error",
+                JOptionPane.ERROR_MESSAGE
+            );
         }
     }
+
+    /**
+     * Reports a binder operation that ended with an exception.
+     *
+     * @param ex The exception that ended the operation.
+     */
+    private void showTaskError(Exception ex) {
+        JOptionPane.showMessageDialog(
+            mainFrame,
+            "An error occurred: " + ex.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE
+        );
+    }
 }
@@ -0,0 +1,94 @@
+package com.tcis.gui.panels;
+
+import java.awt.Component;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JList;
+
+import com.tcis.InventorySystem;
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Renders a card as a row of a JList, formatting its text only when the row
+ * is painted.
+ *
+ * <p>
+ * A row shows the card's name and, if a count label is given, the number of
+ * copies in the collection, read at paint time so it is always current.
+ * {@code install} also gives the list a fixed cell size taken from a
+ * prototype card, so the list never has to measure every row to lay itself
+ * out.
+ * </p>
+ */
+public class CardCellRenderer extends DefaultListCellRenderer {
+    /**
+     * The card used to size every row. Its name is long enough for typical
+     * card names.
+     */
+    private static final Card PROTOTYPE = new Card("MMMMMMMMMMMMMMMMMMMMMMMM",
+            0, Rarity.COMMON, Variant.NORMAL);
+
+    /**
+     * A reference to the backend facade, used to read card counts.
+     */
+    private final InventorySystem inventory;
+
+    /**
+     * The label shown before each card's count, such as "Count", or null to
+     * show only the name.
+     */
+    private final String countLabel;
+
+    /**
+     * Constructs a renderer.
+     *
+     * @param inventory  The backend facade, used to read card counts.
+     * @param countLabel The label shown before each card's count, or null to
+     *                   show only the name.
+     */
+    public CardCellRenderer(InventorySystem inventory, String countLabel) {
+        this.inventory = inventory;
+        this.countLabel = countLabel;
+    }
+
+    /**
+     * Makes this the list's renderer and fixes the list's cell size, so
+     * laying out the list costs the same however many rows it has.
+     *
+     * @param list The list to configure.
+     */
+    public void install(JList<Card> list) {
+        list.setCellRenderer(this);
+        list.setPrototypeCellValue(PROTOTYPE);
+    }
+
+    /**
+     * Formats a card into the row's text.
+     *
+     * @param list         The list being painted.
+     * @param value        The card in the row.
+     * @param index        The row's index.
+     * @param isSelected   Whether the row is selected.
+     * @param cellHasFocus Whether the row has focus.
+     * @return The component that paints the row.
+     */
+    @Override
+    public Component getListCellRendererComponent(JList<?> list, Object value,
+                                                  int index, boolean isSelected,
+                                                  boolean cellHasFocus) {
+        String text = "";
+
+        if (value instanceof Card) {
+            Card card = (Card) value;
+            text = (countLabel == null)
+                   ? card.getName()
+                   : card.getName() + " (" + countLabel + ": " +
+                     inventory.getCardCount(card.getId()) + ")";
+        }
+
+        return super.getListCellRendererComponent(list, text, index,
+                isSelected, cellHasFocus);
+    }
+}
@@ -0,0 +1,122 @@
+package com.tcis.gui.panels;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+import com.tcis.models.card.Card;
+
+/**
+ * A list model that shows a list of cards without copying it.
+ *
+ * <p>
+ * The model only holds a reference to its source list, which may be a live
+ * view of the backend's sorted cards, and reads a row only when the JList
+ * asks for it to paint. Rows are Card objects, so selections give back the
+ * card itself and never have to be parsed out of display text. Changes are
+ * reported with the narrowest interval events possible: a refresh reports
+ * only rows added or removed, and rows whose contents changed are reported
+ * only where the caller knows them, so a refresh never makes the list
+ * re-examine rows that are still the same.
+ * </p>
+ */
+public class CardListModel extends AbstractListModel<Card> {
+    /**
+     * The cards being shown.
+     */
+    private List<Card> cards;
+
+    /**
+     * The number of rows last reported to listeners. It may lag behind a
+     * live source until {@code refresh} is called.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty model.
+     */
+    public CardListModel() {
+        this.cards = new ArrayList<>();
+        this.size = 0;
+    }
+
+    /**
+     * Shows a list of cards. Showing the list already shown is the same as
+     * {@code refresh}; a different list may differ in every row, so
+     * listeners are told that all the rows changed.
+     *
+     * @param cards The cards to show. The list is read, not copied, so it
+     *              must not shrink without another call to this method or to
+     *              {@code refresh}.
+     */
+    public void setCards(List<Card> cards) {
+        if (cards == this.cards) {
+            refresh();
+            return;
+        }
+
+        int oldSize = this.size;
+        this.cards = cards;
+        refresh();
+
+        int common = Math.min(oldSize, this.size);
+        if (common > 0)
+            fireContentsChanged(this, 0, common - 1);
+    }
+
+    /**
+     * Re-reads the size of the source list and tells listeners only about
+     * the rows added or removed at its end. Rows whose contents are known to
+     * have changed are reported with {@code rowsChanged}; a change the caller
+     * cannot place, such as a count shown in a row, only needs a repaint of
+     * the visible rows.
+     */
+    public void refresh() {
+        int oldSize = this.size;
+        int newSize = cards.size();
+        this.size = newSize;
+
+        if (newSize < oldSize)
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        else if (newSize > oldSize)
+            fireIntervalAdded(this, oldSize, newSize - 1);
+    }
+
+    /**
+     * Tells listeners that the contents of a range of rows have changed. The
+     * range is clipped to the rows that exist.
+     *
+     * @param first The first row that changed.
+     * @param last  The last row that changed, which may come before
+     *              {@code first}.
+     */
+    public void rowsChanged(int first, int last) {
+        int from = Math.max(0, Math.min(first, last));
+        int to = Math.min(this.size - 1, Math.max(first, last));
+
+        if (from <= to)
+            fireContentsChanged(this, from, to);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of cards shown.
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the card in a row, read from the source list on demand.
+     *
+     * @param index The zero-based row.
+     * @return The card shown in that row.
+     */
+    @Override
+    public Card getElementAt(int index) {
+        return cards.get(index);
+    }
+}
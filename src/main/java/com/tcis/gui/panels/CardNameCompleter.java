@@ -0,0 +1,262 @@
+package com.tcis.gui.panels;
+
+import java.awt.Dimension;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+import javax.swing.DefaultListModel;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+
+import com.tcis.InventorySystem;
+import com.tcis.models.card.Card;
+
+/**
+ * Adds search-as-you-type completion of card names to a text field.
+ *
+ * <p>
+ * After every keystroke the names in the collection that start with the
+ * field's text are shown in a popup below it. The user can pick one with the
+ * mouse, or with the arrow keys and Enter, and Escape closes the popup. Each
+ * lookup goes through the collection's prefix index and only fetches the few
+ * names shown, so it runs directly on the Event Dispatch Thread without
+ * stalling it, even for very large catalogs.
+ * </p>
+ */
+public class CardNameCompleter implements KeyListener, FocusListener {
+    /**
+     * The largest number of names shown in the popup at once.
+     */
+    private static final int MAX_SUGGESTIONS = 8;
+
+    /**
+     * A reference to the backend facade, used to look up matching names.
+     */
+    private final InventorySystem inventory;
+
+    /**
+     * The text field being completed.
+     */
+    private final JTextField field;
+
+    /**
+     * The action run with the chosen card when a suggestion is picked, or
+     * null if none.
+     */
+    private final Consumer<Card> onSelect;
+
+    /**
+     * The popup that shows the current suggestions.
+     */
+    private final JPopupMenu popup;
+
+    /**
+     * The data model for the list of suggested names.
+     */
+    private final DefaultListModel<String> suggestionModel;
+
+    /**
+     * The Swing component that displays the suggested names.
+     */
+    private final JList<String> suggestionList;
+
+    /**
+     * The scroll pane holding the suggestion list, sized to match the field.
+     */
+    private final JScrollPane scrollPane;
+
+    /**
+     * The cards currently suggested, in the same order as the list.
+     */
+    private ArrayList<Card> suggestions;
+
+    /**
+     * Set while the selection or the field's text is being changed by this
+     * class, so that the change is not mistaken for user input.
+     */
+    private boolean updating;
+
+    /**
+     * Attaches name completion to a text field.
+     *
+     * @param inventory The backend facade used to look up names.
+     * @param field     The text field to complete.
+     * @param onSelect  The action to run with the chosen card when a
+     *                  suggestion is picked, or null for none.
+     */
+    public CardNameCompleter(InventorySystem inventory, JTextField field,
+                             Consumer<Card> onSelect) {
+        this.inventory = inventory;
+        this.field = field;
+        this.onSelect = onSelect;
+        this.suggestions = new ArrayList<>();
+        this.suggestionModel = new DefaultListModel<>();
+        this.suggestionList = new JList<>(suggestionModel);
+        this.scrollPane = new JScrollPane(suggestionList);
+        this.popup = new JPopupMenu();
+
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionList.setFocusable(false);
+        scrollPane.setBorder(null);
+        popup.setFocusable(false);
+        popup.add(scrollPane);
+
+        suggestionList.addListSelectionListener(e -> {
+            if (!updating && !e.getValueIsAdjusting())
+                acceptSelected();
+        });
+        field.getDocument().addDocumentListener(
+                new TextChangeListener(this::updateSuggestions));
+        field.addKeyListener(this);
+        field.addFocusListener(this);
+    }
+
+    /**
+     * Looks up the names matching the field's current text and shows them,
+     * or hides the popup if there are none.
+     */
+    private void updateSuggestions() {
+        if (updating)
+            return;
+
+        String text = field.getText();
+        suggestions = text.isBlank()
+                      ? new ArrayList<>()
+                      : inventory.searchCards(text, MAX_SUGGESTIONS);
+
+        updating = true;
+        suggestionModel.clear();
+        for (Card card : suggestions)
+            suggestionModel.addElement(card.getName());
+        updating = false;
+
+        if (suggestions.isEmpty() || !field.isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+
+        suggestionList.setVisibleRowCount(suggestions.size());
+        scrollPane.setPreferredSize(new Dimension(field.getWidth(),
+                suggestionList.getPreferredScrollableViewportSize().height + 2));
+        popup.pack();
+
+        if (!popup.isVisible())
+            popup.show(field, 0, field.getHeight());
+    }
+
+    /**
+     * Fills the field with the selected suggestion, hides the popup, and
+     * passes the chosen card to the selection action.
+     */
+    private void acceptSelected() {
+        int index = suggestionList.getSelectedIndex();
+        if (index < 0 || index >= suggestions.size())
+            return;
+
+        Card card = suggestions.get(index);
+
+        updating = true;
+        field.setText(card.getName());
+        updating = false;
+        popup.setVisible(false);
+
+        if (onSelect != null)
+            onSelect.accept(card);
+    }
+
+    /**
+     * Moves the highlighted suggestion by the given number of rows, staying
+     * within the list.
+     *
+     * @param delta The number of rows to move, negative for up.
+     */
+    private void moveSelection(int delta) {
+        int index = suggestionList.getSelectedIndex() + delta;
+        index = Math.max(0, Math.min(index, suggestionModel.getSize() - 1));
+
+        updating = true;
+        suggestionList.setSelectedIndex(index);
+        suggestionList.ensureIndexIsVisible(index);
+        updating = false;
+    }
+
+    /**
+     * Handles the arrow keys, Enter and Escape while suggestions are shown.
+     * The keys are consumed so that, for example, Enter picks a suggestion
+     * instead of closing the surrounding dialog.
+     *
+     * @param e The key event.
+     */
+    @Override
+    public void keyPressed(KeyEvent e) {
+        if (!popup.isVisible())
+            return;
+
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN:
+                moveSelection(1);
+                e.consume();
+                break;
+            case KeyEvent.VK_UP:
+                moveSelection(-1);
+                e.consume();
+                break;
+            case KeyEvent.VK_ENTER:
+                if (suggestionList.getSelectedIndex() >= 0) {
+                    acceptSelected();
+                    e.consume();
+                }
+                break;
+            case KeyEvent.VK_ESCAPE:
+                popup.setVisible(false);
+                e.consume();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Not used; completion reacts to text changes instead.
+     *
+     * @param e The key event.
+     */
+    @Override
+    public void keyTyped(KeyEvent e) {
+    }
+
+    /**
+     * Not used; completion reacts to text changes instead.
+     *
+     * @param e The key event.
+     */
+    @Override
+    public void keyReleased(KeyEvent e) {
+    }
+
+    /**
+     * Not used; suggestions appear once the user types.
+     *
+     * @param e The focus event.
+     */
+    @Override
+    public void focusGained(FocusEvent e) {
+    }
+
+    /**
+     * Hides the suggestions when the field loses focus.
+     *
+     * @param e The focus event.
+     */
+    @Override
+    public void focusLost(FocusEvent e) {
+        popup.setVisible(false);
+    }
+}
@@ -5,16 +5,15 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.nio.file.Path;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
-import javax.swing.DefaultListModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JOptionPane;
@@ -25,6 +24,8 @@ import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
 
 import com.tcis.InventorySystem;
+import com.tcis.backend.CardOrder;
+import com.tcis.backend.ImportResult;
 import com.tcis.gui.main.MainFrame;
 import com.tcis.models.card.Card;
 import com.tcis.models.card.Rarity;
@@ -40,6 +41,11 @@ import com.tcis.models.card.Variant;
  * </p>
  */
 public class CollectionPanel extends JPanel {
+    /**
+     * The largest number of matching cards listed while a search is active.
+     */
+    private static final int SEARCH_LIMIT = 500;
+
     /**
      * A reference to the backend facade, used to perform all collection-related
      * business logic.
@@ -54,15 +60,28 @@ public class CollectionPanel extends JPanel {
 
     /**
      * The data model for the JList that displays the list of all unique card
-     * types in the collection.
+     * types in the collection. It reads rows from the backend on demand.
+     */
+    private CardListModel cardListModel;
+
+    /**
+     * The live view of every card type in name order that the list shows
+     * while no search is entered. It is kept so that a refresh hands the
+     * model the list it already shows and only new rows are reported.
      */
-    private DefaultListModel<String> cardListModel;
+    private List<Card> cardsByName;
 
     /**
      * The Swing component that visually displays the list of all cards in the
      * collection.
      */
-    private JList<String> cardList;
+    private JList<Card> cardList;
+
+    /**
+     * The text field whose contents filter the list to cards whose names
+     * start with it.
+     */
+    private JTextField searchField;
 
     /**
      * The button used to sell a single copy of the selected card.
@@ -79,6 +98,12 @@ public class CollectionPanel extends JPanel {
      */
     private JButton viewDetailsButton;
 
+    /**
+     * The button used to import a card catalog. It is disabled while an
+     * import runs in the background.
+     */
+    private JButton importButton;
+
     /**
      * Constructs the CollectionPanel.
      *
@@ -95,11 +120,22 @@ public class CollectionPanel extends JPanel {
 
         JLabel titleLabel = new JLabel("Card Collection", SwingConstants.CENTER);
         titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
-        add(titleLabel, BorderLayout.NORTH);
 
-        cardListModel = new DefaultListModel<>();
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        searchField = new JTextField(20);
+        searchPanel.add(new JLabel("Search:"));
+        searchPanel.add(searchField);
+
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(titleLabel, BorderLayout.NORTH);
+        topPanel.add(searchPanel, BorderLayout.SOUTH);
+        add(topPanel, BorderLayout.NORTH);
+
+        cardListModel = new CardListModel();
+        cardsByName = inventory.getCardTypeView(CardOrder.NAME);
         cardList = new JList<>(cardListModel);
         cardList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        new CardCellRenderer(inventory, "Count").install(cardList);
         JScrollPane scrollPane = new JScrollPane(cardList);
         add(scrollPane, BorderLayout.CENTER);
 
@@ -108,22 +144,27 @@ public class CollectionPanel extends JPanel {
                 new BoxLayout(actionButtonPanel, BoxLayout.Y_AXIS));
 
         JButton addCardButton = new JButton("Add New Card...");
+        importButton = new JButton("Import Catalog...");
         viewDetailsButton = new JButton("View Details...");
         updateCountButton = new JButton("Update Count...");
         sellCardButton = new JButton("Sell Card...");
 
         Dimension buttonSize = new Dimension(180, 40);
         addCardButton.setPreferredSize(buttonSize);
+        importButton.setPreferredSize(buttonSize);
         viewDetailsButton.setPreferredSize(buttonSize);
         updateCountButton.setPreferredSize(buttonSize);
         sellCardButton.setPreferredSize(buttonSize);
         addCardButton.setMaximumSize(buttonSize);
+        importButton.setMaximumSize(buttonSize);
         viewDetailsButton.setMaximumSize(buttonSize);
         updateCountButton.setMaximumSize(buttonSize);
         sellCardButton.setMaximumSize(buttonSize);
 
         actionButtonPanel.add(addCardButton);
         actionButtonPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        actionButtonPanel.add(importButton);
+        actionButtonPanel.add(Box.createRigidArea(new Dimension(0, 10)));
         actionButtonPanel.add(viewDetailsButton);
         actionButtonPanel.add(Box.createRigidArea(new Dimension(0, 10)));
         actionButtonPanel.add(updateCountButton);
@@ -137,34 +178,33 @@ public class CollectionPanel extends JPanel {
         add(bottomPanel, BorderLayout.SOUTH);
 
         cardList.addListSelectionListener(e -> updateButtonStates());
+        searchField.getDocument().addDocumentListener(
+                new TextChangeListener(this::refreshView));
         backButton.addActionListener(e -> mainFrame.showPanel("mainMenu"));
         addCardButton.addActionListener(e -> handleAddCard());
+        importButton.addActionListener(e -> handleImportCatalog());
         viewDetailsButton.addActionListener(e -> handleViewDetails());
         updateCountButton.addActionListener(e -> handleUpdateCount());
         sellCardButton.addActionListener(e -> handleSellCard());
 
-        updateButtonStates();
+        refreshView();
     }
 
     /**
-     * Refreshes the entire view. It re-fetches data from the backend, sorts
-     * it, and updates the UI components.
+     * Refreshes the entire view and updates the UI components. The list
+     * shows a live view of the backend's name-sorted cards, so nothing is
+     * copied and only the visible rows are read. While the search field
+     * holds text, only the cards whose names start with it are listed, in
+     * name order from the backend's prefix index.
      */
     public void refreshView() {
         int selectedIndex = cardList.getSelectedIndex();
+        String search = searchField.getText();
 
-        cardListModel.clear();
-        ArrayList<Card> cardTypes = inventory.getCardTypes();
-        HashMap<String, Integer> cardCounts = inventory.getCardCounts();
-
-        cardTypes.sort(Comparator.comparing(Card::getName));
-
-        for (Card card : cardTypes) {
-            int count = cardCounts.getOrDefault(
-                    card.getName().toLowerCase(), 0);
-            cardListModel.addElement(
-                    String.format("%s (Count: %d)", card.getName(), count));
-        }
+        if (search.isBlank())
+            cardListModel.setCards(cardsByName);
+        else
+            cardListModel.setCards(inventory.searchCards(search, SEARCH_LIMIT));
 
         if (selectedIndex >= 0 && selectedIndex < cardListModel.getSize())
             cardList.setSelectedIndex(selectedIndex);
@@ -172,6 +212,28 @@ public class CollectionPanel extends JPanel {
         updateButtonStates();
     }
 
+    /**
+     * Applies a batch of changes to the collection without rebuilding the
+     * list.
+     *
+     * <p>
+     * Count changes only repaint the visible rows, which read their counts
+     * when painted. New cards grow the live list to its new size. While a
+     * search is shown, its results are fetched again instead.
+     * </p>
+     *
+     * @param cardsAdded Whether new card types were registered in the batch.
+     */
+    public void applyChanges(boolean cardsAdded) {
+        if (cardsAdded && !searchField.getText().isBlank())
+            refreshView();
+        else if (cardsAdded)
+            cardListModel.refresh();
+
+        cardList.repaint();
+        updateButtonStates();
+    }
+
     /**
      * Enables or disables action buttons based on the current list selection
      * and card count.
@@ -184,9 +246,9 @@ public class CollectionPanel extends JPanel {
         updateCountButton.setEnabled(isSelected);
 
         if (isSelected) {
-            String selectedValue = cardListModel.getElementAt(selectedIndex);
-            String cardName = selectedValue.split(" \\(Count:")[0];
-            sellCardButton.setEnabled(inventory.isCardAvailable(cardName));
+            Card selectedCard = cardListModel.getElementAt(selectedIndex);
+            sellCardButton.setEnabled(
+                    inventory.getCardCount(selectedCard.getId()) > 0);
         } else {
             sellCardButton.setEnabled(false);
         }
@@ -237,7 +299,6 @@ public class CollectionPanel extends JPanel {
                     JOptionPane.showMessageDialog(mainFrame, "Card '" + name +
                             "' added successfully.", "Success",
                             JOptionPane.INFORMATION_MESSAGE);
-                    refreshView();
                 } else {
                     JOptionPane.showMessageDialog(mainFrame, "Failed to add " +
                             "card. Check name is unique and details are valid.",
@@ -250,24 +311,91 @@ public class CollectionPanel extends JPanel {
             }
     }
 
+    /**
+     * Handles the workflow for importing a CSV or TSV card catalog chosen
+     * with a file chooser. The import runs in the background with a
+     * cancellable progress dialog, and a summary is shown when it ends. The
+     * list fills in as the cards arrive.
+     */
+    private void handleImportCatalog() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Card Catalog");
+
+        if (chooser.showOpenDialog(mainFrame) != JFileChooser.APPROVE_OPTION)
+            return;
+
+        Path path = chooser.getSelectedFile().toPath();
+        importButton.setEnabled(false);
+
+        new BackgroundTask<ImportResult>(mainFrame,
+                "Importing " + path.getFileName() + "...",
+                monitor -> inventory.importCatalog(path, monitor),
+                this::showImportResult, this::showImportError).execute();
+    }
+
+    /**
+     * Reports a summary of a finished or cancelled import.
+     *
+     * @param result The outcome of the import.
+     */
+    private void showImportResult(ImportResult result) {
+        importButton.setEnabled(true);
+
+        StringBuilder summary = new StringBuilder(String.format(
+                "Rows read: %d\nCards added: %d\nCards updated: %d\n" +
+                        "Rows rejected: %d",
+                result.getRowsRead(), result.getCardsAdded(),
+                result.getCardsUpdated(), result.getErrorCount()));
+
+        if (result.isCancelled())
+            summary.insert(0, "The import was cancelled. Rows read before " +
+                    "then were kept.\n\n");
+
+        List<String> errors = result.getErrors();
+        for (int i = 0; i < Math.min(errors.size(), 10); i++)
+            summary.append("\n").append(errors.get(i));
+
+        if (errors.size() > 10)
+            summary.append("\n...");
+
+        JOptionPane.showMessageDialog(mainFrame, summary.toString(),
+                result.isCancelled() ? "Import Cancelled" : "Import Complete",
+                result.getErrorCount() == 0 && !result.isCancelled()
+                        ? JOptionPane.INFORMATION_MESSAGE
+                        : JOptionPane.WARNING_MESSAGE);
+    }
+
+    /**
+     * Reports an import that could not be completed.
+     *
+     * @param ex The exception that ended the import.
+     */
+    private void showImportError(Exception ex) {
+        importButton.setEnabled(true);
+        JOptionPane.showMessageDialog(mainFrame,
+                "Could not read the catalog: " + ex.getMessage(),
+                "Import Error", JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * Handles showing the details of the selected card in a message dialog.
      */
     private void handleViewDetails() {
-        String selectedValue = cardList.getSelectedValue();
-        if (selectedValue == null)
+        Card selectedCard = cardList.getSelectedValue();
+        if (selectedCard == null)
             return;
 
-        String cardName = selectedValue.split(" \\(Count:")[0];
+        String cardName = selectedCard.getName();
         Card card = inventory.findCard(cardName);
 
         if (card != null) {
             String details = String.format(
                     "Name: %s\nRarity: %s\nVariant: %s\nBase Value: $%.2f\n" +
-                            "Calculated Value: $%.2f",
+                            "Calculated Value: $%.2f\nIn Decks: %d",
                     card.getName(), card.getRarity().getDisplayName(),
                     card.getVariant().getDisplayName(), card.getBaseValue(),
-                    card.getCalculatedValue());
+                    card.getCalculatedValue(),
+                    inventory.countDecksContaining(card.getName()));
             JOptionPane.showMessageDialog(mainFrame, details,
                     "Card Details: " + card.getName(),
                     JOptionPane.INFORMATION_MESSAGE);
@@ -279,11 +407,11 @@ public class CollectionPanel extends JPanel {
      * selected card.
      */
     private void handleUpdateCount() {
-        String selectedValue = cardList.getSelectedValue();
-        if (selectedValue == null)
+        Card selectedCard = cardList.getSelectedValue();
+        if (selectedCard == null)
             return;
 
-        String cardName = selectedValue.split(" \\(Count:")[0];
+        String cardName = selectedCard.getName();
 
         Object[] options = { "Increase", "Decrease", "Cancel" };
         int action = JOptionPane.showOptionDialog(mainFrame,
@@ -310,7 +438,6 @@ public class CollectionPanel extends JPanel {
                         JOptionPane.showMessageDialog(mainFrame,
                                 "Count updated.", "Success",
                                 JOptionPane.INFORMATION_MESSAGE);
-                        refreshView();
                     } else {
                         JOptionPane.showMessageDialog(mainFrame, "Operation " +
                                 "failed. Not enough cards to decrease.", "Error",
@@ -328,11 +455,11 @@ public class CollectionPanel extends JPanel {
      * Handles the workflow for selling the selected card.
      */
     private void handleSellCard() {
-        String selectedValue = cardList.getSelectedValue();
-        if (selectedValue == null)
+        Card selectedCard = cardList.getSelectedValue();
+        if (selectedCard == null)
             return;
 
-        String cardName = selectedValue.split(" \\(Count:")[0];
+        String cardName = selectedCard.getName();
         Card cardToSell = inventory.findCard(cardName);
         if (cardToSell == null)
             return;
@@ -358,8 +485,6 @@ public class CollectionPanel extends JPanel {
                         JOptionPane.showMessageDialog(mainFrame,
                                 "Card sold successfully!", "Success",
                                 JOptionPane.INFORMATION_MESSAGE);
-                        refreshView();
-                        mainFrame.updateTotalMoney();
                     } else {
                         JOptionPane.showMessageDialog(mainFrame, "Failed to sell " +
                                 "card. Not enough copies available.", "Error",
@@ -6,14 +6,10 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
-import javax.swing.DefaultListModel;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JList;
@@ -60,25 +56,25 @@ public class DeckContentsPanel extends JPanel {
      * The data model for the JList that displays the cards contained within
      * the {@code currentDeck}.
      */
-    private DefaultListModel<String> deckListModel;
+    private CardListModel deckListModel;
 
     /**
      * The Swing component that visually displays the list of cards in the
      * current deck.
      */
-    private JList<String> deckCardList;
+    private JList<Card> deckCardList;
 
     /**
      * The data model for the JList that displays the cards available in the
-     * main collection.
+     * main collection. It reads rows from the backend on demand.
      */
-    private DefaultListModel<String> collectionListModel;
+    private CardListModel collectionListModel;
 
     /**
      * The Swing component that visually displays the list of cards available
      * in the main collection.
      */
-    private JList<String> collectionCardList;
+    private JList<Card> collectionCardList;
 
     /**
 
@@ -106,15 +102,21 @@ public class DeckContentsPanel extends JPanel {
 
         JPanel listsPanel = new JPanel(new GridLayout(1, 2, 10, 0));
 
-        deckListModel = new DefaultListModel<>();
+        deckListModel = new CardListModel();
         deckCardList = new JList<>(deckListModel);
         deckCardList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        new CardCellRenderer(inventory, null).install(deckCardList);
         JScrollPane deckScrollPane = new JScrollPane(deckCardList);
         listsPanel.add(deckScrollPane);
 
-        collectionListModel = new DefaultListModel<>();
+        // Every available card may go in a deck, so the list is one live
+        // view for all decks. It looks again only when a card becomes
+        // available or runs out.
+        collectionListModel = new CardListModel();
+        collectionListModel.setCards(inventory.getAvailableCardView((rarity, variant) -> true));
         collectionCardList = new JList<>(collectionListModel);
         collectionCardList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        new CardCellRenderer(inventory, "Available").install(collectionCardList);
         JScrollPane collectionScrollPane = new JScrollPane(collectionCardList);
         collectionScrollPane.setBorder(
                 BorderFactory.createTitledBorder("Available in Collection"));
@@ -177,37 +179,28 @@ public class DeckContentsPanel extends JPanel {
         }
 
         deckTitleLabel.setText("Managing: " + currentDeck.getName());
+
+        // The deck keeps its cards in name order, so the list shows them
+        // straight from the deck without sorting or copying.
+        deckListModel.setCards(currentDeck.getCardsByName());
         refreshView();
     }
 
     /**
      * Refreshes both card lists by fetching the latest data from the backend.
+     * The MainFrame also calls this, at most once per frame, while the panel
+     * is shown and the inventory changes.
      */
-    private void refreshView() {
+    public void refreshView() {
         if (currentDeck == null)
             return;
 
-        deckListModel.clear();
-        ArrayList<Card> deckCards = currentDeck.getCards();
-        deckCards.sort(Comparator.comparing(Card::getName));
-
-        for (Card card : deckCards)
-            deckListModel.addElement(card.getName());
-
-        collectionListModel.clear();
-        ArrayList<Card> collectionCards = inventory.getCardTypes();
-        HashMap<String, Integer> counts = inventory.getCardCounts();
-        collectionCards.sort(Comparator.comparing(Card::getName));
-
-        for (Card card : collectionCards) {
-            int count = counts.getOrDefault( card.getName().toLowerCase(), 0);
-
-            if (count > 0) {
-                collectionListModel.addElement(
-                    String.format("%s (Available: %d)", card.getName(), count)
-                );
-            }
-        }
+        // Both lists are live views, so a refresh only reports rows added or
+        // removed. Counts shown in rows that stay are read when painted.
+        deckListModel.refresh();
+        collectionListModel.refresh();
+        deckCardList.repaint();
+        collectionCardList.repaint();
 
         JScrollPane deckScrollPane =
             (JScrollPane) deckCardList.getParent().getParent();
@@ -217,7 +210,7 @@ public class DeckContentsPanel extends JPanel {
                 "Cards in Deck (" +
                 currentDeck.getCardCount() +
                 "/" +
-                Deck.MAX_CAPACITY +
+                currentDeck.getCapacity() +
                 ")")
         );
     }
@@ -226,9 +219,9 @@ public class DeckContentsPanel extends JPanel {
      * Handles the logic for moving a card from the collection to the deck.
      */
     private void handleAddCard() {
-        String selectedValue = collectionCardList.getSelectedValue();
+        Card selectedCard = collectionCardList.getSelectedValue();
 
-        if (selectedValue == null) {
+        if (selectedCard == null) {
             JOptionPane.showMessageDialog(
                 this,
                 "Please select a card from the 'Available in Collection' list.",
@@ -239,8 +232,8 @@ public class DeckContentsPanel extends JPanel {
             return;
         }
 
-        String cardName = selectedValue.split(" \\(")[0];
-        int result = inventory.addCardToDeck(cardName, currentDeck.getName());
+        int result = inventory.addCardToDeck(
+                selectedCard.getId(), currentDeck.getName());
 
         if (result != 0) {
             String error = "An unknown error occurred.";
@@ -257,6 +250,9 @@ public class DeckContentsPanel extends JPanel {
             if (result == 1)
                 error = "Card or Deck not found.";
 
+            if (result == InventorySystem.READ_ONLY)
+                error = "The inventory is read-only because changes can no longer be saved.";
+
             JOptionPane.showMessageDialog(
                 this,
                 error,
@@ -270,13 +266,13 @@ public class DeckContentsPanel extends JPanel {
 
     /**
      * Handles the logic for moving a card from the deck back to the
-     * collection. It correctly finds the original index of the card to prevent
-     * sorting-related bugs.
+     * collection. The selected row addresses the card by its slot, so the
+     * sorted display order does not matter.
      */
     private void handleRemoveCard() {
-        String selectedValue = deckCardList.getSelectedValue();
+        Card selectedCard = deckCardList.getSelectedValue();
 
-        if (selectedValue == null) {
+        if (selectedCard == null) {
             JOptionPane.showMessageDialog(
                 this,
                 "Please select a card from the 'Cards in Deck' list.",
@@ -287,20 +283,14 @@ public class DeckContentsPanel extends JPanel {
             return;
         }
 
-        int originalIndex = -1;
-        ArrayList<Card> originalCards =
-            inventory.findDeck(currentDeck.getName()).getCards();
-
-        for (int i = 0; i < originalCards.size(); i++) {
-            if (originalCards.get(i).getName().equals(selectedValue)) {
-                originalIndex = i;
-                break;
-            }
-        }
+        int selectedViewIndex = deckCardList.getSelectedIndex();
+        int slot = (selectedViewIndex >= 0 && selectedViewIndex < currentDeck.getCardCount())
+                   ? currentDeck.getSlotByName(selectedViewIndex)
+                   : -1;
 
-        if (originalIndex != -1 &&
+        if (slot != -1 && currentDeck.getCardAt(slot) == selectedCard &&
             inventory.removeCardFromDeck(
-                originalIndex,
+                slot,
                 currentDeck.getName()
             )
         ) {
@@ -7,7 +7,6 @@ import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
 import java.util.ArrayList;
-import java.util.Comparator;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -20,13 +19,14 @@ import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingConstants;
 
 import com.tcis.InventorySystem;
 import com.tcis.gui.main.MainFrame;
-import com.tcis.models.card.Card;
 import com.tcis.models.deck.Deck;
 
 /**
@@ -149,23 +149,24 @@ public class DeckPanel extends JPanel {
         deleteButton.addActionListener(e -> handleDelete());
         sellButton.addActionListener(e -> handleSell());
 
-        updateButtonStates();
+        refreshView();
     }
 
     /**
      * Public method to refresh the entire view. It re-fetches data from the
-     * backend and updates the UI components.
+     * backend and updates the UI components. The MainFrame calls this, at
+     * most once per frame, whenever a deck is created, deleted, sold, or has
+     * cards moved into or out of it.
      */
     public void refreshView() {
         int selectedIndex = deckList.getSelectedIndex();
 
         deckListModel.clear();
-        ArrayList<Deck> decks = inventory.getDecks();
-        decks.sort(Comparator.comparing(Deck::getName));
+        ArrayList<Deck> decks = inventory.getDecksByName();
         for (Deck deck : decks) {
             String type = deck.isSellable() ? "Sellable" : "Normal";
             deckListModel.addElement(String.format("%s (%s) [%d/%d]",
-                    deck.getName(), type, deck.getCardCount(), Deck.MAX_CAPACITY));
+                    deck.getName(), type, deck.getCardCount(), deck.getCapacity()));
         }
 
         if (selectedIndex >= 0 && selectedIndex < deckListModel.getSize())
@@ -198,15 +199,19 @@ public class DeckPanel extends JPanel {
      * Handles the workflow for creating a new deck using a custom JOptionPane.
      */
     private void handleCreate() {
-        JPanel panel = new JPanel(new GridLayout(2, 2, 5, 5));
+        JPanel panel = new JPanel(new GridLayout(3, 2, 5, 5));
         JTextField nameField = new JTextField();
         String[] deckTypes = { "Normal", "Sellable" };
         JComboBox<String> typeComboBox = new JComboBox<>(deckTypes);
+        JSpinner capacitySpinner = new JSpinner(new SpinnerNumberModel(
+                Deck.DEFAULT_CAPACITY, 1, Integer.MAX_VALUE, 1));
 
         panel.add(new JLabel("Deck Name:"));
         panel.add(nameField);
         panel.add(new JLabel("Deck Type:"));
         panel.add(typeComboBox);
+        panel.add(new JLabel("Capacity:"));
+        panel.add(capacitySpinner);
 
         int result = JOptionPane.showConfirmDialog(mainFrame, panel,
                 "Create New Deck", JOptionPane.OK_CANCEL_OPTION,
@@ -215,12 +220,12 @@ public class DeckPanel extends JPanel {
         if (result == JOptionPane.OK_OPTION) {
             String name = nameField.getText();
             String type = (String) typeComboBox.getSelectedItem();
+            int capacity = (Integer) capacitySpinner.getValue();
 
-            if (inventory.createDeck(name, type)) {
+            if (inventory.createDeck(name, type, capacity)) {
                 JOptionPane.showMessageDialog(mainFrame, "Deck '" + name +
                         "' created successfully.", "Success",
                         JOptionPane.INFORMATION_MESSAGE);
-                refreshView();
             } else {
                 JOptionPane.showMessageDialog(mainFrame, "Failed to create " +
                         "deck. The name might be blank or already exist.",
@@ -259,16 +264,30 @@ public class DeckPanel extends JPanel {
                 JOptionPane.WARNING_MESSAGE);
 
         if (choice == JOptionPane.YES_OPTION) {
-            if (inventory.deleteDeck(deckName)) {
-                JOptionPane.showMessageDialog(mainFrame,
-                        "Deck deleted successfully.", "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                refreshView();
-            } else {
-                JOptionPane.showMessageDialog(mainFrame,
-                        "Failed to delete the deck.", "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            // Returning every card of the deck to the collection runs in the
+            // background. It has no safe point to stop at, so it always runs
+            // to the end.
+            new BackgroundTask<Boolean>(mainFrame,
+                    "Deleting deck '" + deckName + "'...",
+                    monitor -> inventory.deleteDeck(deckName),
+                    this::showDeleteResult, this::showTaskError).execute();
+        }
+    }
+
+    /**
+     * Reports whether a deck was deleted.
+     *
+     * @param deleted Whether the deck was deleted.
+     */
+    private void showDeleteResult(boolean deleted) {
+        if (deleted) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Deck deleted successfully.", "Success",
+                    JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Failed to delete the deck.", "Error",
+                    JOptionPane.ERROR_MESSAGE);
         }
     }
 
@@ -285,9 +304,7 @@ public class DeckPanel extends JPanel {
         if (deck == null)
             return;
 
-        double price = 0;
-        for (Card card : deck.getCards())
-            price += card.getCalculatedValue();
+        double price = deck.getTotalValueCents() / 100.0;
 
         int choice = JOptionPane.showConfirmDialog(
                 mainFrame,
@@ -297,17 +314,40 @@ public class DeckPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION);
 
         if (choice == JOptionPane.YES_OPTION) {
-            if (inventory.sellDeck(deckName)) {
-                JOptionPane.showMessageDialog(mainFrame,
-                        "Deck sold successfully!", "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                refreshView();
-                mainFrame.updateTotalMoney();
-            } else {
-                JOptionPane.showMessageDialog(mainFrame,
-                        "Failed to sell the deck.", "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            // The sale runs in the background. It is all or nothing, so it
+            // always runs to the end.
+            new BackgroundTask<Boolean>(mainFrame,
+                    "Selling deck '" + deckName + "'...",
+                    monitor -> inventory.sellDeck(deckName),
+                    this::showSellResult, this::showTaskError).execute();
         }
     }
+
+    /**
+     * Reports whether a deck was sold.
+     *
+     * @param sold Whether the deck was sold.
+     */
+    private void showSellResult(boolean sold) {
+        if (sold) {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Deck sold successfully!", "Success",
+                    JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Failed to sell the deck.", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Reports a deck operation that ended with an exception.
+     *
+     * @param ex The exception that ended the operation.
+     */
+    private void showTaskError(Exception ex) {
+        JOptionPane.showMessageDialog(mainFrame,
+                "An error occurred: " + ex.getMessage(), "Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
 }
@@ -0,0 +1,54 @@
+package com.tcis.gui.panels;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+/**
+ * A DocumentListener that runs a single action whenever the text of a
+ * document is inserted or removed, so that text fields can react as the user
+ * types.
+ */
+public class TextChangeListener implements DocumentListener {
+    /**
+     * The action to run after every change to the text.
+     */
+    private final Runnable onChange;
+
+    /**
+     * Constructs a listener that runs the given action on every text change.
+     *
+     * @param onChange The action to run.
+     */
+    public TextChangeListener(Runnable onChange) {
+        this.onChange = onChange;
+    }
+
+    /**
+     * Runs the action after text is inserted.
+     *
+     * @param e The document event.
+     */
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        onChange.run();
+    }
+
+    /**
+     * Runs the action after text is removed.
+     *
+     * @param e The document event.
+     */
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        onChange.run();
+    }
+
+    /**
+     * Ignores attribute changes, which plain text fields do not make.
+     *
+     * @param e The document event.
+     */
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+    }
+}
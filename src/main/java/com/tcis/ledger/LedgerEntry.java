@@ -0,0 +1,82 @@
+package com.tcis.ledger;
+
+/**
+ * Represents one immutable sale recorded in the MoneyLedger.
+ *
+ * <p>
+ * Amounts are kept in whole cents so that summing millions of entries never
+ * drifts the way floating-point dollars do.
+ * </p>
+ */
+public class LedgerEntry {
+    /**
+     * The kind of item that was sold.
+     */
+    private final SaleType type;
+
+    /**
+     * The name of the card, binder or deck that was sold.
+     */
+    private final String itemName;
+
+    /**
+     * The number of items sold together in this sale.
+     */
+    private final int quantity;
+
+    /**
+     * The total amount received for the sale, in cents.
+     */
+    private final long amountCents;
+
+    /**
+     * Constructs a new ledger entry.
+     *
+     * @param type        The kind of item that was sold.
+     * @param itemName    The name of the item that was sold.
+     * @param quantity    The number of items sold.
+     * @param amountCents The total amount received, in cents.
+     */
+    public LedgerEntry(SaleType type, String itemName, int quantity, long amountCents) {
+        this.type = type;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.amountCents = amountCents;
+    }
+
+    /**
+     * Gets the kind of item that was sold.
+     *
+     * @return The SaleType of the entry.
+     */
+    public SaleType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the name of the item that was sold.
+     *
+     * @return The card, binder or deck name.
+     */
+    public String getItemName() {
+        return this.itemName;
+    }
+
+    /**
+     * Gets the number of items sold.
+     *
+     * @return The quantity.
+     */
+    public int getQuantity() {
+        return this.quantity;
+    }
+
+    /**
+     * Gets the total amount received for the sale.
+     *
+     * @return The amount, in cents.
+     */
+    public long getAmountCents() {
+        return this.amountCents;
+    }
+}
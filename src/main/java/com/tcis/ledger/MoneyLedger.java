@@ -0,0 +1,84 @@
+package com.tcis.ledger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records every sale made by the player and keeps their running balance.
+ *
+ * <p>
+ * All amounts are whole cents held in longs, so the balance is exact no
+ * matter how many sales are recorded. The balance is a LongAdder, which lets
+ * many threads record sales at once without contending on a single counter.
+ * The entry list is only locked for the short append itself.
+ * </p>
+ */
+public class MoneyLedger {
+    /**
+     * The running total of every recorded sale, in cents.
+     */
+    private final LongAdder balanceCents;
+
+    /**
+     * Every recorded sale, in the order it was recorded.
+     */
+    private final ArrayList<LedgerEntry> entries;
+
+    /**
+     * Constructs a new, empty ledger with a zero balance.
+     */
+    public MoneyLedger() {
+        this.balanceCents = new LongAdder();
+        this.entries = new ArrayList<>();
+    }
+
+    /**
+     * Records a sale and adds its amount to the balance.
+     *
+     * @param type        The kind of item that was sold.
+     * @param itemName    The name of the item that was sold.
+     * @param quantity    The number of items sold.
+     * @param amountCents The total amount received, in cents.
+     */
+    public void recordSale(SaleType type, String itemName, int quantity, long amountCents) {
+        LedgerEntry entry = new LedgerEntry(type, itemName, quantity, amountCents);
+
+        synchronized (entries) {
+            entries.add(entry);
+        }
+
+        balanceCents.add(amountCents);
+    }
+
+    /**
+     * Gets the player's total money.
+     *
+     * @return The sum of all recorded sales, in cents.
+     */
+    public long getBalanceCents() {
+        return balanceCents.sum();
+    }
+
+    /**
+     * Gets the number of recorded sales.
+     *
+     * @return The entry count.
+     */
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets a copy of every recorded sale, oldest first.
+     *
+     * @return A read-only list of ledger entries.
+     */
+    public List<LedgerEntry> getEntries() {
+        synchronized (entries) {
+            return List.copyOf(entries);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.tcis.ledger;
+
+/**
+ * Represents the kinds of sale that can be recorded in the MoneyLedger.
+ */
+public enum SaleType {
+    /**
+     * One or more copies of a single card sold from the collection.
+     */
+    CARD("Card"),
+
+    /**
+     * A whole sellable binder.
+     */
+    BINDER("Binder"),
+
+    /**
+     * A whole sellable deck.
+     */
+    DECK("Deck");
+
+    /**
+     * The user-friendly string representation of the sale type.
+     */
+    private final String displayName;
+
+    /**
+     * Private constructor to initialize each enum constant with its display
+     * name.
+     *
+     * @param displayName The user-friendly name of the sale type.
+     */
+    SaleType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the user-friendly display name of the sale type.
+     *
+     * @return The display name string (e.g., "Card", "Binder").
+     */
+    public String getDisplayName() {
+        return this.displayName;
+    }
+}
@@ -1,8 +1,18 @@
 package com.tcis.models.binder;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.ValueBreakdown;
+import com.tcis.models.card.Variant;
+import com.tcis.util.SlotTable;
+import com.tcis.util.SortedIndex;
+import com.tcis.util.SortedSlotView;
 
 /**
  * An abstract superclass representing the fundamental structure and behavior
@@ -14,13 +24,26 @@ import com.tcis.models.card.Card;
  * implemented by concrete subclasses to enforce specific rules regarding card
  * eligibility, sellability, trading, and price calculation.
  * </p>
+ *
+ * <p>
+ * Each binder has its own capacity, chosen when it is created, so a binder
+ * may stand for anything from a 20-pocket page set to a storage box of tens
+ * of thousands of cards. Every card sits in a numbered slot, like a pocket
+ * on a binder page, which stays the same while the card is in the binder.
+ * The slot is the card's handle: removing or trading a card addresses it by
+ * slot in constant time, and nothing else moves. A new card goes into the
+ * lowest empty slot, so slots always run from 0 to one less than the
+ * capacity. The value of the cards is kept as a running total, and the
+ * occupied slots are also kept ordered by card name, so the binder can be
+ * listed alphabetically without sorting it.
+ * </p>
  */
 public abstract class Binder {
     /**
-     * A public constant representing the maximum number of cards a binder can
-     * hold.
+     * A public constant representing the number of cards a binder can hold
+     * when no other capacity is given.
      */
-    public static final int MAX_CAPACITY = 20;
+    public static final int DEFAULT_CAPACITY = 20;
 
     /**
      * The name of the binder, accessible by subclasses.
@@ -28,25 +51,79 @@ public abstract class Binder {
     protected final String name;
 
     /**
-     * The internal list of cards, accessible by subclasses.
+     * The cards in the binder, by slot, accessible by subclasses.
      */
-    protected final ArrayList<Card> cards;
+    protected final SlotTable<Card> cards;
 
     /**
-     * Constructs a new Binder, validating the name. This is called by all
-     * subclass constructors.
+     * A read-only view of {@code cards}, returned by {@code getCards}.
+     */
+    private final Collection<Card> cardsView;
+
+    /**
+     * The occupied slots, ordered by the name of the card in each and then
+     * by slot number. It is updated by {@code addCard}, {@code addCardAt}
+     * and {@code removeCard}.
+     */
+    private final SortedIndex<Integer> slotsByName;
+
+    /**
+     * A read-only view of the cards in name order, returned by
+     * {@code getCardsByName}.
+     */
+    private final SortedSlotView<Card> cardsByName;
+
+    /**
+     * The maximum number of cards this binder can hold.
+     */
+    private final int capacity;
+
+    /**
+     * The running value of every card in the binder, by rarity and variant.
+     * It is updated by {@code addCard} and {@code removeCard} so that prices
+     * never rescan the cards.
+     */
+    private final ValueBreakdown value;
+
+    /**
+     * Constructs a new Binder with the default capacity, validating the name.
      *
      * @param name The name for the binder. Cannot be null or blank.
      * @throws IllegalArgumentException if the name is invalid.
      */
     public Binder(String name) {
+        this(name, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new Binder, validating the name and capacity. This is
+     * called by all subclass constructors.
+     *
+     * @param name     The name for the binder. Cannot be null or blank.
+     * @param capacity The maximum number of cards the binder can hold. Must
+     *                 be at least 1.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
+     */
+    public Binder(String name, int capacity) {
         if (name == null || name.trim().isEmpty())
             throw new IllegalArgumentException(
                 "Binder name cannot be null or blank."
             );
 
+        if (capacity < 1)
+            throw new IllegalArgumentException(
+                "Binder capacity must be at least 1."
+            );
+
         this.name = name.trim();
-        this.cards = new ArrayList<>();
+        this.capacity = capacity;
+        this.cards = new SlotTable<>();
+        this.cardsView = Collections.unmodifiableCollection(this.cards);
+        this.slotsByName = new SortedIndex<>(
+                Comparator.comparing((Integer slot) -> this.cards.get(slot).getName())
+                          .thenComparing(Comparator.naturalOrder()));
+        this.cardsByName = new SortedSlotView<>(this.cards, this.slotsByName, this);
+        this.value = new ValueBreakdown();
     }
 
     /**
@@ -59,13 +136,78 @@ public abstract class Binder {
     }
 
     /**
-     * Returns a defensive copy of the cards list to protect the internal
-     * state.
+     * Gets the cards in this binder, in slot order, without copying them.
+     *
+     * <p>
+     * The collection is a read-only view that follows later changes to the
+     * binder. Like the binder itself, it must only be read while holding the
+     * binder's monitor or on the thread that changes it; callers that keep
+     * or sort the cards should copy them first.
+     * </p>
+     *
+     * @return A read-only view of the cards in this binder.
+     */
+    public Collection<Card> getCards() {
+        return this.cardsView;
+    }
+
+    /**
+     * Gets the cards in this binder, in name order, without copying or
+     * sorting them.
+     *
+     * <p>
+     * The list is a read-only view that follows later changes to the binder.
+     * Each read holds the binder's monitor, so it may be read from any
+     * thread, and a list model can show it directly.
+     * </p>
+     *
+     * @return A read-only view of the cards in this binder, by name.
+     */
+    public List<Card> getCardsByName() {
+        return this.cardsByName;
+    }
+
+    /**
+     * Gets the slot of the card at a position of {@code getCardsByName}.
+     *
+     * @param position The zero-based position in name order.
+     * @return The slot of the card at that position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    public int getSlotByName(int position) {
+        return this.cardsByName.getSlot(position);
+    }
+
+    /**
+     * Gets the position of the card in a slot within {@code getCardsByName}.
+     *
+     * @param slot The slot of the card.
+     * @return The zero-based position in name order, or -1 if the slot is
+     *         empty.
+     */
+    public int getPositionByName(int slot) {
+        return this.cardsByName.indexOfSlot(slot);
+    }
+
+    /**
+     * Gets the card in a slot.
      *
-     * @return A new ArrayList containing the cards in this binder.
+     * @param slot The slot number.
+     * @return The card in that slot, or null if the slot is empty or out of
+     *         range.
      */
-    public ArrayList<Card> getCards() {
-        return new ArrayList<>(this.cards);
+    public Card getCardAt(int slot) {
+        return this.cards.get(slot);
+    }
+
+    /**
+     * Gets the slots that hold a card, in ascending order. Like
+     * {@code getCards}, the stream reads the binder as it is consumed.
+     *
+     * @return A stream of the occupied slot numbers.
+     */
+    public IntStream getSlots() {
+        return this.cards.slots();
     }
 
     /**
@@ -77,6 +219,15 @@ public abstract class Binder {
         return this.cards.size();
     }
 
+    /**
+     * Gets the maximum number of cards this binder can hold.
+     *
+     * @return The binder's capacity.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
     /**
      * Checks if the binder has reached its maximum capacity.
      *
@@ -84,7 +235,7 @@ public abstract class Binder {
      *         otherwise.
      */
     public boolean isFull() {
-        return this.cards.size() >= MAX_CAPACITY;
+        return this.cards.size() >= this.capacity;
     }
 
     /**
@@ -102,7 +253,10 @@ public abstract class Binder {
      */
     public boolean addCard(Card card) {
         if (!isFull() && canAddCard(card)) {
+            int slot = this.cards.firstFreeSlot();
             this.cards.add(card);
+            this.slotsByName.add(slot);
+            this.value.add(card, 1);
             return true;
         }
 
@@ -110,17 +264,56 @@ public abstract class Binder {
     }
 
     /**
-     * Removes a card from a specific index in the binder.
+     * Attempts to add a card to a particular empty slot, as when a traded
+     * card takes the place of the one given up or a saved layout is
+     * restored.
      *
-     * @param index The zero-based index of the card to remove.
-     * @return The removed Card object if the index was valid, or null if it
-     *         was out of bounds.
+     * @param slot The slot to place the card in.
+     * @param card The Card object to add.
+     * @return true if the card was successfully added, false if the slot was
+     *         taken or out of range, the binder was full, or the card
+     *         violated the binder's rules.
+     */
+    public boolean addCardAt(int slot, Card card) {
+        if (slot < 0 || slot >= this.capacity || isFull() || !canAddCard(card))
+            return false;
+
+        if (!this.cards.put(slot, card))
+            return false;
+
+        this.slotsByName.add(slot);
+        this.value.add(card, 1);
+        return true;
+    }
+
+    /**
+     * Removes the card in a slot. No other card changes slot.
+     *
+     * @param slot The slot of the card to remove.
+     * @return The removed Card object, or null if the slot was empty or out
+     *         of range.
      */
-    public Card removeCard(int index) {
-        if (index >= 0 && index < this.cards.size())
-            return this.cards.remove(index);
+    public Card removeCard(int slot) {
+        // The index finds the slot by its card's name, so it must go first.
+        if (this.cards.get(slot) != null)
+            this.slotsByName.remove(slot);
+
+        Card removed = this.cards.remove(slot);
+        if (removed != null)
+            this.value.add(removed, -1);
 
-        return null;
+        return removed;
+    }
+
+    /**
+     * Checks whether a card is allowed in this binder type. The rules only
+     * depend on the card's rarity and variant, see {@code accepts}.
+     *
+     * @param card The card to check for eligibility.
+     * @return true if the card is allowed in this binder, false otherwise.
+     */
+    public boolean canAddCard(Card card) {
+        return accepts(card.getRarity(), card.getVariant());
     }
 
     /**
@@ -128,10 +321,18 @@ public abstract class Binder {
      * added to this binder type. Each subclass must provide its own
      * implementation.
      *
-     * @param card The card to check for eligibility.
-     * @return true if the card is allowed in this binder, false otherwise.
+     * <p>
+     * The rules are expressed over a card's rarity and variant alone, so
+     * that the eligible cards can be found from the collection's rarity and
+     * variant indexes without examining every card.
+     * </p>
+     *
+     * @param rarity  The rarity to check.
+     * @param variant The variant to check.
+     * @return true if cards of that rarity and variant are allowed in this
+     *         binder, false otherwise.
      */
-    public abstract boolean canAddCard(Card card);
+    public abstract boolean accepts(Rarity rarity, Variant variant);
 
     /**
      * An abstract method to define if this binder type can be sold as a whole
@@ -150,10 +351,40 @@ public abstract class Binder {
     public abstract boolean canTrade();
 
     /**
-     * An abstract method to calculate the sale price of the binder.
+     * An abstract method to calculate the sale price of the binder in cents.
      * For non-sellable binders, this should return 0.
      *
+     * @return The total sale price of the binder, including any fees, in
+     *         cents.
+     */
+    public abstract long calculatePriceCents();
+
+    /**
+     * Calculates the sale price of the binder in dollars, for display.
+     *
      * @return The total sale price of the binder, including any fees.
      */
-    public abstract double calculatePrice();
+    public double calculatePrice() {
+        return calculatePriceCents() / 100.0;
+    }
+
+    /**
+     * Gets the total real value of all cards currently in the binder. The
+     * total is kept up to date as cards are added and removed, so this takes
+     * constant time.
+     *
+     * @return The total value of the binder's cards, in cents.
+     */
+    public long getTotalCardValueCents() {
+        return this.value.getTotalCents();
+    }
+
+    /**
+     * Gets the value of the binder's cards broken down by rarity and variant.
+     *
+     * @return A copy of the binder's current value breakdown.
+     */
+    public ValueBreakdown getValueBreakdown() {
+        return this.value.copy();
+    }
 }
@@ -1,6 +1,5 @@
 package com.tcis.models.binder;
 
-import com.tcis.models.card.Card;
 import com.tcis.models.card.Rarity;
 import com.tcis.models.card.Variant;
 
@@ -25,19 +24,32 @@ public class CollectorBinder extends Binder {
     }
 
     /**
-     * Determines if a card can be added based on collector rules.
+     * Constructs a new CollectorBinder that holds up to a given number of cards.
      *
-     * @param card The card to check.
-     * @return true only if the card is Rare or Legendary AND its variant is
+     * @param name     The name for the binder.
+     * @param capacity The maximum number of cards the binder can hold.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
+     */
+    public CollectorBinder(String name, int capacity) {
+        super(name, capacity);
+    }
+
+    /**
+     * Determines if cards of a rarity and variant can be added based on
+     * collector rules.
+     *
+     * @param rarity  The rarity to check.
+     * @param variant The variant to check.
+     * @return true only if the rarity is Rare or Legendary AND the variant is
      *         not Normal.
      */
-    public boolean canAddCard(Card card) {
+    public boolean accepts(Rarity rarity, Variant variant) {
         boolean isHighRarity = (
-            card.getRarity() == Rarity.RARE ||
-            card.getRarity() == Rarity.LEGENDARY
+            rarity == Rarity.RARE ||
+            rarity == Rarity.LEGENDARY
         );
 
-        boolean isSpecialVariant = (card.getVariant() != Variant.NORMAL);
+        boolean isSpecialVariant = (variant != Variant.NORMAL);
 
         return isHighRarity && isSpecialVariant;
     }
@@ -61,11 +73,11 @@ public class CollectorBinder extends Binder {
     }
 
     /**
-     * Calculates the sale price.
+     * Calculates the sale price in cents.
      *
-     * @return 0.0, as this binder cannot be sold.
+     * @return 0, as this binder cannot be sold.
      */
-    public double calculatePrice() {
-        return 0.0;
+    public long calculatePriceCents() {
+        return 0;
     }
 }
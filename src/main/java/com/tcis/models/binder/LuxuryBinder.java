@@ -1,6 +1,6 @@
 package com.tcis.models.binder;
 
-import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
 import com.tcis.models.card.Variant;
 
 /**
@@ -15,10 +15,10 @@ import com.tcis.models.card.Variant;
  */
 public class LuxuryBinder extends SellableBinder {
     /**
-     * Stores the custom price set by the user. A value of 0.0 indicates that
-     * no custom price has been set.
+     * Stores the custom price set by the user, in cents. A value of 0
+     * indicates that no custom price has been set.
      */
-    private double customPrice;
+    private long customPriceCents;
 
     /**
      * Constructs a new LuxuryBinder. The custom price is initially 0.
@@ -27,44 +27,68 @@ public class LuxuryBinder extends SellableBinder {
      */
     public LuxuryBinder(String name) {
         super(name);
-        this.customPrice = 0.0;
+        this.customPriceCents = 0;
     }
 
     /**
-     * Determines if a card can be added based on luxury rules.
+     * Constructs a new LuxuryBinder that holds up to a given number of
+     * cards. The custom price is initially 0.
      *
-     * @param card The card to check.
-     * @return true only if the card's variant is not Normal.
+     * @param name     The name for the binder.
+     * @param capacity The maximum number of cards the binder can hold.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
      */
-    public boolean canAddCard(Card card) {
-        return card.getVariant() != Variant.NORMAL;
+    public LuxuryBinder(String name, int capacity) {
+        super(name, capacity);
+        this.customPriceCents = 0;
     }
 
     /**
-     * Calculates the total real value of all cards currently in the binder.
-     * This is used as a minimum baseline for setting the custom price.
+     * Determines if cards of a rarity and variant can be added based on
+     * luxury rules.
      *
-     * @return The sum of the calculated values of all cards.
+     * @param rarity  The rarity to check.
+     * @param variant The variant to check.
+     * @return true only if the variant is not Normal.
      */
-    private double getTotalCardValue() {
-        double totalValue = 0.0;
-
-        for (Card card : this.cards)
-            totalValue += card.getCalculatedValue();
+    public boolean accepts(Rarity rarity, Variant variant) {
+        return variant != Variant.NORMAL;
+    }
 
-        return totalValue;
+    /**
+     * Gets the custom price set by the user.
+     *
+     * @return The custom price in cents, or 0 if none has been set.
+     */
+    public long getCustomPriceCents() {
+        return this.customPriceCents;
     }
 
     /**
-     * Sets a custom price for the binder. The price is only set if it is not
-     * lower than the total real value of the cards contained within.
+     * Sets a custom price for the binder. The price is rounded to whole cents
+     * and is only set if it is not lower than the total real value of the
+     * cards contained within.
      *
      * @param price The desired custom price.
      * @return true if the price was successfully set, false otherwise.
      */
     public boolean setPrice(double price) {
-        if (price >= getTotalCardValue()) {
-            this.customPrice = price;
+        if (!Double.isFinite(price))
+            return false;
+
+        return setPriceCents(Math.round(price * 100));
+    }
+
+    /**
+     * Sets a custom price for the binder in cents. The price is only set if it
+     * is not lower than the total real value of the cards contained within.
+     *
+     * @param priceCents The desired custom price, in cents.
+     * @return true if the price was successfully set, false otherwise.
+     */
+    public boolean setPriceCents(long priceCents) {
+        if (priceCents >= getTotalCardValueCents()) {
+            this.customPriceCents = priceCents;
             return true;
         }
 
@@ -80,13 +104,13 @@ public class LuxuryBinder extends SellableBinder {
      * real value of the cards plus a 10% handling fee.
      * </p>
      *
-     * @return The final sale price of the binder.
+     * @return The final sale price of the binder, in cents.
      */
-    public double calculatePrice() {
-        double basePrice = (this.customPrice > 0)
-                            ? this.customPrice
-                            : getTotalCardValue();
+    public long calculatePriceCents() {
+        long basePrice = (this.customPriceCents > 0)
+                         ? this.customPriceCents
+                         : getTotalCardValueCents();
 
-        return basePrice * 1.10;
+        return withHandlingFee(basePrice);
     }
 }
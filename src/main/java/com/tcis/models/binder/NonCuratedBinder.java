@@ -1,6 +1,7 @@
 package com.tcis.models.binder;
 
-import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
 
 /**
  * Represents a basic, non-specialized binder with no restrictions on its
@@ -23,14 +24,27 @@ public class NonCuratedBinder extends Binder {
     }
 
     /**
-     * Determines if a card can be added. For a Non-Curated Binder, any card is
-     * allowed.
+     * Constructs a new NonCuratedBinder that holds up to a given number of cards.
      *
-     * @param card The card to check (is not used, but required by the
-     *             superclass contract).
+     * @param name     The name for the binder.
+     * @param capacity The maximum number of cards the binder can hold.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
+     */
+    public NonCuratedBinder(String name, int capacity) {
+        super(name, capacity);
+    }
+
+    /**
+     * Determines if cards of a rarity and variant can be added. For a
+     * Non-Curated Binder, any card is allowed.
+     *
+     * @param rarity  The rarity to check (is not used, but required by the
+     *                superclass contract).
+     * @param variant The variant to check (is not used, but required by the
+     *                superclass contract).
      * @return always true, as there are no restrictions.
      */
-    public boolean canAddCard(Card card) {
+    public boolean accepts(Rarity rarity, Variant variant) {
         return true;
     }
 
@@ -53,11 +67,11 @@ public class NonCuratedBinder extends Binder {
     }
 
     /**
-     * Calculates the sale price.
+     * Calculates the sale price in cents.
      *
-     * @return 0.0, as this binder cannot be sold.
+     * @return 0, as this binder cannot be sold.
      */
-    public double calculatePrice() {
-        return 0.0;
+    public long calculatePriceCents() {
+        return 0;
     }
 }
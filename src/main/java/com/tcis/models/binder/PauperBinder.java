@@ -1,7 +1,7 @@
 package com.tcis.models.binder;
 
-import com.tcis.models.card.Card;
 import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
 
 /**
  * Represents a sellable binder that can only contain Common and Uncommon
@@ -24,27 +24,36 @@ public class PauperBinder extends SellableBinder {
     }
 
     /**
-     * Determines if a card can be added based on pauper rules.
+     * Constructs a new PauperBinder that holds up to a given number of cards.
      *
-     * @param card The card to check.
-     * @return true only if the card's rarity is Common or Uncommon.
+     * @param name     The name for the binder.
+     * @param capacity The maximum number of cards the binder can hold.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
      */
-    public boolean canAddCard(Card card) {
-        return card.getRarity() == Rarity.COMMON ||
-               card.getRarity() == Rarity.UNCOMMON;
+    public PauperBinder(String name, int capacity) {
+        super(name, capacity);
     }
 
     /**
-     * Calculates the sale price of the binder.
+     * Determines if cards of a rarity and variant can be added based on
+     * pauper rules.
      *
-     * @return The total sum of the real values of all cards inside, without
-     *         any handling fee.
+     * @param rarity  The rarity to check.
+     * @param variant The variant to check.
+     * @return true only if the rarity is Common or Uncommon.
      */
-    public double calculatePrice() {
-        double totalPrice = 0.0;
-        for (Card card : this.cards)
-            totalPrice += card.getCalculatedValue();
+    public boolean accepts(Rarity rarity, Variant variant) {
+        return rarity == Rarity.COMMON ||
+               rarity == Rarity.UNCOMMON;
+    }
 
-        return totalPrice;
+    /**
+     * Calculates the sale price of the binder in cents.
+     *
+     * @return The total sum of the real values of all cards inside, without
+     *         any handling fee, in cents.
+     */
+    public long calculatePriceCents() {
+        return getTotalCardValueCents();
     }
 }
@@ -1,7 +1,7 @@
 package com.tcis.models.binder;
 
-import com.tcis.models.card.Card;
 import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
 
 /**
  * Represents a sellable binder that can only contain Rare and Legendary cards.
@@ -23,28 +23,36 @@ public class RaresBinder extends SellableBinder {
     }
 
     /**
-     * Determines if a card can be added based on rares rules.
+     * Constructs a new RaresBinder that holds up to a given number of cards.
      *
-     * @param card The card to check.
-     * @return true only if the card's rarity is Rare or Legendary.
+     * @param name     The name for the binder.
+     * @param capacity The maximum number of cards the binder can hold.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
      */
-    public boolean canAddCard(Card card) {
-        return card.getRarity() == Rarity.RARE ||
-               card.getRarity() == Rarity.LEGENDARY;
+    public RaresBinder(String name, int capacity) {
+        super(name, capacity);
     }
 
     /**
-     * Calculates the sale price of the binder.
+     * Determines if cards of a rarity and variant can be added based on
+     * rares rules.
      *
-     * @return The total sum of the real values of all cards inside, plus a 10%
-     *         handling fee.
+     * @param rarity  The rarity to check.
+     * @param variant The variant to check.
+     * @return true only if the rarity is Rare or Legendary.
      */
-    public double calculatePrice() {
-        double totalCardValue = 0.0;
-
-        for (Card card : this.cards)
-            totalCardValue += card.getCalculatedValue();
+    public boolean accepts(Rarity rarity, Variant variant) {
+        return rarity == Rarity.RARE ||
+               rarity == Rarity.LEGENDARY;
+    }
 
-        return totalCardValue * 1.10;
+    /**
+     * Calculates the sale price of the binder in cents.
+     *
+     * @return The total sum of the real values of all cards inside, plus a 10%
+     *         handling fee, in cents.
+     */
+    public long calculatePriceCents() {
+        return withHandlingFee(getTotalCardValueCents());
     }
 }
@@ -23,6 +23,17 @@ public abstract class SellableBinder extends Binder {
         super(name);
     }
 
+    /**
+     * Constructs a new SellableBinder that holds up to a given number of cards.
+     *
+     * @param name     The name for the binder.
+     * @param capacity The maximum number of cards the binder can hold.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
+     */
+    public SellableBinder(String name, int capacity) {
+        super(name, capacity);
+    }
+
     /**
      * Specifies if this binder type can be sold.
      *
@@ -42,4 +53,15 @@ public abstract class SellableBinder extends Binder {
     public final boolean canTrade() {
         return false;
     }
+
+    /**
+     * Adds the 10% handling fee charged when some sellable binders are sold.
+     * The fee is computed with integer math and half cents are rounded up.
+     *
+     * @param cents The non-negative price before the fee, in cents.
+     * @return The price including the fee, in cents.
+     */
+    protected static long withHandlingFee(long cents) {
+        return (cents * 11 + 5) / 10;
+    }
 }
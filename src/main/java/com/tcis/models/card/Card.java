@@ -11,6 +11,26 @@ package com.tcis.models.card;
  * </p>
  */
 public class Card {
+    /**
+     * The ID carried by cards that have not been registered with a
+     * CollectionManager, such as an incoming card built for a trade.
+     */
+    public static final int UNREGISTERED = -1;
+
+    /**
+     * The highest base dollar value a card may have. It keeps every value in
+     * cents, after the largest variant multiplier and times any int count of
+     * copies, inside the range of a long.
+     */
+    public static final double MAX_BASE_VALUE = 10_000_000.0;
+
+    /**
+     * The dense integer ID assigned to this card type when it was registered
+     * with the CollectionManager, or {@code UNREGISTERED}. IDs start at 0 and
+     * increase by one for each new card type.
+     */
+    private final int id;
+
     /**
      * The name of the card, which is immutable after creation.
      */
@@ -21,7 +41,13 @@ public class Card {
      * applied. This field is final to ensure it is immutable after creation.
      */
     private final double baseValue;
-    
+
+    /**
+     * The base value rounded to whole cents, which all price and sale math
+     * is done in.
+     */
+    private final long baseValueCents;
+
     /**
      * The Rarity enum constant associated with the card. This field is final.
      */
@@ -33,15 +59,36 @@ public class Card {
     private final Variant variant;
 
     /**
-     * Constructs a new Card, validating all input.
+     * Constructs a new, unregistered Card, validating all input.
      *
      * @param name The name of the card. Cannot be null or blank.
-     * @param baseValue The base dollar value. Cannot be negative.
+     * @param baseValue The base dollar value. Cannot be negative or above
+     *                  {@code MAX_BASE_VALUE}.
      * @param rarity The card's rarity. Cannot be null.
      * @param variant The card's variant. Cannot be null.
      * @throws IllegalArgumentException if any parameter is invalid.
      */
     public Card(String name, double baseValue, Rarity rarity, Variant variant) {
+        this(UNREGISTERED, name, baseValue, rarity, variant);
+    }
+
+    /**
+     * Constructs a new Card with a registry ID, validating all input. This is
+     * used by the CollectionManager when it registers a new card type.
+     *
+     * @param id The dense ID of the card type, or {@code UNREGISTERED}.
+     * @param name The name of the card. Cannot be null or blank.
+     * @param baseValue The base dollar value. Cannot be negative or above
+     *                  {@code MAX_BASE_VALUE}.
+     * @param rarity The card's rarity. Cannot be null.
+     * @param variant The card's variant. Cannot be null.
+     * @throws IllegalArgumentException if any parameter is invalid.
+     */
+    public Card(int id, String name, double baseValue, Rarity rarity, Variant variant) {
+        if (id < UNREGISTERED)
+            throw new IllegalArgumentException(
+                "Card ID cannot be negative.");
+
         if (name == null || name.trim().isEmpty())
             throw new IllegalArgumentException(
                 "Card name cannot be null or blank.");
@@ -50,16 +97,61 @@ public class Card {
             throw new IllegalArgumentException(
                 "Base value cannot be negative.");
 
+        if (!Double.isFinite(baseValue))
+            throw new IllegalArgumentException(
+                "Base value must be a finite number.");
+
+        if (baseValue > MAX_BASE_VALUE)
+            throw new IllegalArgumentException(String.format(
+                "Base value cannot be more than $%,.2f.", MAX_BASE_VALUE));
+
         if (rarity == null || variant == null)
             throw new IllegalArgumentException(
                 "Rarity and Variant cannot be null.");
 
+        this.id = id;
         this.name = name.trim();
         this.baseValue = baseValue;
+        this.baseValueCents = Math.round(baseValue * 100);
         this.rarity = rarity;
         this.variant = variant;
     }
 
+    /**
+     * Gets the dense registry ID of the card type.
+     *
+     * @return The ID assigned by the CollectionManager, or
+     *         {@code UNREGISTERED} if the card was never registered.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Checks whether this card was registered with a CollectionManager.
+     *
+     * @return true if the card has a registry ID, false otherwise.
+     */
+    public boolean isRegistered() {
+        return this.id != UNREGISTERED;
+    }
+
+    /**
+     * Folds a card name into a key for case-insensitive lookups. Two names
+     * fold to the same key exactly when {@code equalsIgnoreCase} considers
+     * them equal, so the key can be used in hash-based sets and maps.
+     *
+     * @param name The name to fold.
+     * @return The folded key.
+     */
+    public static String foldName(String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+
+        return new String(chars);
+    }
+
     /**
      * Gets the name of the card.
      *
@@ -78,6 +170,15 @@ public class Card {
         return this.baseValue;
     }
 
+    /**
+     * Gets the base value of the card in whole cents.
+     *
+     * @return The non-negative base value, in cents.
+     */
+    public long getBaseValueCents() {
+        return this.baseValueCents;
+    }
+
     /**
      * Gets the rarity of the card.
      *
@@ -96,14 +197,41 @@ public class Card {
         return this.variant;
     }
 
+    /**
+     * Checks whether another card describes the same card type as this one:
+     * the same name (case-insensitive), rarity, variant and base value. The
+     * registry ID is not compared.
+     *
+     * @param other The card to compare against.
+     * @return true if both cards describe the same card type, false
+     *         otherwise.
+     */
+    public boolean isSameType(Card other) {
+        return other != null &&
+               this.rarity == other.rarity &&
+               this.variant == other.variant &&
+               Double.compare(this.baseValue, other.baseValue) == 0 &&
+               this.name.equalsIgnoreCase(other.name);
+    }
+
     /**
      * Calculates the card's real value by applying the variant's multiplier to
-     * the base value. This is used for selling cards and calculating binder /
-     * deck prices.
+     * the base value. This is used for displaying card values.
      *
      * @return The final calculated value of the card.
      */
     public double getCalculatedValue() {
-        return this.baseValue * this.variant.getMultiplier();
+        return getValueCents() / 100.0;
+    }
+
+    /**
+     * Calculates the card's real value in cents by applying the variant's
+     * multiplier to the base value with exact integer math. This is used for
+     * selling cards and calculating binder / deck prices.
+     *
+     * @return The final calculated value of the card, in cents.
+     */
+    public long getValueCents() {
+        return this.variant.applyTo(this.baseValueCents);
     }
 }
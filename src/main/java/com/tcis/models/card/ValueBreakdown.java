@@ -0,0 +1,146 @@
+package com.tcis.models.card;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Holds the real value of a group of cards, broken down by Rarity and
+ * Variant.
+ *
+ * <p>
+ * It keeps one running total in cents for every rarity and variant pair,
+ * plus an overall total, and is updated incrementally as cards enter or leave
+ * the group. Every query reads at most a fixed number of cells, so it takes
+ * constant time no matter how many cards the group holds. The cells are
+ * atomic, so concurrent updates from different threads are never lost.
+ * </p>
+ */
+public class ValueBreakdown {
+    /**
+     * The number of variants, which is the stride between rarities in
+     * {@code cents}.
+     */
+    private static final int VARIANT_COUNT = Variant.values().length;
+
+    /**
+     * The index of the overall total in {@code cents}, just past the
+     * rarity and variant cells.
+     */
+    private static final int TOTAL = Rarity.values().length * VARIANT_COUNT;
+
+    /**
+     * The running totals in cents, indexed by
+     * {@code rarity.ordinal() * VARIANT_COUNT + variant.ordinal()}, followed
+     * by the overall total.
+     */
+    private final AtomicLongArray cents;
+
+    /**
+     * Constructs a new breakdown with every total at zero.
+     */
+    public ValueBreakdown() {
+        this.cents = new AtomicLongArray(TOTAL + 1);
+    }
+
+    /**
+     * Adds copies of a card to the breakdown.
+     *
+     * @param card   The card whose value to add.
+     * @param copies The number of copies. A negative number removes copies.
+     */
+    public void add(Card card, long copies) {
+        long value = card.getValueCents() * copies;
+
+        cents.addAndGet(cell(card.getRarity(), card.getVariant()), value);
+        cents.addAndGet(TOTAL, value);
+    }
+
+    /**
+     * Adds every total of another breakdown to this one.
+     *
+     * @param other The breakdown to add.
+     */
+    public void addAll(ValueBreakdown other) {
+        for (int i = 0; i <= TOTAL; i++)
+            cents.addAndGet(i, other.cents.get(i));
+    }
+
+    /**
+     * Subtracts every total of another breakdown from this one.
+     *
+     * @param other The breakdown to subtract.
+     */
+    public void subtractAll(ValueBreakdown other) {
+        for (int i = 0; i <= TOTAL; i++)
+            cents.addAndGet(i, -other.cents.get(i));
+    }
+
+    /**
+     * Gets the total value of every card in the group.
+     *
+     * @return The total value, in cents.
+     */
+    public long getTotalCents() {
+        return cents.get(TOTAL);
+    }
+
+    /**
+     * Gets the total value of the group's cards of one rarity.
+     *
+     * @param rarity The rarity to total.
+     * @return The value of those cards, in cents.
+     */
+    public long getCents(Rarity rarity) {
+        long total = 0;
+        for (Variant variant : Variant.values())
+            total += cents.get(cell(rarity, variant));
+
+        return total;
+    }
+
+    /**
+     * Gets the total value of the group's cards of one variant.
+     *
+     * @param variant The variant to total.
+     * @return The value of those cards, in cents.
+     */
+    public long getCents(Variant variant) {
+        long total = 0;
+        for (Rarity rarity : Rarity.values())
+            total += cents.get(cell(rarity, variant));
+
+        return total;
+    }
+
+    /**
+     * Gets the total value of the group's cards of one rarity and variant.
+     *
+     * @param rarity  The rarity to total.
+     * @param variant The variant to total.
+     * @return The value of those cards, in cents.
+     */
+    public long getCents(Rarity rarity, Variant variant) {
+        return cents.get(cell(rarity, variant));
+    }
+
+    /**
+     * Creates an independent copy of the current totals.
+     *
+     * @return A new ValueBreakdown holding the same totals.
+     */
+    public ValueBreakdown copy() {
+        ValueBreakdown copy = new ValueBreakdown();
+        copy.addAll(this);
+        return copy;
+    }
+
+    /**
+     * Finds the cell that holds a rarity and variant pair.
+     *
+     * @param rarity  The rarity.
+     * @param variant The variant.
+     * @return The index into {@code cents}.
+     */
+    private static int cell(Rarity rarity, Variant variant) {
+        return rarity.ordinal() * VARIANT_COUNT + variant.ordinal();
+    }
+}
@@ -14,22 +14,22 @@ public enum Variant {
     /**
      * The standard, default variant with no value increase (1.0x multiplier).
      */
-    NORMAL("Normal", 1.0),
+    NORMAL("Normal", 10),
 
     /**
      * A variant with a 50% value increase (1.5x multiplier).
      */
-    EXTENDED_ART("Extended-art", 1.5),
+    EXTENDED_ART("Extended-art", 15),
 
     /**
      * A variant with a 100% value increase (2.0x multiplier).
      */
-    FULL_ART("Full-art", 2.0),
+    FULL_ART("Full-art", 20),
 
     /**
      * A variant with a 200% value increase (3.0x multiplier).
      */
-    ALT_ART("Alt-art", 3.0);
+    ALT_ART("Alt-art", 30);
 
     /**
      * The user-friendly string representation of the variant.
@@ -37,19 +37,21 @@ public enum Variant {
     private final String displayName;
 
     /**
-     * The value multiplier associated with this variant.
+     * The value multiplier associated with this variant, in tenths, so that
+     * it can be applied to cent amounts with exact integer math.
      */
-    private final double multiplier;
+    private final int multiplierTenths;
 
     /**
      * Private constructor for the enum.
      *
-     * @param displayName The user-friendly name of the variant.
-     * @param multiplier  The value multiplier associated with this variant.
+     * @param displayName      The user-friendly name of the variant.
+     * @param multiplierTenths The value multiplier associated with this
+     *                         variant, in tenths (e.g., 15 for 1.5x).
      */
-    Variant(String displayName, double multiplier) {
+    Variant(String displayName, int multiplierTenths) {
         this.displayName = displayName;
-        this.multiplier = multiplier;
+        this.multiplierTenths = multiplierTenths;
     }
 
     /**
@@ -67,7 +69,20 @@ public enum Variant {
      * @return The value multiplier (e.g., 1.0, 2.0).
      */
     public double getMultiplier() {
-        return this.multiplier;
+        return this.multiplierTenths / 10.0;
+    }
+
+    /**
+     * Applies this variant's multiplier to an amount in cents. Half cents are
+     * rounded up, and no floating-point math is involved.
+     *
+     * @param cents The non-negative base amount, in cents.
+     * @return The multiplied amount, in cents.
+     * @throws ArithmeticException if the multiplied amount does not fit in a
+     *         long.
+     */
+    public long applyTo(long cents) {
+        return Math.addExact(Math.multiplyExact(cents, this.multiplierTenths), 5) / 10;
     }
 
     /**
@@ -1,26 +1,45 @@
 package com.tcis.models.deck;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import com.tcis.models.card.Card;
+import com.tcis.models.card.ValueBreakdown;
+import com.tcis.util.SlotTable;
+import com.tcis.util.SortedIndex;
+import com.tcis.util.SortedSlotView;
 
 /**
  * An abstract superclass representing the fundamental properties and behaviors
  * of a deck.
  *
  * <p>
- * It enforces a maximum capacity and ensures that all cards within it are
- * unique by name. It defines an abstract method, {@code isSellable()}, which
- * must be implemented by concrete subclasses to specify their selling
- * behavior.
+ * It enforces a capacity, chosen per deck when it is created, and ensures
+ * that all cards within it are unique by name. It defines an abstract method,
+ * {@code isSellable()}, which must be implemented by concrete subclasses to
+ * specify their selling behavior.
+ * </p>
+ *
+ * <p>
+ * Each card keeps the numbered slot it was placed in for as long as it stays
+ * in the deck, and removing a card addresses it by that slot without moving
+ * any other card. The folded names of the cards are kept in a hash set, so
+ * checking whether a card is already present takes constant time. The slot
+ * table and the name set both grow with the deck's capacity, so they work
+ * the same for a deck of any size. The occupied slots are also kept ordered
+ * by card name, so the deck can be listed alphabetically without sorting it.
  * </p>
  */
 public abstract class Deck {
     /**
-     * A public constant representing the maximum number of unique cards a deck
-     * can hold.
+     * A public constant representing the number of unique cards a deck can
+     * hold when no other capacity is given.
      */
-    public static final int MAX_CAPACITY = 10;
+    public static final int DEFAULT_CAPACITY = 10;
 
     /**
      * The name of the deck, which is immutable after creation. Accessible by
@@ -29,25 +48,84 @@ public abstract class Deck {
     protected final String name;
 
     /**
-     * The internal list of cards contained within the deck. Accessible by
+     * The cards contained within the deck, by slot. Accessible by
      * subclasses.
      */
-    protected final ArrayList<Card> cards;
+    protected final SlotTable<Card> cards;
+
+    /**
+     * A read-only view of {@code cards}, returned by {@code getCards}.
+     */
+    private final Collection<Card> cardsView;
+
+    /**
+     * The occupied slots, ordered by the name of the card in each. It is
+     * updated by {@code addCard}, {@code addCardAt} and {@code removeCard}.
+     */
+    private final SortedIndex<Integer> slotsByName;
+
+    /**
+     * A read-only view of the cards in name order, returned by
+     * {@code getCardsByName}.
+     */
+    private final SortedSlotView<Card> cardsByName;
+
+    /**
+     * The maximum number of cards this deck can hold.
+     */
+    private final int capacity;
 
     /**
-     * Constructs a new Deck, validating the name. This constructor is called
-     * by subclasses.
+     * The running value of every card in the deck, by rarity and variant. It
+     * is updated by {@code addCard} and {@code removeCard} so that the sale
+     * price never rescans the cards.
+     */
+    private final ValueBreakdown value;
+
+    /**
+     * The folded names of every card in the deck, kept in step with
+     * {@code cards} by {@code addCard} and {@code removeCard}.
+     */
+    private final HashSet<String> cardNames;
+
+    /**
+     * Constructs a new Deck with the default capacity, validating the name.
      *
      * @param name The name for the deck. Cannot be null or blank.
      * @throws IllegalArgumentException if the name is invalid.
      */
     public Deck(String name) {
+        this(name, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new Deck, validating the name and capacity. This
+     * constructor is called by subclasses.
+     *
+     * @param name     The name for the deck. Cannot be null or blank.
+     * @param capacity The maximum number of cards the deck can hold. Must be
+     *                 at least 1.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
+     */
+    public Deck(String name, int capacity) {
         if (name == null || name.trim().isEmpty())
             throw new IllegalArgumentException(
                     "Deck name cannot be null or blank.");
 
+        if (capacity < 1)
+            throw new IllegalArgumentException(
+                    "Deck capacity must be at least 1.");
+
         this.name = name.trim();
-        this.cards = new ArrayList<>();
+        this.capacity = capacity;
+        this.cards = new SlotTable<>();
+        this.cardsView = Collections.unmodifiableCollection(this.cards);
+        this.slotsByName = new SortedIndex<>(
+                Comparator.comparing((Integer slot) -> this.cards.get(slot).getName())
+                          .thenComparing(Comparator.naturalOrder()));
+        this.cardsByName = new SortedSlotView<>(this.cards, this.slotsByName, this);
+        this.value = new ValueBreakdown();
+        this.cardNames = new HashSet<>();
     }
 
     /**
@@ -60,13 +138,67 @@ public abstract class Deck {
     }
 
     /**
-     * Returns a defensive copy of the list of cards in this deck to protect
-     * the internal state.
+     * Gets the cards in this deck, in slot order, without copying them.
      *
-     * @return A new ArrayList containing the cards currently in this deck.
+     * <p>
+     * The collection is a read-only view that follows later changes to the
+     * deck. Like the deck itself, it must only be read while holding the
+     * deck's monitor or on the thread that changes it; callers that keep or
+     * sort the cards should copy them first.
+     * </p>
+     *
+     * @return A read-only view of the cards currently in this deck.
      */
-    public ArrayList<Card> getCards() {
-        return new ArrayList<>(this.cards);
+    public Collection<Card> getCards() {
+        return this.cardsView;
+    }
+
+    /**
+     * Gets the cards in this deck, in name order, without copying or sorting
+     * them.
+     *
+     * <p>
+     * The list is a read-only view that follows later changes to the deck.
+     * Each read holds the deck's monitor, so it may be read from any thread,
+     * and a list model can show it directly.
+     * </p>
+     *
+     * @return A read-only view of the cards in this deck, by name.
+     */
+    public List<Card> getCardsByName() {
+        return this.cardsByName;
+    }
+
+    /**
+     * Gets the slot of the card at a position of {@code getCardsByName}.
+     *
+     * @param position The zero-based position in name order.
+     * @return The slot of the card at that position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    public int getSlotByName(int position) {
+        return this.cardsByName.getSlot(position);
+    }
+
+    /**
+     * Gets the card in a slot.
+     *
+     * @param slot The slot number.
+     * @return The card in that slot, or null if the slot is empty or out of
+     *         range.
+     */
+    public Card getCardAt(int slot) {
+        return this.cards.get(slot);
+    }
+
+    /**
+     * Gets the slots that hold a card, in ascending order. Like
+     * {@code getCards}, the stream reads the deck as it is consumed.
+     *
+     * @return A stream of the occupied slot numbers.
+     */
+    public IntStream getSlots() {
+        return this.cards.slots();
     }
 
     /**
@@ -78,14 +210,23 @@ public abstract class Deck {
         return this.cards.size();
     }
 
+    /**
+     * Gets the maximum number of cards this deck can hold.
+     *
+     * @return The deck's capacity.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
     /**
      * Checks if the deck has reached its maximum capacity.
      *
-     * @return true if the number of cards is equal to or greater than
-     *         MAX_CAPACITY, false otherwise.
+     * @return true if the number of cards is equal to or greater than the
+     *         deck's capacity, false otherwise.
      */
     public boolean isFull() {
-        return this.cards.size() >= MAX_CAPACITY;
+        return this.cards.size() >= this.capacity;
     }
 
     /**
@@ -96,11 +237,7 @@ public abstract class Deck {
      * @return true if a card with that name exists, false otherwise.
      */
     public boolean containsCard(String cardName) {
-        for (Card card : cards)
-            if (card.getName().equalsIgnoreCase(cardName))
-                return true;
-
-        return false;
+        return cardNames.contains(Card.foldName(cardName));
     }
 
     /**
@@ -111,8 +248,11 @@ public abstract class Deck {
      * @return true if the card was successfully added, false otherwise.
      */
     public boolean addCard(Card card) {
-        if (!isFull() && !containsCard(card.getName())) {
+        if (!isFull() && this.cardNames.add(Card.foldName(card.getName()))) {
+            int slot = this.cards.firstFreeSlot();
             this.cards.add(card);
+            this.slotsByName.add(slot);
+            this.value.add(card, 1);
             return true;
         }
 
@@ -120,17 +260,65 @@ public abstract class Deck {
     }
 
     /**
-     * Removes a card from a specific index in the deck.
+     * Adds a card to a particular empty slot, as when a saved layout is
+     * restored, if the deck is not full and does not already contain a card
+     * with the same name.
+     *
+     * @param slot The slot to place the card in.
+     * @param card The Card object to add.
+     * @return true if the card was successfully added, false otherwise.
+     */
+    public boolean addCardAt(int slot, Card card) {
+        if (slot < 0 || slot >= this.capacity || isFull() ||
+                this.cards.get(slot) != null ||
+                !this.cardNames.add(Card.foldName(card.getName())))
+            return false;
+
+        this.cards.put(slot, card);
+        this.slotsByName.add(slot);
+        this.value.add(card, 1);
+        return true;
+    }
+
+    /**
+     * Removes the card in a slot. No other card changes slot.
      *
-     * @param index The zero-based index of the card to remove.
-     * @return The removed Card object if the index was valid, or null if the
-     *         index was out of bounds.
+     * @param slot The slot of the card to remove.
+     * @return The removed Card object, or null if the slot was empty or out
+     *         of range.
      */
-    public Card removeCard(int index) {
-        if (index >= 0 && index < this.cards.size())
-            return this.cards.remove(index);
+    public Card removeCard(int slot) {
+        // The index finds the slot by its card's name, so it must go first.
+        if (this.cards.get(slot) != null)
+            this.slotsByName.remove(slot);
 
-        return null;
+        Card removed = this.cards.remove(slot);
+        if (removed != null) {
+            this.value.add(removed, -1);
+            this.cardNames.remove(Card.foldName(removed.getName()));
+        }
+
+        return removed;
+    }
+
+    /**
+     * Gets the total real value of all cards currently in the deck. This is
+     * the deck's sale price when it is sellable. The total is kept up to date
+     * as cards are added and removed, so this takes constant time.
+     *
+     * @return The total value of the deck's cards, in cents.
+     */
+    public long getTotalValueCents() {
+        return this.value.getTotalCents();
+    }
+
+    /**
+     * Gets the value of the deck's cards broken down by rarity and variant.
+     *
+     * @return A copy of the deck's current value breakdown.
+     */
+    public ValueBreakdown getValueBreakdown() {
+        return this.value.copy();
     }
 
     /**
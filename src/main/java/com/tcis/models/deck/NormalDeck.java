@@ -23,6 +23,18 @@ public class NormalDeck extends Deck {
         super(name);
     }
 
+    /**
+     * Constructs a new NormalDeck with a specified name that holds up to a given
+     * number of cards.
+     *
+     * @param name     The name for the deck. Cannot be null or blank.
+     * @param capacity The maximum number of cards the deck can hold.
+     * @throws IllegalArgumentException if the name or capacity is invalid.
+     */
+    public NormalDeck(String name, int capacity) {
+        super(name, capacity);
+    }
+
     /**
      * Determines if the deck can be sold.
      * For a NormalDeck, this is always false.
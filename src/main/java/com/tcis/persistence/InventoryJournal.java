@@ -0,0 +1,1149 @@
+package com.tcis.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.tcis.InventorySystem;
+import com.tcis.models.binder.Binder;
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+import com.tcis.models.deck.Deck;
+
+/**
+ * A durable, append-only journal of every successful mutation made through
+ * the InventorySystem.
+ *
+ * <p>
+ * Each record is framed as {@code [payload length][CRC32][payload]}, where
+ * the payload is an operation code followed by that operation's arguments.
+ * Callers only encode their record into an in-memory buffer, which takes
+ * microseconds. A background writer thread performs group commit: it takes
+ * every record appended since its last pass, writes them with one call and
+ * forces them to disk together. Records that arrive while a force is in
+ * progress simply join the next group.
+ * </p>
+ *
+ * <p>
+ * When the journal is opened, its existing records are replayed against the
+ * InventorySystem to rebuild the state that was in memory before the last
+ * shutdown or crash. A torn or corrupt record at the tail, left by a crash
+ * in the middle of a write, ends the replay and is truncated away. A record
+ * that passes its checksum but cannot be applied fails the open instead.
+ * </p>
+ *
+ * <p>
+ * If the writer thread fails to write or force a group, the journal stops
+ * accepting records: every later log call drops its record and returns
+ * false, and {@code getFailure} reports the error, so the caller can stop
+ * making changes that would not be saved.
+ * </p>
+ *
+ * <p>
+ * The file starts with a format version and an epoch number. A journal in
+ * an older format is only accepted if the loaded snapshot already covers it,
+ * in which case it is discarded; otherwise opening it fails, since its
+ * records cannot be replayed correctly. Writing an InventorySnapshot covers
+ * every record of the current epoch, after which the journal is emptied and
+ * moved to the next epoch. A journal whose epoch is already covered by the
+ * loaded snapshot is discarded instead of replayed, so a crash between
+ * writing the snapshot and emptying the journal never applies a record
+ * twice.
+ * </p>
+ */
+public class InventoryJournal implements Closeable {
+    /**
+     * Operation code for {@code addNewCard}.
+     */
+    private static final byte ADD_NEW_CARD = 1;
+
+    /**
+     * Operation code for a card type registered by a catalog import, with its
+     * initial count.
+     */
+    private static final byte IMPORT_CARD = 2;
+
+    /**
+     * Operation code for {@code increaseCardCount}.
+     */
+    private static final byte INCREASE_COUNT = 3;
+
+    /**
+     * Operation code for {@code decreaseCardCount}.
+     */
+    private static final byte DECREASE_COUNT = 4;
+
+    /**
+     * Operation code for {@code sellCardFromCollection}.
+     */
+    private static final byte SELL_CARD = 5;
+
+    /**
+     * Operation code for {@code createBinder}.
+     */
+    private static final byte CREATE_BINDER = 6;
+
+    /**
+     * Operation code for {@code deleteBinder}.
+     */
+    private static final byte DELETE_BINDER = 7;
+
+    /**
+     * Operation code for {@code sellBinder}.
+     */
+    private static final byte SELL_BINDER = 8;
+
+    /**
+     * Operation code for {@code addCardToBinder}.
+     */
+    private static final byte ADD_CARD_TO_BINDER = 9;
+
+    /**
+     * Operation code for {@code removeCardFromBinder}.
+     */
+    private static final byte REMOVE_CARD_FROM_BINDER = 10;
+
+    /**
+     * Operation code for {@code performTrade}.
+     */
+    private static final byte TRADE = 11;
+
+    /**
+     * Operation code for {@code setBinderPrice}.
+     */
+    private static final byte SET_BINDER_PRICE = 12;
+
+    /**
+     * Operation code for {@code createDeck}.
+     */
+    private static final byte CREATE_DECK = 13;
+
+    /**
+     * Operation code for {@code deleteDeck}.
+     */
+    private static final byte DELETE_DECK = 14;
+
+    /**
+     * Operation code for {@code sellDeck}.
+     */
+    private static final byte SELL_DECK = 15;
+
+    /**
+     * Operation code for {@code addCardToDeck}.
+     */
+    private static final byte ADD_CARD_TO_DECK = 16;
+
+    /**
+     * Operation code for {@code removeCardFromDeck}.
+     */
+    private static final byte REMOVE_CARD_FROM_DECK = 17;
+
+    /**
+     * Operation code for {@code addCardsToBinder}. One record holds the
+     * whole batch, so a batch is either replayed completely or not at all.
+     */
+    private static final byte ADD_CARDS_TO_BINDER = 18;
+
+    /**
+     * The magic number at the start of every journal file.
+     */
+    private static final int FILE_MAGIC = 0x54434A4C; // "TCJL"
+
+    /**
+     * The version of the record format written by this class. Version 1
+     * files have no version field, and their records name the cards in
+     * binders and decks by list index rather than by slot, so they cannot
+     * be replayed against slot tables.
+     */
+    private static final int FILE_VERSION = 2;
+
+    /**
+     * The size of the file header: the magic number, the version and the
+     * epoch.
+     */
+    private static final int FILE_HEADER_SIZE = 16;
+
+    /**
+     * The size of the length and checksum fields that precede each payload.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * The largest payload accepted during replay. Anything larger can only
+     * come from a corrupt length field. It leaves room for a batch record
+     * naming millions of cards.
+     */
+    private static final int MAX_PAYLOAD_SIZE = 1 << 26;
+
+    /**
+     * The channel of the journal file, positioned at its end.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The epoch of the records currently in the file.
+     */
+    private long epoch;
+
+    /**
+     * The number of records in the current epoch, replayed or appended.
+     */
+    private long records;
+
+    /**
+     * Guards the append buffer and the sequence counters, and is used to
+     * signal the writer thread and callers waiting in {@code sync}.
+     */
+    private final Object lock;
+
+    /**
+     * The buffer that new records are encoded into.
+     */
+    private ByteBuffer active;
+
+    /**
+     * The buffer handed back by the writer after it finished writing it, or
+     * null while the writer still owns it.
+     */
+    private ByteBuffer spare;
+
+    /**
+     * The number of records appended to the journal so far.
+     */
+    private long appended;
+
+    /**
+     * The number of records known to be forced to disk.
+     */
+    private long durable;
+
+    /**
+     * Whether {@code close} has been called.
+     */
+    private boolean closed;
+
+    /**
+     * The error that stopped the writer thread, or null if it is healthy.
+     * It is volatile so callers can check it without taking {@code lock}.
+     */
+    private volatile IOException failure;
+
+    /**
+     * The start offset of the record currently being encoded.
+     */
+    private int recordStart;
+
+    /**
+     * Computes the checksum of each record's payload.
+     */
+    private final CRC32 crc;
+
+    /**
+     * The background thread that writes and forces groups of records.
+     */
+    private final Thread writer;
+
+    /**
+     * Constructs a journal that appends to an already replayed channel and
+     * starts its writer thread.
+     *
+     * @param channel The journal file channel, positioned at the end of its
+     *                last valid record.
+     * @param epoch   The epoch of the records in the file.
+     * @param records The number of records already in the file.
+     */
+    private InventoryJournal(FileChannel channel, long epoch, long records) {
+        this.channel = channel;
+        this.epoch = epoch;
+        this.records = records;
+        this.lock = new Object();
+        this.active = ByteBuffer.allocate(1 << 16);
+        this.spare = ByteBuffer.allocate(1 << 16);
+        this.crc = new CRC32();
+        this.writer = new Thread(this::runWriter, "tcis-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens the journal at the given path, creating it if needed, and replays
+     * its records against an InventorySystem.
+     *
+     * <p>
+     * The target must not have a journal attached yet, so that the replayed
+     * operations are not recorded a second time. If the target was restored
+     * from a snapshot, the journal is only replayed when its epoch is newer
+     * than the one the snapshot covers.
+     * </p>
+     *
+     * @param path         The journal file.
+     * @param target       The InventorySystem to rebuild.
+     * @param coveredEpoch The last epoch already contained in the target's
+     *                     snapshot, or 0 if it has none.
+     * @return The open journal, ready for new records.
+     * @throws IOException if the file cannot be opened or read, is not a
+     *                     journal, or holds records in an older format.
+     */
+    public static InventoryJournal open(Path path, InventorySystem target,
+                                        long coveredEpoch) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try {
+            if (channel.size() < FILE_HEADER_SIZE) {
+                writeHeader(channel, coveredEpoch + 1);
+                return new InventoryJournal(channel, coveredEpoch + 1, 0);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            while (header.hasRemaining())
+                channel.read(header, header.position());
+            header.flip();
+
+            if (header.getInt(0) != FILE_MAGIC)
+                throw new IOException(path + " is not a card inventory journal.");
+
+            // A version 1 header has the epoch right after the magic number,
+            // and its high half reads as version 0.
+            int version = header.getInt(4);
+            long fileEpoch = (version == 0) ? header.getLong(4) : header.getLong(8);
+
+            if (fileEpoch <= coveredEpoch) {
+                writeHeader(channel, coveredEpoch + 1);
+                return new InventoryJournal(channel, coveredEpoch + 1, 0);
+            }
+
+            if (version != FILE_VERSION)
+                throw new IOException(path + " uses journal format " + Math.max(version, 1) +
+                        ", which cannot be replayed. Start the version that wrote it" +
+                        " once so that it is saved into the snapshot, then try again.");
+
+            long[] replayed = new long[1];
+            long validEnd = replay(channel, target, replayed);
+            channel.truncate(validEnd);
+            channel.position(validEnd);
+            return new InventoryJournal(channel, fileEpoch, replayed[0]);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Empties the journal file and writes a fresh header for the given epoch.
+     *
+     * @param channel The journal file channel.
+     * @param epoch   The epoch of the records that will follow.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void writeHeader(FileChannel channel, long epoch) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(FILE_MAGIC).putInt(FILE_VERSION).putLong(epoch).flip();
+
+        channel.truncate(0);
+        while (header.hasRemaining())
+            channel.write(header, header.position());
+
+        channel.force(false);
+        channel.position(FILE_HEADER_SIZE);
+    }
+
+    /**
+     * Replays every valid record in the channel.
+     *
+     * @param channel  The journal file channel.
+     * @param target   The InventorySystem to apply records to.
+     * @param replayed Receives the number of records replayed in its first
+     *                 element.
+     * @return The offset just past the last valid record.
+     * @throws IOException if the file cannot be read or a valid record
+     *                     cannot be applied.
+     */
+    private static long replay(FileChannel channel, InventorySystem target,
+                               long[] replayed) throws IOException {
+        channel.position(FILE_HEADER_SIZE);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel), 1 << 16));
+        CRC32 checksum = new CRC32();
+        long size = channel.size();
+        long position = FILE_HEADER_SIZE;
+
+        while (size - position >= HEADER_SIZE) {
+            int length;
+            int expectedCrc;
+            byte[] payload;
+
+            try {
+                length = in.readInt();
+                expectedCrc = in.readInt();
+
+                if (length <= 0 || length > MAX_PAYLOAD_SIZE ||
+                        length > size - position - HEADER_SIZE)
+                    break;
+
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                break;
+            }
+
+            checksum.reset();
+            checksum.update(payload, 0, length);
+            if ((int) checksum.getValue() != expectedCrc)
+                break;
+
+            try {
+                apply(ByteBuffer.wrap(payload), target);
+            } catch (RuntimeException e) {
+                // The record passed its checksum, so it was written this way
+                // rather than torn. Stop instead of truncating it away.
+                throw new IOException("Journal record " + (replayed[0] + 1) +
+                        " at offset " + position + " could not be replayed: " + e, e);
+            }
+
+            position += HEADER_SIZE + length;
+            replayed[0]++;
+        }
+
+        if (position < size)
+            System.out.println("Warning: Discarding " + (size - position) +
+                    " bytes of incomplete journal data.");
+
+        return position;
+    }
+
+    /**
+     * Decodes one record payload and applies it to the InventorySystem.
+     *
+     * @param record The record payload, positioned at its operation code.
+     * @param target The InventorySystem to apply the record to.
+     */
+    private static void apply(ByteBuffer record, InventorySystem target) {
+        byte op = record.get();
+
+        switch (op) {
+            case ADD_NEW_CARD:
+                target.addNewCard(getString(record), record.getDouble(),
+                        Rarity.values()[record.get()],
+                        Variant.values()[record.get()]);
+                break;
+            case IMPORT_CARD: {
+                String name = getString(record);
+                double value = record.getDouble();
+                Rarity rarity = Rarity.values()[record.get()];
+                Variant variant = Variant.values()[record.get()];
+                int count = record.getInt();
+
+                target.addNewCard(name, value, rarity, variant);
+                if (count == 0)
+                    target.decreaseCardCount(name, 1);
+                else if (count > 1)
+                    target.increaseCardCount(name, count - 1);
+                break;
+            }
+            case INCREASE_COUNT:
+                target.increaseCardCount(getString(record), record.getInt());
+                break;
+            case DECREASE_COUNT:
+                target.decreaseCardCount(getString(record), record.getInt());
+                break;
+            case SELL_CARD:
+                target.sellCardFromCollection(getString(record), record.getInt());
+                break;
+            case CREATE_BINDER:
+                target.createBinder(getString(record), getString(record),
+                        getCapacity(record, Binder.DEFAULT_CAPACITY));
+                break;
+            case DELETE_BINDER:
+                target.deleteBinder(getString(record));
+                break;
+            case SELL_BINDER:
+                target.sellBinder(getString(record));
+                break;
+            case ADD_CARD_TO_BINDER:
+                target.addCardToBinder(getString(record), getString(record));
+                break;
+            case ADD_CARDS_TO_BINDER: {
+                String binderName = getString(record);
+                int items = record.getInt();
+                LinkedHashMap<String, Integer> quantities = new LinkedHashMap<>();
+
+                for (int i = 0; i < items; i++)
+                    quantities.put(getString(record), record.getInt());
+
+                target.addCardsToBinder(binderName, quantities);
+                break;
+            }
+            case REMOVE_CARD_FROM_BINDER:
+                target.removeCardFromBinder(record.getInt(), getString(record));
+                break;
+            case TRADE: {
+                String binderName = getString(record);
+                int slot = record.getInt();
+                Card incoming = new Card(getString(record), record.getDouble(),
+                        Rarity.values()[record.get()],
+                        Variant.values()[record.get()]);
+
+                target.performTrade(binderName, slot, incoming);
+                break;
+            }
+            case SET_BINDER_PRICE:
+                target.setBinderPrice(getString(record), record.getDouble());
+                break;
+            case CREATE_DECK:
+                target.createDeck(getString(record), getString(record),
+                        getCapacity(record, Deck.DEFAULT_CAPACITY));
+                break;
+            case DELETE_DECK:
+                target.deleteDeck(getString(record));
+                break;
+            case SELL_DECK:
+                target.sellDeck(getString(record));
+                break;
+            case ADD_CARD_TO_DECK:
+                target.addCardToDeck(getString(record), getString(record));
+                break;
+            case REMOVE_CARD_FROM_DECK:
+                target.removeCardFromDeck(record.getInt(), getString(record));
+                break;
+            default:
+                System.out.println("Warning: Skipping unknown journal record " + op + ".");
+        }
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string from a record.
+     *
+     * @param record The record payload.
+     * @return The decoded string.
+     */
+    private static String getString(ByteBuffer record) {
+        int length = record.getInt();
+        String value = new String(record.array(), record.position(), length,
+                StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+
+    /**
+     * Reads the capacity at the end of a create record. Records written
+     * before capacities could be chosen end without one.
+     *
+     * @param record          The record payload, positioned after the type.
+     * @param defaultCapacity The capacity to use if the record has none.
+     * @return The capacity of the binder or deck to create.
+     */
+    private static int getCapacity(ByteBuffer record, int defaultCapacity) {
+        return record.hasRemaining() ? record.getInt() : defaultCapacity;
+    }
+
+    /**
+     * Records that a new card type was added.
+     *
+     * @param name    The name of the card.
+     * @param value   The base value of the card.
+     * @param rarity  The rarity of the card.
+     * @param variant The variant of the card.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logAddNewCard(String name, double value, Rarity rarity, Variant variant) {
+        synchronized (lock) {
+            begin(ADD_NEW_CARD);
+            putString(name);
+            putDouble(value);
+            putByte(rarity.ordinal());
+            putByte(variant.ordinal());
+            return end();
+        }
+    }
+
+    /**
+     * Records one row applied by a catalog import.
+     *
+     * @param card  The registered card the row applied to.
+     * @param count The number of copies the row contributed.
+     * @param added true if the row registered a new card type.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logImportedCard(Card card, int count, boolean added) {
+        if (!added)
+            return logIncreaseCount(card.getName(), count);
+
+        synchronized (lock) {
+            begin(IMPORT_CARD);
+            putString(card.getName());
+            putDouble(card.getBaseValue());
+            putByte(card.getRarity().ordinal());
+            putByte(card.getVariant().ordinal());
+            putInt(count);
+            return end();
+        }
+    }
+
+    /**
+     * Records that a card's count was increased.
+     *
+     * @param name   The name of the card.
+     * @param amount The amount added.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logIncreaseCount(String name, int amount) {
+        return logNameAndInt(INCREASE_COUNT, name, amount);
+    }
+
+    /**
+     * Records that a card's count was decreased.
+     *
+     * @param name   The name of the card.
+     * @param amount The amount removed.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logDecreaseCount(String name, int amount) {
+        return logNameAndInt(DECREASE_COUNT, name, amount);
+    }
+
+    /**
+     * Records that copies of a card were sold from the collection.
+     *
+     * @param name   The name of the card.
+     * @param amount The number of copies sold.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logSellCard(String name, int amount) {
+        return logNameAndInt(SELL_CARD, name, amount);
+    }
+
+    /**
+     * Records that a binder was created.
+     *
+     * @param name     The name of the binder.
+     * @param type     The binder type string.
+     * @param capacity The binder's capacity.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logCreateBinder(String name, String type, int capacity) {
+        return logTwoNamesAndInt(CREATE_BINDER, name, type, capacity);
+    }
+
+    /**
+     * Records that a binder was deleted.
+     *
+     * @param name The name of the binder.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logDeleteBinder(String name) {
+        return logName(DELETE_BINDER, name);
+    }
+
+    /**
+     * Records that a binder was sold.
+     *
+     * @param name The name of the binder.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logSellBinder(String name) {
+        return logName(SELL_BINDER, name);
+    }
+
+    /**
+     * Records that a card was moved from the collection into a binder.
+     *
+     * @param cardName   The name of the card.
+     * @param binderName The name of the binder.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logAddCardToBinder(String cardName, String binderName) {
+        return logTwoNames(ADD_CARD_TO_BINDER, cardName, binderName);
+    }
+
+    /**
+     * Records that several cards were moved from the collection into a
+     * binder in one call. The batch is written as a single record.
+     *
+     * @param binderName The name of the binder.
+     * @param moved      The number of copies moved, keyed by card name, in
+     *                   the order they were moved.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logAddCardsToBinder(String binderName, Map<String, Integer> moved) {
+        synchronized (lock) {
+            begin(ADD_CARDS_TO_BINDER);
+            putString(binderName);
+            putInt(moved.size());
+
+            for (Map.Entry<String, Integer> entry : moved.entrySet()) {
+                putString(entry.getKey());
+                putInt(entry.getValue());
+            }
+
+            return end();
+        }
+    }
+
+    /**
+     * Records that a card was moved from a binder back to the collection.
+     *
+     * @param slot       The slot of the removed card.
+     * @param binderName The name of the binder.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logRemoveCardFromBinder(int slot, String binderName) {
+        return logIntAndName(REMOVE_CARD_FROM_BINDER, slot, binderName);
+    }
+
+    /**
+     * Records a completed trade.
+     *
+     * @param binderName   The name of the binder.
+     * @param outgoingSlot The slot of the card given up.
+     * @param incomingCard The card received.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logTrade(String binderName, int outgoingSlot, Card incomingCard) {
+        synchronized (lock) {
+            begin(TRADE);
+            putString(binderName);
+            putInt(outgoingSlot);
+            putString(incomingCard.getName());
+            putDouble(incomingCard.getBaseValue());
+            putByte(incomingCard.getRarity().ordinal());
+            putByte(incomingCard.getVariant().ordinal());
+            return end();
+        }
+    }
+
+    /**
+     * Records that a custom price was set on a binder.
+     *
+     * @param binderName The name of the binder.
+     * @param price      The price that was set.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logSetBinderPrice(String binderName, double price) {
+        synchronized (lock) {
+            begin(SET_BINDER_PRICE);
+            putString(binderName);
+            putDouble(price);
+            return end();
+        }
+    }
+
+    /**
+     * Records that a deck was created.
+     *
+     * @param name     The name of the deck.
+     * @param type     The deck type string.
+     * @param capacity The deck's capacity.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logCreateDeck(String name, String type, int capacity) {
+        return logTwoNamesAndInt(CREATE_DECK, name, type, capacity);
+    }
+
+    /**
+     * Records that a deck was deleted.
+     *
+     * @param name The name of the deck.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logDeleteDeck(String name) {
+        return logName(DELETE_DECK, name);
+    }
+
+    /**
+     * Records that a deck was sold.
+     *
+     * @param name The name of the deck.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logSellDeck(String name) {
+        return logName(SELL_DECK, name);
+    }
+
+    /**
+     * Records that a card was moved from the collection into a deck.
+     *
+     * @param cardName The name of the card.
+     * @param deckName The name of the deck.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logAddCardToDeck(String cardName, String deckName) {
+        return logTwoNames(ADD_CARD_TO_DECK, cardName, deckName);
+    }
+
+    /**
+     * Records that a card was moved from a deck back to the collection.
+     *
+     * @param slot     The slot of the removed card.
+     * @param deckName The name of the deck.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    public boolean logRemoveCardFromDeck(int slot, String deckName) {
+        return logIntAndName(REMOVE_CARD_FROM_DECK, slot, deckName);
+    }
+
+    /**
+     * Appends a record holding a single name.
+     *
+     * @param op   The operation code.
+     * @param name The name argument.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    private boolean logName(byte op, String name) {
+        synchronized (lock) {
+            begin(op);
+            putString(name);
+            return end();
+        }
+    }
+
+    /**
+     * Appends a record holding two names.
+     *
+     * @param op     The operation code.
+     * @param first  The first name argument.
+     * @param second The second name argument.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    private boolean logTwoNames(byte op, String first, String second) {
+        synchronized (lock) {
+            begin(op);
+            putString(first);
+            putString(second);
+            return end();
+        }
+    }
+
+    /**
+     * Appends a record holding two names followed by an int.
+     *
+     * @param op     The operation code.
+     * @param first  The first name argument.
+     * @param second The second name argument.
+     * @param value  The int argument.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    private boolean logTwoNamesAndInt(byte op, String first, String second, int value) {
+        synchronized (lock) {
+            begin(op);
+            putString(first);
+            putString(second);
+            putInt(value);
+            return end();
+        }
+    }
+
+    /**
+     * Appends a record holding a name followed by an int.
+     *
+     * @param op    The operation code.
+     * @param name  The name argument.
+     * @param value The int argument.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    private boolean logNameAndInt(byte op, String name, int value) {
+        synchronized (lock) {
+            begin(op);
+            putString(name);
+            putInt(value);
+            return end();
+        }
+    }
+
+    /**
+     * Appends a record holding an int followed by a name.
+     *
+     * @param op    The operation code.
+     * @param value The int argument.
+     * @param name  The name argument.
+     * @return true if the record was appended, false if it was dropped.
+     */
+    private boolean logIntAndName(byte op, int value, String name) {
+        synchronized (lock) {
+            begin(op);
+            putInt(value);
+            putString(name);
+            return end();
+        }
+    }
+
+    /**
+     * Starts encoding a record by reserving its header. Must be called while
+     * holding {@code lock}.
+     *
+     * @param op The operation code of the record.
+     */
+    private void begin(byte op) {
+        ensureRoom(HEADER_SIZE + 1);
+        recordStart = active.position();
+        active.position(recordStart + HEADER_SIZE);
+        active.put(op);
+    }
+
+    /**
+     * Finishes the record being encoded by filling in its header, then wakes
+     * the writer thread. Must be called while holding {@code lock}.
+     *
+     * @return true if the record was appended, false if it was dropped
+     *         because the journal is closed or its writer has failed.
+     */
+    private boolean end() {
+        int length = active.position() - recordStart - HEADER_SIZE;
+
+        crc.reset();
+        crc.update(active.array(), recordStart + HEADER_SIZE, length);
+        active.putInt(recordStart, length);
+        active.putInt(recordStart + 4, (int) crc.getValue());
+
+        if (closed || failure != null) {
+            // Drop the record; the journal can no longer persist it.
+            active.position(recordStart);
+            return false;
+        }
+
+        appended++;
+        records++;
+        lock.notifyAll();
+        return true;
+    }
+
+    /**
+     * Writes one byte into the current record.
+     *
+     * @param value The byte value, given as an int.
+     */
+    private void putByte(int value) {
+        ensureRoom(1);
+        active.put((byte) value);
+    }
+
+    /**
+     * Writes an int into the current record.
+     *
+     * @param value The value to write.
+     */
+    private void putInt(int value) {
+        ensureRoom(4);
+        active.putInt(value);
+    }
+
+    /**
+     * Writes a double into the current record.
+     *
+     * @param value The value to write.
+     */
+    private void putDouble(double value) {
+        ensureRoom(8);
+        active.putDouble(value);
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string into the current record.
+     *
+     * @param value The string to write.
+     */
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(4 + bytes.length);
+        active.putInt(bytes.length);
+        active.put(bytes);
+    }
+
+    /**
+     * Grows the active buffer if it cannot hold the given number of extra
+     * bytes.
+     *
+     * @param bytes The number of bytes about to be written.
+     */
+    private void ensureRoom(int bytes) {
+        if (active.remaining() >= bytes)
+            return;
+
+        int capacity = Math.max(active.capacity() * 2, active.position() + bytes);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        active.flip();
+        grown.put(active);
+        active = grown;
+    }
+
+    /**
+     * The writer thread's main loop. Each pass swaps out every record
+     * appended so far, writes them in one go and forces them to disk.
+     */
+    private void runWriter() {
+        while (true) {
+            ByteBuffer batch;
+            long batchEnd;
+
+            synchronized (lock) {
+                while (active.position() == 0 && !closed)
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+
+                if (active.position() == 0)
+                    return;
+
+                batch = active;
+                batchEnd = appended;
+                active = spare;
+                spare = null;
+            }
+
+            try {
+                batch.flip();
+                while (batch.hasRemaining())
+                    channel.write(batch);
+
+                channel.force(false);
+            } catch (IOException e) {
+                System.out.println("Error: Journal write failed: " + e.getMessage());
+
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+
+            synchronized (lock) {
+                batch.clear();
+                spare = batch;
+                durable = batchEnd;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Gets the error that stopped the writer thread. Once it is set, every
+     * later record is dropped and the caller's changes can no longer be
+     * saved.
+     *
+     * @return The write error, or null if the journal is healthy.
+     */
+    public IOException getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Gets the epoch of the records currently in the journal.
+     *
+     * @return The current epoch.
+     */
+    public long getEpoch() {
+        synchronized (lock) {
+            return this.epoch;
+        }
+    }
+
+    /**
+     * Checks whether the current epoch holds no records, meaning a snapshot
+     * of the current state would not cover anything new.
+     *
+     * @return true if no records were replayed or appended in this epoch.
+     */
+    public boolean isEmpty() {
+        synchronized (lock) {
+            return this.records == 0;
+        }
+    }
+
+    /**
+     * Discards every record and moves the journal to the next epoch. This is
+     * called once a snapshot covering the current epoch has been safely
+     * written.
+     *
+     * <p>
+     * It waits for the writer to finish any group in progress and blocks new
+     * records until the file has been emptied.
+     * </p>
+     *
+     * @throws IOException if the journal failed or could not be emptied.
+     */
+    public void advanceEpoch() throws IOException {
+        synchronized (lock) {
+            while ((active.position() > 0 || durable < appended) && failure == null)
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while emptying the journal.");
+                }
+
+            if (failure != null)
+                throw failure;
+
+            writeHeader(channel, epoch + 1);
+            epoch++;
+            records = 0;
+        }
+    }
+
+    /**
+     * Blocks until every record appended so far has been forced to disk.
+     *
+     * @throws IOException if the journal failed to write a record.
+     */
+    public void sync() throws IOException {
+        synchronized (lock) {
+            long target = appended;
+
+            while (durable < target && failure == null)
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+            if (failure != null)
+                throw failure;
+        }
+    }
+
+    /**
+     * Flushes every pending record, stops the writer thread and closes the
+     * journal file. Records logged after this call are dropped.
+     *
+     * @throws IOException if the journal failed to write a record or could
+     *                     not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed && !writer.isAlive())
+                return;
+
+            closed = true;
+            lock.notifyAll();
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        channel.close();
+
+        if (failure != null)
+            throw failure;
+    }
+}
@@ -0,0 +1,519 @@
+package com.tcis.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.tcis.backend.BinderManager;
+import com.tcis.backend.CollectionManager;
+import com.tcis.backend.DeckManager;
+import com.tcis.ledger.LedgerEntry;
+import com.tcis.ledger.MoneyLedger;
+import com.tcis.ledger.SaleType;
+import com.tcis.models.binder.Binder;
+import com.tcis.models.binder.CollectorBinder;
+import com.tcis.models.binder.LuxuryBinder;
+import com.tcis.models.binder.PauperBinder;
+import com.tcis.models.binder.RaresBinder;
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+import com.tcis.models.deck.Deck;
+
+/**
+ * A compact binary image of the whole inventory: the card table with counts,
+ * every binder with its type, capacity, custom price and each card in its
+ * slot, every deck with its capacity and each card in its slot, and the
+ * money ledger that holds the player's total money.
+ *
+ * <p>
+ * Snapshots are written and read through a memory-mapped FileChannel. Writing
+ * first encodes the whole state into a private copy, then sizes the file
+ * exactly from that copy, fills the mapping and atomically renames it over
+ * the previous snapshot, so neither a concurrent change nor a crash leaves a
+ * half-written snapshot behind. Reading maps the file and decodes it in
+ * place, field by field with the mapped buffer's relative gets, instead of
+ * parsing it through a stream, and the card table is registered in one pass
+ * with its storage presized.
+ * </p>
+ *
+ * <p>
+ * A snapshot also records the last journal epoch it covers. An instance of
+ * this class holds that epoch; everything else is restored straight into the
+ * managers and the ledger.
+ * </p>
+ */
+public class InventorySnapshot {
+    /**
+     * The magic number at the start of every snapshot file.
+     */
+    private static final int MAGIC = 0x54435350; // "TCSP"
+
+    /**
+     * The version of the format written by this class. Older snapshots are
+     * still read: version 3 has no slots, so its cards are placed in
+     * consecutive slots, and version 2 also has no capacities, so its
+     * binders and decks get the default capacity.
+     */
+    private static final int VERSION = 4;
+
+    /**
+     * The oldest version of the format this class can read.
+     */
+    private static final int MIN_VERSION = 2;
+
+    /**
+     * The size of the fixed header. It holds the magic number, the version,
+     * the checksum of the body, the journal epoch and the card, binder, deck
+     * and ledger entry counts.
+     */
+    private static final int HEADER_SIZE = 36;
+
+    /**
+     * The offset of the body checksum within the header.
+     */
+    private static final int CRC_OFFSET = 8;
+
+    /**
+     * The binder type strings understood by BinderManager.createBinder,
+     * indexed by the type code stored in the snapshot.
+     */
+    private static final String[] BINDER_TYPES = {
+        "non-curated", "collector", "pauper", "rares", "luxury"
+    };
+
+    /**
+     * The deck type strings understood by DeckManager.createDeck, indexed by
+     * the type code stored in the snapshot.
+     */
+    private static final String[] DECK_TYPES = { "normal", "sellable" };
+
+    /**
+     * The last journal epoch covered by the snapshot.
+     */
+    private final long journalEpoch;
+
+    /**
+     * Constructs the result of loading a snapshot.
+     *
+     * @param journalEpoch The last journal epoch covered by the snapshot.
+     */
+    private InventorySnapshot(long journalEpoch) {
+        this.journalEpoch = journalEpoch;
+    }
+
+    /**
+     * Gets the last journal epoch covered by the snapshot.
+     *
+     * @return The journal epoch.
+     */
+    public long getJournalEpoch() {
+        return this.journalEpoch;
+    }
+
+    /**
+     * Writes a snapshot of the inventory to the given path, replacing any
+     * previous snapshot only once the new one is complete and on disk.
+     *
+     * @param path              The snapshot file.
+     * @param journalEpoch      The last journal epoch the snapshot covers.
+     * @param collectionManager The card table and counts to save.
+     * @param binderManager     The binders to save.
+     * @param deckManager       The decks to save.
+     * @param ledger            The sales to save.
+     * @throws IOException if the snapshot cannot be written or would be
+     *                     larger than 2 GB.
+     */
+    public static void write(Path path, long journalEpoch,
+                             CollectionManager collectionManager,
+                             BinderManager binderManager,
+                             DeckManager deckManager,
+                             MoneyLedger ledger) throws IOException {
+        // Capture the state first, encoding every record exactly once and
+        // reading each binder and deck once under its monitor. The file is
+        // then sized and filled from this copy alone, so changes made while
+        // it is written can neither overflow nor tear it.
+        int cardTypeCount = collectionManager.getCardTypeCount();
+        ArrayList<Binder> binders = binderManager.getBinders();
+        ArrayList<Deck> decks = deckManager.getDecks();
+        List<LedgerEntry> sales = ledger.getEntries();
+
+        byte[][] cardRecords = new byte[cardTypeCount][];
+        ArrayList<byte[]> sections = new ArrayList<>(
+                cardTypeCount + binders.size() + decks.size() + sales.size());
+
+        for (int id = 0; id < cardTypeCount; id++) {
+            cardRecords[id] = encodeCard(collectionManager.getCard(id));
+            sections.add(ByteBuffer.allocate(cardRecords[id].length + 4)
+                    .put(cardRecords[id])
+                    .putInt(collectionManager.getCardCount(id))
+                    .array());
+        }
+
+        for (Binder binder : binders) {
+            int[] slots;
+            byte[][] cards;
+
+            synchronized (binder) {
+                slots = binder.getSlots().toArray();
+                cards = new byte[slots.length][];
+                for (int i = 0; i < slots.length; i++)
+                    cards[i] = cardRecord(collectionManager, cardRecords,
+                            binder.getCardAt(slots[i]));
+            }
+
+            byte[] name = binder.getName().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer section = ByteBuffer.allocate(
+                    4 + name.length + 1 + 4 + 8 + contentsSize(cards));
+
+            section.putInt(name.length).put(name);
+            section.put((byte) binderType(binder));
+            section.putInt(binder.getCapacity());
+            section.putLong((binder instanceof LuxuryBinder)
+                            ? ((LuxuryBinder) binder).getCustomPriceCents()
+                            : 0);
+            putContents(section, slots, cards);
+            sections.add(section.array());
+        }
+
+        for (Deck deck : decks) {
+            int[] slots;
+            byte[][] cards;
+
+            synchronized (deck) {
+                slots = deck.getSlots().toArray();
+                cards = new byte[slots.length][];
+                for (int i = 0; i < slots.length; i++)
+                    cards[i] = cardRecord(collectionManager, cardRecords,
+                            deck.getCardAt(slots[i]));
+            }
+
+            byte[] name = deck.getName().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer section = ByteBuffer.allocate(
+                    4 + name.length + 1 + 4 + contentsSize(cards));
+
+            section.putInt(name.length).put(name);
+            section.put((byte) (deck.isSellable() ? 1 : 0));
+            section.putInt(deck.getCapacity());
+            putContents(section, slots, cards);
+            sections.add(section.array());
+        }
+
+        for (LedgerEntry sale : sales) {
+            byte[] itemName = sale.getItemName().getBytes(StandardCharsets.UTF_8);
+
+            sections.add(ByteBuffer.allocate(1 + 4 + itemName.length + 4 + 8)
+                    .put((byte) sale.getType().ordinal())
+                    .putInt(itemName.length)
+                    .put(itemName)
+                    .putInt(sale.getQuantity())
+                    .putLong(sale.getAmountCents())
+                    .array());
+        }
+
+        long size = HEADER_SIZE;
+        for (byte[] section : sections)
+            size += section.length;
+
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("Inventory is too large for a single snapshot file.");
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(0); // Checksum, filled in below
+            out.putLong(journalEpoch);
+            out.putInt(cardTypeCount);
+            out.putInt(binders.size());
+            out.putInt(decks.size());
+            out.putInt(sales.size());
+
+            for (byte[] section : sections)
+                out.put(section);
+
+            out.putInt(CRC_OFFSET, checksum(out, (int) size));
+            out.force();
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a snapshot into empty managers.
+     *
+     * <p>
+     * Every card, binder, deck and slot must be restored exactly, or the
+     * whole load fails. On failure the managers are left partly filled, so
+     * callers should load into fresh managers and keep them only if this
+     * returns normally.
+     * </p>
+     *
+     * @param path              The snapshot file.
+     * @param collectionManager The empty collection to fill.
+     * @param binderManager     The empty binder manager to fill.
+     * @param deckManager       The empty deck manager to fill.
+     * @param ledger            The empty ledger to fill.
+     * @return The snapshot's journal epoch.
+     * @throws IOException if the file cannot be read or is not a valid
+     *                     snapshot.
+     */
+    public static InventorySnapshot load(Path path,
+                                         CollectionManager collectionManager,
+                                         BinderManager binderManager,
+                                         DeckManager deckManager,
+                                         MoneyLedger ledger) throws IOException {
+        MappedByteBuffer in;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+                throw new IOException(path + " is not a card inventory snapshot.");
+
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (in.getInt(0) != MAGIC)
+            throw new IOException(path + " is not a card inventory snapshot.");
+
+        int version = in.getInt(4);
+        if (version < MIN_VERSION || version > VERSION)
+            throw new IOException("Unsupported snapshot version " + version + ".");
+
+        if (in.getInt(CRC_OFFSET) != checksum(in, in.capacity()))
+            throw new IOException("Snapshot " + path + " is corrupt.");
+
+        long journalEpoch = in.getLong(12);
+        int cardTypeCount = in.getInt(20);
+        int binderCount = in.getInt(24);
+        int deckCount = in.getInt(28);
+        int saleCount = in.getInt(32);
+        byte[] scratch = new byte[256];
+
+        in.position(HEADER_SIZE);
+        collectionManager.ensureCapacity(cardTypeCount);
+
+        try {
+            for (int i = 0; i < cardTypeCount; i++) {
+                String name = getString(in, scratch);
+                double value = in.getDouble();
+                Rarity rarity = Rarity.values()[in.get()];
+                Variant variant = Variant.values()[in.get()];
+
+                if (collectionManager.registerCard(name, value, rarity, variant,
+                        in.getInt()) == Card.UNREGISTERED)
+                    throw new IOException("Snapshot " + path + " is corrupt: card '" +
+                            name + "' appears twice.");
+            }
+
+            for (int i = 0; i < binderCount; i++) {
+                String name = getString(in, scratch);
+                String type = BINDER_TYPES[in.get()];
+                int capacity = (version >= 3) ? in.getInt() : Binder.DEFAULT_CAPACITY;
+                long customPriceCents = in.getLong();
+                int cardCount = in.getInt();
+
+                if (!binderManager.createBinder(name, type, capacity))
+                    throw new IOException("Snapshot " + path +
+                            " is corrupt: binder '" + name + "' cannot be created.");
+
+                Binder binder = binderManager.findBinder(name);
+
+                for (int j = 0; j < cardCount; j++) {
+                    int slot = (version >= 4) ? in.getInt() : j;
+
+                    if (!binderManager.restoreCard(name, slot,
+                            collectionManager.internCard(getCard(in, scratch))))
+                        throw new IOException("Snapshot " + path + " is corrupt: slot " +
+                                slot + " of binder '" + name + "' cannot be filled.");
+                }
+
+                if (customPriceCents > 0 &&
+                        !((LuxuryBinder) binder).setPriceCents(customPriceCents))
+                    throw new IOException("Snapshot " + path + " is corrupt: binder '" +
+                            name + "' has an invalid price.");
+            }
+
+            for (int i = 0; i < deckCount; i++) {
+                String name = getString(in, scratch);
+                String type = DECK_TYPES[in.get()];
+                int capacity = (version >= 3) ? in.getInt() : Deck.DEFAULT_CAPACITY;
+                int cardCount = in.getInt();
+
+                if (!deckManager.createDeck(name, type, capacity))
+                    throw new IOException("Snapshot " + path +
+                            " is corrupt: deck '" + name + "' cannot be created.");
+
+                for (int j = 0; j < cardCount; j++) {
+                    int slot = (version >= 4) ? in.getInt() : j;
+
+                    if (!deckManager.restoreCard(name, slot,
+                            collectionManager.internCard(getCard(in, scratch))))
+                        throw new IOException("Snapshot " + path + " is corrupt: slot " +
+                                slot + " of deck '" + name + "' cannot be filled.");
+                }
+            }
+
+            SaleType[] saleTypes = SaleType.values();
+            for (int i = 0; i < saleCount; i++) {
+                SaleType type = saleTypes[in.get()];
+                String itemName = getString(in, scratch);
+                int quantity = in.getInt();
+
+                ledger.recordSale(type, itemName, quantity, in.getLong());
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot " + path + " is corrupt: " + e.getMessage(), e);
+        }
+
+        return new InventorySnapshot(journalEpoch);
+    }
+
+    /**
+     * Gets the type code of a binder.
+     *
+     * @param binder The binder.
+     * @return Its index in {@code BINDER_TYPES}.
+     */
+    private static int binderType(Binder binder) {
+        if (binder instanceof LuxuryBinder)
+            return 4;
+        if (binder instanceof RaresBinder)
+            return 3;
+        if (binder instanceof PauperBinder)
+            return 2;
+        if (binder instanceof CollectorBinder)
+            return 1;
+        return 0;
+    }
+
+    /**
+     * Computes the checksum of everything after the header.
+     *
+     * @param buffer The mapped snapshot.
+     * @param size   The size of the snapshot in bytes.
+     * @return The CRC32 of the body.
+     */
+    private static int checksum(MappedByteBuffer buffer, int size) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_SIZE).limit(size));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Encodes a card's name, base value, rarity and variant.
+     *
+     * @param card The card.
+     * @return The encoded card.
+     */
+    private static byte[] encodeCard(Card card) {
+        byte[] name = card.getName().getBytes(StandardCharsets.UTF_8);
+
+        return ByteBuffer.allocate(4 + name.length + 8 + 1 + 1)
+                .putInt(name.length)
+                .put(name)
+                .putDouble(card.getBaseValue())
+                .put((byte) card.getRarity().ordinal())
+                .put((byte) card.getVariant().ordinal())
+                .array();
+    }
+
+    /**
+     * Gets the encoding of a card held in a binder or deck, reusing the one
+     * already made for its card type when the card is that type's canonical
+     * instance.
+     *
+     * @param collectionManager The collection the card types belong to.
+     * @param cardRecords       The encoded card types, indexed by ID.
+     * @param card              The card.
+     * @return The encoded card.
+     */
+    private static byte[] cardRecord(CollectionManager collectionManager,
+                                     byte[][] cardRecords, Card card) {
+        int id = card.getId();
+
+        if (id >= 0 && id < cardRecords.length && collectionManager.getCard(id) == card)
+            return cardRecords[id];
+
+        return encodeCard(card);
+    }
+
+    /**
+     * Gets the encoded size of a binder's or deck's contents.
+     *
+     * @param cards The encoded cards.
+     * @return The number of bytes {@code putContents} writes.
+     */
+    private static int contentsSize(byte[][] cards) {
+        int size = 4;
+
+        for (byte[] card : cards)
+            size += 4 + card.length;
+
+        return size;
+    }
+
+    /**
+     * Writes a binder's or deck's contents: the card count, then each card's
+     * slot and encoding.
+     *
+     * @param out   The buffer to write to.
+     * @param slots The occupied slots, in ascending order.
+     * @param cards The encoded card in each slot.
+     */
+    private static void putContents(ByteBuffer out, int[] slots, byte[][] cards) {
+        out.putInt(slots.length);
+
+        for (int i = 0; i < slots.length; i++)
+            out.putInt(slots[i]).put(cards[i]);
+    }
+
+    /**
+     * Reads a card written by {@code encodeCard}.
+     *
+     * @param in      The buffer to read from.
+     * @param scratch A reusable buffer for decoding names.
+     * @return A new, unregistered card.
+     */
+    private static Card getCard(MappedByteBuffer in, byte[] scratch) {
+        String name = getString(in, scratch);
+        double value = in.getDouble();
+        Rarity rarity = Rarity.values()[in.get()];
+        Variant variant = Variant.values()[in.get()];
+
+        return new Card(name, value, rarity, variant);
+    }
+
+    /**
+     * Reads a string written as its UTF-8 length followed by its bytes.
+     *
+     * @param in      The buffer to read from.
+     * @param scratch A reusable buffer large enough for any name.
+     * @return The decoded string.
+     */
+    private static String getString(MappedByteBuffer in, byte[] scratch) {
+        int length = in.getInt();
+        byte[] bytes = (length <= scratch.length) ? scratch : new byte[length];
+
+        in.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,224 @@
+package com.tcis.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+/**
+ * A table of numbered slots, each holding at most one element, for
+ * containers whose elements must keep a stable handle while others come and
+ * go.
+ *
+ * <p>
+ * An element keeps the slot number it was given for as long as it stays in
+ * the table, so the number can be handed out and used later to reach or
+ * remove that element directly. Removing an element only empties its slot;
+ * nothing else moves. A new element goes into the lowest empty slot, so the
+ * slot it receives depends on the order of every earlier add and removal:
+ * the same sequence of operations always yields the same slots, but a
+ * different order can leave the same elements in different slots. A saved
+ * layout is therefore rebuilt by placing each element back in its recorded
+ * slot with {@code put}, and a log of slot-addressed changes must be
+ * replayed in the order it was applied.
+ * </p>
+ *
+ * <p>
+ * The slots are stored in fixed-size chunks that are allocated when first
+ * used and released when emptied, and a bit set records which slots are in
+ * use. Getting and removing an element by slot take constant time; placing
+ * one also looks for the next empty slot, which scans the bit set a word of
+ * 64 slots at a time. Iterating visits the elements in slot order and skips
+ * empty slots the same way.
+ * </p>
+ *
+ * <p>
+ * It is not safe for concurrent use; callers that share one must
+ * synchronize access to it themselves.
+ * </p>
+ *
+ * @param <T> The type of element stored.
+ */
+public class SlotTable<T> extends AbstractCollection<T> {
+    /**
+     * The number of bits of a slot number that select its place within a
+     * chunk.
+     */
+    private static final int CHUNK_SHIFT = 8;
+
+    /**
+     * The number of slots in each chunk.
+     */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /**
+     * The chunks of slots, indexed by slot number divided by
+     * {@code CHUNK_SIZE}. A chunk with no elements is null.
+     */
+    private Object[][] chunks;
+
+    /**
+     * The number of elements in each chunk.
+     */
+    private int[] counts;
+
+    /**
+     * The slots that hold an element.
+     */
+    private final BitSet occupied;
+
+    /**
+     * The lowest empty slot.
+     */
+    private int firstFree;
+
+    /**
+     * The number of elements in the table.
+     */
+    private int size;
+
+    /**
+     * Constructs a new, empty table.
+     */
+    public SlotTable() {
+        this.chunks = new Object[1][];
+        this.counts = new int[1];
+        this.occupied = new BitSet();
+    }
+
+    /**
+     * Gets the number of elements in the table.
+     *
+     * @return The number of elements.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the element in a slot.
+     *
+     * @param slot The slot number.
+     * @return The element in that slot, or null if the slot is empty or the
+     *         number is negative.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int slot) {
+        if (slot < 0 || !occupied.get(slot))
+            return null;
+
+        return (T) chunks[slot >>> CHUNK_SHIFT][slot & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * Gets the slot that {@code add} will fill next.
+     *
+     * @return The lowest empty slot.
+     */
+    public int firstFreeSlot() {
+        return this.firstFree;
+    }
+
+    /**
+     * Places an element in the lowest empty slot.
+     *
+     * @param value The element to place. Must not be null.
+     * @return true, as the table always changes.
+     */
+    @Override
+    public boolean add(T value) {
+        put(firstFree, value);
+        return true;
+    }
+
+    /**
+     * Places an element in a particular empty slot.
+     *
+     * @param slot  The slot number. Must not be negative.
+     * @param value The element to place. Must not be null.
+     * @return true if it was placed, false if the slot already holds an
+     *         element.
+     */
+    public boolean put(int slot, T value) {
+        if (occupied.get(slot))
+            return false;
+
+        int chunk = slot >>> CHUNK_SHIFT;
+        if (chunk >= chunks.length) {
+            int grown = Math.max(chunk + 1, chunks.length * 2);
+            chunks = Arrays.copyOf(chunks, grown);
+            counts = Arrays.copyOf(counts, grown);
+        }
+
+        if (chunks[chunk] == null)
+            chunks[chunk] = new Object[CHUNK_SIZE];
+
+        chunks[chunk][slot & (CHUNK_SIZE - 1)] = value;
+        counts[chunk]++;
+        occupied.set(slot);
+        size++;
+
+        if (slot == firstFree)
+            firstFree = occupied.nextClearBit(slot + 1);
+
+        return true;
+    }
+
+    /**
+     * Empties a slot. No other element moves.
+     *
+     * @param slot The slot number.
+     * @return The element that was in the slot, or null if it was already
+     *         empty or the number is negative.
+     */
+    public T remove(int slot) {
+        T removed = get(slot);
+        if (removed == null)
+            return null;
+
+        int chunk = slot >>> CHUNK_SHIFT;
+        chunks[chunk][slot & (CHUNK_SIZE - 1)] = null;
+        if (--counts[chunk] == 0)
+            chunks[chunk] = null;
+
+        occupied.clear(slot);
+        size--;
+
+        if (slot < firstFree)
+            firstFree = slot;
+
+        return removed;
+    }
+
+    /**
+     * Gets the slots that hold an element, in ascending order.
+     *
+     * @return A stream of the occupied slot numbers.
+     */
+    public IntStream slots() {
+        return occupied.stream();
+    }
+
+    /**
+     * Finds the next slot that holds an element.
+     *
+     * @param from The slot to start looking at.
+     * @return The lowest occupied slot at or after {@code from}, or -1 if
+     *         there is none.
+     */
+    public int nextOccupiedSlot(int from) {
+        return occupied.nextSetBit(from);
+    }
+
+    /**
+     * Gets an iterator over the elements, in slot order.
+     *
+     * @return An iterator over the elements.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new SlotTableIterator<>(this);
+    }
+}
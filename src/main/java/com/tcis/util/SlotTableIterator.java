@@ -0,0 +1,58 @@
+package com.tcis.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the elements of a SlotTable, in slot order. It does not
+ * support removal; elements are removed from the table by slot.
+ *
+ * @param <T> The type of element stored.
+ */
+class SlotTableIterator<T> implements Iterator<T> {
+    /**
+     * The table being iterated.
+     */
+    private final SlotTable<T> table;
+
+    /**
+     * The next occupied slot, or -1 if there is none.
+     */
+    private int next;
+
+    /**
+     * Constructs an iterator positioned at the table's first element.
+     *
+     * @param table The table to iterate.
+     */
+    SlotTableIterator(SlotTable<T> table) {
+        this.table = table;
+        this.next = table.nextOccupiedSlot(0);
+    }
+
+    /**
+     * Checks whether any elements remain.
+     *
+     * @return true if {@code next} will return an element.
+     */
+    @Override
+    public boolean hasNext() {
+        return next >= 0;
+    }
+
+    /**
+     * Returns the next element and moves past it.
+     *
+     * @return The element in the next occupied slot.
+     * @throws NoSuchElementException if no elements remain.
+     */
+    @Override
+    public T next() {
+        if (next < 0)
+            throw new NoSuchElementException();
+
+        T value = table.get(next);
+        next = table.nextOccupiedSlot(next + 1);
+        return value;
+    }
+}
@@ -0,0 +1,388 @@
+package com.tcis.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * A collection that keeps its elements permanently sorted and can find an
+ * element by its position in that order.
+ *
+ * <p>
+ * It is a balanced binary search tree (an AVL tree) in which every node also
+ * records the size of its subtree. Adding or removing an element, finding
+ * the element at a position, and finding the position of an element all take
+ * O(log n) time, so a sorted view can be kept up to date as elements come
+ * and go instead of being re-sorted every time it is shown. Elements that the
+ * comparator considers equal are stored only once.
+ * </p>
+ *
+ * <p>
+ * It is not safe for concurrent use; callers that share one must
+ * synchronize access to it themselves.
+ * </p>
+ *
+ * @param <T> The type of element stored.
+ */
+public class SortedIndex<T> {
+    /**
+     * The number of elements added together at or above which
+     * {@code addAll} rebuilds the tree instead of inserting one by one.
+     */
+    private static final int BULK_THRESHOLD = 64;
+
+    /**
+     * The order in which elements are kept.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The root of the tree, or null if it is empty.
+     */
+    private SortedIndexNode<T> root;
+
+    /**
+     * Constructs a new, empty index.
+     *
+     * @param comparator The order in which elements are kept. Elements it
+     *                   considers equal are treated as the same element.
+     */
+    public SortedIndex(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Gets the number of elements in the index.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds an element in its sorted position.
+     *
+     * @param value The element to add.
+     * @return true if it was added, false if an equal element is already
+     *         present.
+     */
+    public boolean add(T value) {
+        int before = size(root);
+        root = insert(root, value);
+        return size(root) != before;
+    }
+
+    /**
+     * Adds many elements at once.
+     *
+     * <p>
+     * A few elements are inserted one by one. When many arrive together, as
+     * after a bulk import, they are sorted once, merged with the current
+     * contents, and the tree is rebuilt perfectly balanced, which takes
+     * O(n + m log m) time instead of O(m log n) rebalancing inserts.
+     * </p>
+     *
+     * @param values The elements to add. Elements equal to one already
+     *               present, or to each other, are added only once.
+     */
+    public void addAll(Collection<? extends T> values) {
+        if (values.size() < BULK_THRESHOLD || values.size() < size(root) / 8) {
+            for (T value : values)
+                add(value);
+            return;
+        }
+
+        ArrayList<T> added = new ArrayList<>(values);
+        added.sort(comparator);
+
+        ArrayList<T> current = toList();
+        ArrayList<T> merged = new ArrayList<>(current.size() + added.size());
+        int i = 0;
+        int j = 0;
+
+        while (i < current.size() || j < added.size()) {
+            T next;
+
+            if (j == added.size()) {
+                next = current.get(i++);
+            } else if (i == current.size()) {
+                next = added.get(j++);
+            } else {
+                int cmp = comparator.compare(current.get(i), added.get(j));
+
+                if (cmp < 0) {
+                    next = current.get(i++);
+                } else {
+                    next = added.get(j++);
+                    if (cmp == 0)
+                        i++;
+                }
+            }
+
+            if (merged.isEmpty() ||
+                comparator.compare(merged.get(merged.size() - 1), next) != 0)
+                merged.add(next);
+        }
+
+        root = build(merged, 0, merged.size());
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param value The element to remove.
+     * @return true if it was removed, false if it was not present.
+     */
+    public boolean remove(T value) {
+        int before = size(root);
+        root = delete(root, value);
+        return size(root) != before;
+    }
+
+    /**
+     * Gets the element at a position in sorted order.
+     *
+     * @param index The zero-based position.
+     * @return The element at that position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size(root))
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size(root));
+
+        SortedIndexNode<T> node = root;
+
+        while (true) {
+            int leftSize = size(node.left);
+
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    /**
+     * Finds the position of an element in sorted order.
+     *
+     * @param value The element to find.
+     * @return Its zero-based position, or -1 if it is not present.
+     */
+    public int indexOf(T value) {
+        SortedIndexNode<T> node = root;
+        int index = 0;
+
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return index + size(node.left);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Copies every element into a list, in sorted order. This takes O(n)
+     * time and performs no comparisons.
+     *
+     * @return A new list of the elements.
+     */
+    public ArrayList<T> toList() {
+        ArrayList<T> list = new ArrayList<>(size(root));
+        appendTo(root, list);
+        return list;
+    }
+
+    /**
+     * Builds a perfectly balanced subtree from a sorted range of elements.
+     *
+     * @param sorted The sorted elements.
+     * @param from   The inclusive start of the range.
+     * @param to     The exclusive end of the range.
+     * @return The root of the subtree, or null if the range is empty.
+     */
+    private static <T> SortedIndexNode<T> build(ArrayList<T> sorted, int from, int to) {
+        if (from >= to)
+            return null;
+
+        int mid = (from + to) >>> 1;
+        SortedIndexNode<T> node = new SortedIndexNode<>(sorted.get(mid));
+        node.left = build(sorted, from, mid);
+        node.right = build(sorted, mid + 1, to);
+        update(node);
+        return node;
+    }
+
+    /**
+     * Inserts an element into a subtree and rebalances it.
+     *
+     * @param node  The root of the subtree, or null if it is empty.
+     * @param value The element to insert.
+     * @return The new root of the subtree.
+     */
+    private SortedIndexNode<T> insert(SortedIndexNode<T> node, T value) {
+        if (node == null)
+            return new SortedIndexNode<>(value);
+
+        int cmp = comparator.compare(value, node.value);
+
+        if (cmp < 0)
+            node.left = insert(node.left, value);
+        else if (cmp > 0)
+            node.right = insert(node.right, value);
+        else
+            return node;
+
+        return balance(node);
+    }
+
+    /**
+     * Deletes an element from a subtree and rebalances it.
+     *
+     * @param node  The root of the subtree, or null if it is empty.
+     * @param value The element to delete.
+     * @return The new root of the subtree.
+     */
+    private SortedIndexNode<T> delete(SortedIndexNode<T> node, T value) {
+        if (node == null)
+            return null;
+
+        int cmp = comparator.compare(value, node.value);
+
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            if (node.left == null)
+                return node.right;
+
+            if (node.right == null)
+                return node.left;
+
+            // Replace the value with its successor, then delete that.
+            SortedIndexNode<T> successor = node.right;
+            while (successor.left != null)
+                successor = successor.left;
+
+            node.value = successor.value;
+            node.right = delete(node.right, successor.value);
+        }
+
+        return balance(node);
+    }
+
+    /**
+     * Updates a node's height and size and restores the AVL balance of its
+     * subtree with at most two rotations.
+     *
+     * @param node The node whose children may have changed.
+     * @return The new root of the subtree.
+     */
+    private static <T> SortedIndexNode<T> balance(SortedIndexNode<T> node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right))
+                node.left = rotateLeft(node.left);
+
+            return rotateRight(node);
+        }
+
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left))
+                node.right = rotateRight(node.right);
+
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Rotates a subtree to the left, lifting its right child.
+     *
+     * @param node The root of the subtree.
+     * @return The new root of the subtree.
+     */
+    private static <T> SortedIndexNode<T> rotateLeft(SortedIndexNode<T> node) {
+        SortedIndexNode<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Rotates a subtree to the right, lifting its left child.
+     *
+     * @param node The root of the subtree.
+     * @return The new root of the subtree.
+     */
+    private static <T> SortedIndexNode<T> rotateRight(SortedIndexNode<T> node) {
+        SortedIndexNode<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Recomputes a node's height and size from its children.
+     *
+     * @param node The node to update.
+     */
+    private static <T> void update(SortedIndexNode<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    /**
+     * Gets the height of a subtree.
+     *
+     * @param node The root of the subtree, or null.
+     * @return The height, or 0 for an empty subtree.
+     */
+    private static <T> int height(SortedIndexNode<T> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    /**
+     * Gets the number of nodes in a subtree.
+     *
+     * @param node The root of the subtree, or null.
+     * @return The size, or 0 for an empty subtree.
+     */
+    private static <T> int size(SortedIndexNode<T> node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    /**
+     * Appends the elements of a subtree to a list, in order.
+     *
+     * @param node The root of the subtree, or null.
+     * @param list The list to append to.
+     */
+    private static <T> void appendTo(SortedIndexNode<T> node, ArrayList<T> list) {
+        while (node != null) {
+            appendTo(node.left, list);
+            list.add(node.value);
+            node = node.right;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tcis.util;
+
+/**
+ * A single node of a SortedIndex.
+ *
+ * <p>
+ * Besides its value and children, each node records the height and the
+ * number of nodes in its own subtree, which keep the tree balanced and let
+ * it find an element by position.
+ * </p>
+ *
+ * @param <T> The type of element stored.
+ */
+class SortedIndexNode<T> {
+    /**
+     * The element stored at this node.
+     */
+    T value;
+
+    /**
+     * The subtree of smaller elements, or null if empty.
+     */
+    SortedIndexNode<T> left;
+
+    /**
+     * The subtree of larger elements, or null if empty.
+     */
+    SortedIndexNode<T> right;
+
+    /**
+     * The height of the subtree rooted here; a leaf has height 1.
+     */
+    int height;
+
+    /**
+     * The number of nodes in the subtree rooted here.
+     */
+    int size;
+
+    /**
+     * Constructs a new leaf node.
+     *
+     * @param value The element to store.
+     */
+    SortedIndexNode(T value) {
+        this.value = value;
+        this.height = 1;
+        this.size = 1;
+    }
+}
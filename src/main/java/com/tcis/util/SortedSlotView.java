@@ -0,0 +1,98 @@
+package com.tcis.util;
+
+import java.util.AbstractList;
+
+/**
+ * A live, read-only list of the elements of a SlotTable, in the order of a
+ * SortedIndex of their slots.
+ *
+ * <p>
+ * Nothing is copied. Each {@code get} finds the slot at a position of the
+ * index in O(log n) time and reads it from the table, so a list view that
+ * only asks for its visible rows touches only those rows. The owner keeps the
+ * index in step with the table; every read holds the owner's lock, so a row
+ * is never read while the owner is half way through a change.
+ * </p>
+ *
+ * @param <T> The type of element in the table.
+ */
+public class SortedSlotView<T> extends AbstractList<T> {
+    /**
+     * The table holding the elements.
+     */
+    private final SlotTable<T> table;
+
+    /**
+     * The occupied slots of the table, in the order of the view.
+     */
+    private final SortedIndex<Integer> order;
+
+    /**
+     * The lock the owner holds while it changes the table and the index.
+     */
+    private final Object lock;
+
+    /**
+     * Constructs a view of a table in the order of an index of its slots.
+     *
+     * @param table The table holding the elements.
+     * @param order The occupied slots, in the order of the view.
+     * @param lock  The lock held while the table and index change.
+     */
+    public SortedSlotView(SlotTable<T> table, SortedIndex<Integer> order, Object lock) {
+        this.table = table;
+        this.order = order;
+        this.lock = lock;
+    }
+
+    /**
+     * Gets the element at a position.
+     *
+     * @param index The zero-based position.
+     * @return The element at that position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    @Override
+    public T get(int index) {
+        synchronized (lock) {
+            return table.get(order.get(index));
+        }
+    }
+
+    /**
+     * Gets the slot of the element at a position.
+     *
+     * @param index The zero-based position.
+     * @return The slot of the element at that position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    public int getSlot(int index) {
+        synchronized (lock) {
+            return order.get(index);
+        }
+    }
+
+    /**
+     * Finds the position of the element in a slot.
+     *
+     * @param slot The slot to find.
+     * @return The zero-based position, or -1 if the slot is empty.
+     */
+    public int indexOfSlot(int slot) {
+        synchronized (lock) {
+            return (table.get(slot) != null) ? order.indexOf(slot) : -1;
+        }
+    }
+
+    /**
+     * Gets the number of elements in the table.
+     *
+     * @return The size of the view.
+     */
+    @Override
+    public int size() {
+        synchronized (lock) {
+            return order.size();
+        }
+    }
+}
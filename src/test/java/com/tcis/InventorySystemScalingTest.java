@@ -0,0 +1,139 @@
+package com.tcis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Checks that count changes made through the InventorySystem from several
+ * threads run in parallel instead of queueing behind one lock.
+ */
+class InventorySystemScalingTest {
+    /**
+     * The largest number of threads measured.
+     */
+    private static final int MAX_THREADS = 4;
+
+    /**
+     * The number of cards each thread works on. Threads never share a card.
+     */
+    private static final int CARDS_PER_THREAD = 256;
+
+    /**
+     * The number of count changes each thread makes.
+     */
+    private static final int CHANGES_PER_THREAD = 400_000;
+
+    /**
+     * How much more throughput the largest number of threads must reach
+     * than one thread. Perfect scaling would give {@code MAX_THREADS}.
+     */
+    private static final double MIN_SPEEDUP = 1.5;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void countChangeThroughputGrowsWithThreads() throws InterruptedException {
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= MAX_THREADS,
+                "Needs at least " + MAX_THREADS + " processors to measure scaling.");
+
+        double[] throughput = new double[MAX_THREADS + 1];
+
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            InventorySystem inventory = fill(new InventorySystem(), threads);
+
+            // The first run warms up the JIT and is not counted.
+            run(inventory, threads);
+            throughput[threads] = run(inventory, threads);
+            System.out.printf("%d thread(s): %,.0f count changes per second%n",
+                    threads, throughput[threads]);
+        }
+
+        double speedup = throughput[MAX_THREADS] / throughput[1];
+        assertTrue(speedup >= MIN_SPEEDUP, MAX_THREADS + " threads were only " +
+                speedup + " times as fast as one.");
+    }
+
+    @Test
+    void journaledCountChangesFromManyThreadsAllApply() throws InterruptedException {
+        InventorySystem inventory = new InventorySystem();
+        assertTrue(inventory.openJournal(dir.resolve("inventory.journal")));
+        fill(inventory, MAX_THREADS);
+
+        run(inventory, MAX_THREADS);
+
+        // Each thread adds and removes in turn, so every card ends where it
+        // started.
+        for (int i = 0; i < MAX_THREADS * CARDS_PER_THREAD; i++)
+            assertEquals(1, inventory.getCardCount("Card " + i));
+    }
+
+    /**
+     * Registers the cards a number of threads will work on.
+     *
+     * @param inventory The inventory to fill.
+     * @param threads   The number of threads.
+     * @return The same inventory.
+     */
+    private static InventorySystem fill(InventorySystem inventory, int threads) {
+        for (int i = 0; i < threads * CARDS_PER_THREAD; i++)
+            assertTrue(inventory.addNewCard("Card " + i, 1.0, Rarity.COMMON, Variant.NORMAL));
+
+        return inventory;
+    }
+
+    /**
+     * Has each thread alternately add and remove a copy of its own cards.
+     *
+     * @param inventory The inventory to change.
+     * @param threads   The number of threads.
+     * @return The number of count changes made per second, across all
+     *         threads.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static double run(InventorySystem inventory, int threads)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            String[] names = new String[CARDS_PER_THREAD];
+            for (int i = 0; i < CARDS_PER_THREAD; i++)
+                names[i] = "Card " + (t * CARDS_PER_THREAD + i);
+
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < CHANGES_PER_THREAD; i += 2) {
+                    String name = names[(i >>> 1) & (CARDS_PER_THREAD - 1)];
+                    inventory.increaseCardCount(name, 1);
+                    inventory.decreaseCardCount(name, 1);
+                }
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+
+        for (Thread worker : workers)
+            worker.join();
+
+        long elapsed = System.nanoTime() - begin;
+        return (double) threads * CHANGES_PER_THREAD * 1e9 / elapsed;
+    }
+}
@@ -0,0 +1,57 @@
+package com.tcis.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Tests that CardKey equality and hashing agree with Card.isSameType.
+ */
+class CardKeyTest {
+    @Test
+    void namesDifferingInCaseMakeEqualKeys() {
+        // "kosmos" with a final sigma, and in capitals.
+        CardKey lower = new CardKey(new Card("\u03ba\u03bf\u03c3\u03bc\u03bf\u03c2",
+                2.0, Rarity.RARE, Variant.NORMAL));
+        CardKey upper = new CardKey(new Card("\u039a\u039f\u03a3\u039c\u039f\u03a3",
+                2.0, Rarity.RARE, Variant.NORMAL));
+
+        assertEquals(lower, upper);
+        assertEquals(lower.hashCode(), upper.hashCode());
+    }
+
+    @Test
+    void hashDoesNotDependOnDefaultLocale() {
+        Card card = new Card("Icy Manipulator", 1.0, Rarity.UNCOMMON, Variant.NORMAL);
+        int hash = new CardKey(card).hashCode();
+        Locale saved = Locale.getDefault();
+
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            CardKey key = new CardKey(
+                    new Card("ICY MANIPULATOR", 1.0, Rarity.UNCOMMON, Variant.NORMAL));
+
+            assertEquals(hash, key.hashCode());
+            assertEquals(new CardKey(card), key);
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    @Test
+    void otherFieldsDistinguishKeys() {
+        CardKey key = new CardKey(new Card("Shock", 0.25, Rarity.COMMON, Variant.NORMAL));
+
+        assertNotEquals(key, new CardKey(new Card("Shock", 0.25, Rarity.UNCOMMON, Variant.NORMAL)));
+        assertNotEquals(key, new CardKey(new Card("Shock", 0.25, Rarity.COMMON, Variant.FULL_ART)));
+        assertNotEquals(key, new CardKey(new Card("Shock", 0.5, Rarity.COMMON, Variant.NORMAL)));
+        assertNotEquals(key, new CardKey(new Card("Shocker", 0.25, Rarity.COMMON, Variant.NORMAL)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.tcis.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Checks that looking up a card by name costs about the same with 1,000
+ * card types as with 1,000,000, as a hashed index should and a scan of the
+ * card list would not.
+ */
+class CardLookupScalingTest {
+    /**
+     * The collection sizes measured, smallest first.
+     */
+    private static final int[] SIZES = { 1_000, 10_000, 100_000, 1_000_000 };
+
+    /**
+     * The number of distinct names looked up at each size.
+     */
+    private static final int QUERIES = 4096;
+
+    /**
+     * The number of lookups timed at each size.
+     */
+    private static final int LOOKUPS = 2_000_000;
+
+    /**
+     * How many times slower than the smallest collection the largest may be.
+     * A linear scan would be about a thousand times slower; a hashed lookup
+     * only pays for cache misses in the larger table.
+     */
+    private static final double MAX_SLOWDOWN = 10.0;
+
+    @Test
+    void lookupTimeStaysFlatFromOneThousandToOneMillionTypes() {
+        double[] nanos = new double[SIZES.length];
+
+        for (int i = 0; i < SIZES.length; i++) {
+            CollectionManager collection = fill(SIZES[i]);
+            String[] queries = queries(SIZES[i]);
+
+            // The first pass warms up the JIT and is not counted.
+            measure(collection, queries);
+            nanos[i] = measure(collection, queries);
+            System.out.printf("findCard with %,d card types: %.1f ns%n", SIZES[i], nanos[i]);
+        }
+
+        double slowdown = nanos[SIZES.length - 1] / nanos[0];
+        assertTrue(slowdown < MAX_SLOWDOWN,
+                "Lookups were " + slowdown + " times slower with a million card types.");
+    }
+
+    /**
+     * Builds a collection holding the given number of card types.
+     *
+     * @param size The number of card types.
+     * @return The new collection.
+     */
+    private static CollectionManager fill(int size) {
+        CollectionManager collection = new CollectionManager();
+        collection.ensureCapacity(size);
+
+        for (int i = 0; i < size; i++)
+            collection.registerCard("Card " + i, 1.0, Rarity.COMMON, Variant.NORMAL, 1);
+
+        assertEquals(size, collection.getCardTypeCount());
+        return collection;
+    }
+
+    /**
+     * Picks names of registered cards to look up, written in another case
+     * and padded with whitespace so the lookups exercise the name folding.
+     *
+     * @param size The number of card types in the collection.
+     * @return The names to look up.
+     */
+    private static String[] queries(int size) {
+        Random random = new Random(size);
+        String[] queries = new String[QUERIES];
+
+        for (int i = 0; i < QUERIES; i++)
+            queries[i] = " CARD " + random.nextInt(size) + " ";
+
+        return queries;
+    }
+
+    /**
+     * Times a run of lookups.
+     *
+     * @param collection The collection to search.
+     * @param queries    The names to look up, in turn.
+     * @return The average time of one lookup, in nanoseconds.
+     */
+    private static double measure(CollectionManager collection, String[] queries) {
+        int found = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            Card card = collection.findCard(queries[i & (QUERIES - 1)]);
+            if (card != null)
+                found++;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        assertEquals(LOOKUPS, found);
+        return (double) elapsed / LOOKUPS;
+    }
+}
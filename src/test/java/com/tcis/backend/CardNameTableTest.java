@@ -0,0 +1,86 @@
+package com.tcis.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the case and whitespace folding of CardNameTable lookups.
+ */
+class CardNameTableTest {
+    @Test
+    void ignoresCaseAndSurroundingWhitespace() {
+        CardNameTable table = new CardNameTable(CardNameTable.INITIAL_CAPACITY);
+
+        assertTrue(table.put("  Lightning Bolt ", 7));
+
+        assertEquals(7, table.get("Lightning Bolt"));
+        assertEquals(7, table.get("lightning bolt"));
+        assertEquals(7, table.get("\tLIGHTNING BOLT\n"));
+        assertEquals(CardNameTable.NOT_FOUND, table.get("Lightning  Bolt"));
+        assertEquals(CardNameTable.NOT_FOUND, table.get("Lightning Bol"));
+        assertEquals(CardNameTable.NOT_FOUND, table.get(null));
+    }
+
+    @Test
+    void rejectsNameDifferingOnlyInCase() {
+        CardNameTable table = new CardNameTable(CardNameTable.INITIAL_CAPACITY);
+
+        assertTrue(table.put("Counterspell", 1));
+        assertFalse(table.put("COUNTERSPELL ", 2));
+
+        assertEquals(1, table.size());
+        assertEquals(1, table.get("counterspell"));
+    }
+
+    @Test
+    void foldsCharactersLikeEqualsIgnoreCase() {
+        CardNameTable table = new CardNameTable(CardNameTable.INITIAL_CAPACITY);
+        table.put("\u039a\u039f\u03a3\u039c\u039f\u03a3", 1); // KOSMOS
+        table.put("I\u015f\u0131k", 2);
+
+        // Final and medial sigma fold to the same letter, as do dotless and
+        // dotted i, exactly as String.equalsIgnoreCase treats them.
+        assertEquals(1, table.get("\u03ba\u03bf\u03c3\u03bc\u03bf\u03c2"));
+        assertEquals(1, table.get("\u03ba\u03bf\u03c3\u03bc\u03bf\u03c3"));
+        assertEquals(2, table.get("I\u015eIK"));
+        assertEquals(2, table.get("i\u015fik"));
+    }
+
+    @Test
+    void foldingDoesNotDependOnDefaultLocale() {
+        Locale saved = Locale.getDefault();
+
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            CardNameTable table = new CardNameTable(CardNameTable.INITIAL_CAPACITY);
+            table.put("Icy Manipulator", 3);
+
+            assertEquals(3, table.get("ICY MANIPULATOR"));
+            assertEquals(3, table.get("icy manipulator"));
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    @Test
+    void growKeepsEveryEntry() {
+        CardNameTable table = new CardNameTable(CardNameTable.INITIAL_CAPACITY);
+
+        for (int i = 0; i < 10000; i++) {
+            table = table.grow(1);
+            assertTrue(table.put("Card " + i, i));
+        }
+
+        assertEquals(10000, table.size());
+        for (int i = 0; i < 10000; i++)
+            assertEquals(i, table.get("CARD " + i));
+
+        assertSame(table, table.grow(0));
+    }
+}
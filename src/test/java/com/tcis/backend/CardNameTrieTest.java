@@ -0,0 +1,99 @@
+package com.tcis.backend;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests edge splitting and prefix completion in CardNameTrie.
+ */
+class CardNameTrieTest {
+    @Test
+    void completesInFoldedNameOrder() {
+        CardNameTrie trie = new CardNameTrie();
+        trie.put("Fireball", 1);
+        trie.put("Fire Drake", 2);
+        trie.put("Frost Giant", 3);
+
+        assertArrayEquals(new int[] { 2, 1, 3 }, trie.complete("f", 10));
+        assertArrayEquals(new int[] { 2, 1 }, trie.complete("FIRE", 10));
+        assertArrayEquals(new int[] { 1 }, trie.complete("fireb", 10));
+        assertArrayEquals(new int[] { 2 }, trie.complete("fire d", 10));
+        assertArrayEquals(new int[] { 3 }, trie.complete("  fr", 10));
+    }
+
+    @Test
+    void stopsAtLimit() {
+        CardNameTrie trie = new CardNameTrie();
+        for (int i = 0; i < 20; i++)
+            trie.put("Goblin " + (char) ('a' + i), i);
+
+        assertArrayEquals(new int[] { 0, 1, 2 }, trie.complete("gob", 3));
+        assertEquals(20, trie.complete("gob", 50).length);
+        assertEquals(0, trie.complete("gob", 0).length);
+    }
+
+    @Test
+    void splitsEdgeWhenKeyEndsInsideLabel() {
+        CardNameTrie trie = new CardNameTrie();
+        trie.put("Lightning Bolt", 4);
+        trie.put("Light", 5);
+
+        assertArrayEquals(new int[] { 5, 4 }, trie.complete("lig", 10));
+        assertArrayEquals(new int[] { 4 }, trie.complete("lightn", 10));
+    }
+
+    @Test
+    void splitsEdgeWhenKeysDiverge() {
+        CardNameTrie trie = new CardNameTrie();
+        trie.put("Shivan Dragon", 6);
+        trie.put("Shield Wall", 7);
+        trie.put("Shivan Reef", 8);
+
+        assertArrayEquals(new int[] { 7, 6, 8 }, trie.complete("shi", 10));
+        assertArrayEquals(new int[] { 6, 8 }, trie.complete("shiv", 10));
+        assertArrayEquals(new int[] { 8 }, trie.complete("shivan r", 10));
+    }
+
+    @Test
+    void storesIdAtExistingBranchPoint() {
+        CardNameTrie trie = new CardNameTrie();
+        trie.put("Fireball", 1);
+        trie.put("Fire Drake", 2);
+        trie.put("fire", 3);
+
+        assertArrayEquals(new int[] { 3, 2, 1 }, trie.complete("fire", 10));
+
+        trie.put("Fire", 9);
+        assertArrayEquals(new int[] { 9, 2, 1 }, trie.complete("fire", 10));
+    }
+
+    @Test
+    void returnsNothingWithoutMatch() {
+        CardNameTrie trie = new CardNameTrie();
+        trie.put("Fireball", 1);
+
+        assertEquals(0, trie.complete("fireballs", 10).length);
+        assertEquals(0, trie.complete("g", 10).length);
+        assertEquals(0, trie.complete(null, 10).length);
+    }
+
+    @Test
+    void collectAllMarksEveryMatch() {
+        CardNameTrie trie = new CardNameTrie();
+        trie.put("Elf Archer", 0);
+        trie.put("Elvish Mystic", 1);
+        trie.put("Eldrazi", 2);
+        trie.put("Ogre", 3);
+
+        BitSet ids = new BitSet();
+        trie.collectAll("el", ids);
+
+        BitSet expected = new BitSet();
+        expected.set(0, 3);
+        assertEquals(expected, ids);
+    }
+}
@@ -0,0 +1,83 @@
+package com.tcis.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Tests that CardQuery answers value ranges from the value order the same
+ * way in every ordering, and stops sorted reads at the limit.
+ */
+class CardQueryTest {
+    @Test
+    void valueRangeKeepsBoundsInEveryOrder() {
+        CollectionManager collection = fill();
+
+        assertEquals(List.of("Bolt", "Counterspell", "Duress"),
+                names(collection.query().minValue(0.5).maxValue(2.0)));
+        assertEquals(List.of("Bolt", "Counterspell", "Duress"),
+                names(collection.query().minValue(0.5).maxValue(2.0)
+                                .orderBy(CardOrder.NAME)));
+        assertEquals(List.of("Duress", "Bolt", "Counterspell"),
+                names(collection.query().minValue(0.5).maxValue(2.0)
+                                .orderBy(CardOrder.VALUE)));
+    }
+
+    @Test
+    void valueRangeCombinesWithOtherConditions() {
+        CollectionManager collection = fill();
+
+        assertEquals(List.of("Counterspell"),
+                names(collection.query().minValue(1.0)
+                                .rarity(Rarity.UNCOMMON)
+                                .orderBy(CardOrder.VALUE)));
+        assertEquals(List.of("Bolt"),
+                names(collection.query().minValue(0.5).maxValue(1.0).available()
+                                .rarity(Rarity.COMMON)
+                                .orderBy(CardOrder.NAME)));
+        assertEquals(0, collection.query().minValue(3.0).maxValue(2.0).count());
+    }
+
+    @Test
+    void sortedReadStopsAtLimit() {
+        CollectionManager collection = fill();
+
+        assertEquals(List.of("Shock", "Duress"),
+                names(collection.query().orderBy(CardOrder.VALUE).limit(2)));
+        assertEquals(List.of("Bolt"),
+                names(collection.query().minValue(1.0)
+                                .orderBy(CardOrder.NAME).limit(1)));
+    }
+
+    /**
+     * Builds a small collection with cards on and around the value bounds
+     * the tests use.
+     *
+     * @return The new collection.
+     */
+    private static CollectionManager fill() {
+        CollectionManager collection = new CollectionManager();
+        collection.registerCard("Shock", 0.25, Rarity.COMMON, Variant.NORMAL, 1);
+        collection.registerCard("Bolt", 1.0, Rarity.COMMON, Variant.NORMAL, 2);
+        collection.registerCard("Counterspell", 2.0, Rarity.UNCOMMON, Variant.NORMAL, 0);
+        collection.registerCard("Duress", 0.5, Rarity.COMMON, Variant.NORMAL, 0);
+        collection.registerCard("Wrath", 2.01, Rarity.RARE, Variant.NORMAL, 1);
+        return collection;
+    }
+
+    /**
+     * Runs a query and lists the names of its results.
+     *
+     * @param query The query to run.
+     * @return The names, in result order.
+     */
+    private static List<String> names(CardQuery query) {
+        return query.stream().map(card -> card.getName()).collect(Collectors.toList());
+    }
+}
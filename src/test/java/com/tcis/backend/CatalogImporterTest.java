@@ -0,0 +1,104 @@
+package com.tcis.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests how CatalogImporter handles quoted fields, including quotes that are
+ * left open across lines.
+ */
+class CatalogImporterTest {
+    @Test
+    void importsQuotedNamesWithDelimiters() throws IOException {
+        CollectionManager collection = new CollectionManager();
+        ImportResult result = importCsv(collection,
+                "name,baseValue,rarity,variant,count\n" +
+                "\"Jace, the Mind Sculptor\",80,rare,normal,2\n" +
+                "\"The \"\"Ur\"\"-Dragon\",12.5,legendary,extended-art\n");
+
+        assertEquals(2, result.getCardsAdded());
+        assertEquals(0, result.getErrorCount());
+        assertEquals(2, collection.getCardCount("Jace, the Mind Sculptor"));
+        assertNotNull(collection.findCard("The \"Ur\"-Dragon"));
+    }
+
+    @Test
+    void rejectsFieldSpanningLinesAsOneRow() throws IOException {
+        CollectionManager collection = new CollectionManager();
+        ImportResult result = importCsv(collection,
+                "Shock,0.25,common,normal\n" +
+                "\"Two\n" +
+                "Lines\",1,common,normal\n" +
+                "Opt,0.1,common,normal\n");
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(2, result.getCardsAdded());
+        assertEquals(1, result.getErrorCount());
+        assertTrue(result.getErrors().get(0).startsWith("Line 2: Quoted field spans lines 2 to 3"));
+        assertNotNull(collection.findCard("Opt"));
+    }
+
+    @Test
+    void strayQuoteOnlyRejectsItsOwnLine() throws IOException {
+        StringBuilder csv = new StringBuilder("\"Broken,1,common,normal\n");
+        for (int i = 0; i < 200; i++)
+            csv.append("Card ").append(i).append(",1,common,normal\n");
+
+        CollectionManager collection = new CollectionManager();
+        ImportResult result = importCsv(collection, csv.toString());
+
+        assertEquals(201, result.getRowsRead());
+        assertEquals(200, result.getCardsAdded());
+        assertEquals(1, result.getErrorCount());
+        assertTrue(result.getErrors().get(0).startsWith("Line 1: "));
+        assertNotNull(collection.findCard("Card 0"));
+        assertNotNull(collection.findCard("Card 199"));
+        assertNull(collection.findCard("Broken"));
+    }
+
+    @Test
+    void laterFieldCanReopenQuote() throws IOException {
+        CollectionManager collection = new CollectionManager();
+        ImportResult result = importCsv(collection,
+                "\"A\n" +
+                "B\",1,\"common\n" +
+                "\",normal\n" +
+                "Opt,0.1,common,normal\n");
+
+        assertEquals(2, result.getRowsRead());
+        assertEquals(1, result.getCardsAdded());
+        assertTrue(result.getErrors().get(0).startsWith("Line 1: Quoted field spans lines 1 to 3"));
+    }
+
+    @Test
+    void rejectsBaseValueAboveBound() throws IOException {
+        CollectionManager collection = new CollectionManager();
+        ImportResult result = importCsv(collection,
+                "Huge,1e300,rare,alt-art\n" +
+                "Opt,0.1,common,normal\n");
+
+        assertEquals(1, result.getCardsAdded());
+        assertTrue(result.getErrors().get(0).startsWith("Line 1: Base value cannot be more than"));
+        assertNull(collection.findCard("Huge"));
+    }
+
+    /**
+     * Imports a comma-separated catalog held in a string.
+     *
+     * @param collection The collection to import into.
+     * @param csv        The catalog's contents.
+     * @return The import's result.
+     * @throws IOException if the catalog cannot be read.
+     */
+    private static ImportResult importCsv(CollectionManager collection, String csv)
+            throws IOException {
+        return new CatalogImporter(collection).importFrom(new StringReader(csv), ',');
+    }
+}
@@ -0,0 +1,134 @@
+package com.tcis.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Tests the lock-free count updates in CollectionManager from several
+ * threads at once.
+ */
+class CollectionManagerConcurrencyTest {
+    /**
+     * The number of threads updating counts at the same time.
+     */
+    private static final int THREADS = 8;
+
+    @Test
+    void decreaseNeverTakesMoreCopiesThanExist() throws InterruptedException {
+        CollectionManager collection = new CollectionManager();
+        int id = collection.registerCard("Llanowar Elves", 1.0, Rarity.COMMON,
+                Variant.NORMAL, 1000);
+        AtomicLong taken = new AtomicLong();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < 500; i++)
+                if (collection.decreaseCount(id, 1))
+                    taken.incrementAndGet();
+        });
+
+        assertEquals(1000, taken.get());
+        assertEquals(0, collection.getCardCount(id));
+        assertFalse(collection.decreaseCount(id, 1));
+        assertEquals(0, collection.getValueBreakdown().getTotalCents());
+    }
+
+    @Test
+    void mixedUpdatesKeepCountsAndValueConsistent() throws InterruptedException {
+        CollectionManager collection = new CollectionManager();
+        int cards = 600;
+        int[] ids = new int[cards];
+        for (int i = 0; i < cards; i++)
+            ids[i] = collection.registerCard("Card " + i, 0.5 + i, Rarity.COMMON,
+                    Variant.NORMAL, 5);
+
+        AtomicLong[] deltas = new AtomicLong[cards];
+        for (int i = 0; i < cards; i++)
+            deltas[i] = new AtomicLong();
+
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+
+            for (int i = 0; i < 20000; i++) {
+                int card = random.nextInt(cards);
+                int amount = 1 + random.nextInt(3);
+
+                if (random.nextBoolean()) {
+                    if (collection.increaseCount(ids[card], amount))
+                        deltas[card].addAndGet(amount);
+                } else if (collection.decreaseCount(ids[card], amount)) {
+                    deltas[card].addAndGet(-amount);
+                }
+            }
+        });
+
+        long expectedValue = 0;
+        for (int i = 0; i < cards; i++) {
+            int count = collection.getCardCount(ids[i]);
+
+            assertEquals(5 + deltas[i].get(), count);
+            assertTrue(count >= 0);
+            expectedValue += count * collection.getCard(ids[i]).getValueCents();
+        }
+
+        assertEquals(expectedValue, collection.getValueBreakdown().getTotalCents());
+    }
+
+    @Test
+    void rejectsInvalidAmounts() {
+        CollectionManager collection = new CollectionManager();
+        int id = collection.registerCard("Ornithopter", 1.0, Rarity.COMMON,
+                Variant.NORMAL, 2);
+
+        assertFalse(collection.increaseCount(id, 0));
+        assertFalse(collection.decreaseCount(id, -1));
+        assertFalse(collection.decreaseCount(id, 3));
+        assertFalse(collection.increaseCount(id, Integer.MAX_VALUE));
+        assertEquals(2, collection.getCardCount(id));
+    }
+
+    /**
+     * Runs the same work on several threads, started together, and waits for
+     * all of them to finish.
+     *
+     * @param work The work to run, given the index of the thread running it.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static void runConcurrently(IntConsumer work)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ArrayList<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                work.accept(thread);
+            });
+
+            threads.add(worker);
+            worker.start();
+        }
+
+        start.countDown();
+        for (Thread worker : threads)
+            worker.join();
+    }
+}
@@ -0,0 +1,86 @@
+package com.tcis.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Tests the sorted and available-card views of a CollectionManager as cards
+ * are registered and run out.
+ */
+class SortedCardViewTest {
+    @Test
+    void sortedViewMergesCardsRegisteredAfterRead() {
+        CollectionManager collection = new CollectionManager();
+        collection.registerCard("Opt", 0.1, Rarity.COMMON, Variant.NORMAL, 1);
+        collection.registerCard("Duress", 0.3, Rarity.COMMON, Variant.NORMAL, 1);
+
+        List<Card> byName = collection.getCardTypeView(CardOrder.NAME);
+        assertEquals("Duress", byName.get(0).getName());
+
+        collection.registerCard("Brainstorm", 0.2, Rarity.COMMON, Variant.NORMAL, 1);
+        collection.registerCard("Ponder", 0.2, Rarity.COMMON, Variant.NORMAL, 1);
+
+        assertEquals(4, byName.size());
+        assertEquals("Brainstorm", byName.get(0).getName());
+        assertEquals("Duress", byName.get(1).getName());
+        assertEquals("Opt", byName.get(2).getName());
+        assertEquals("Ponder", byName.get(3).getName());
+        assertNull(collection.getCardTypeAt(CardOrder.NAME, 4));
+
+        Card ponder = collection.findCard("Ponder");
+        assertEquals(3, collection.indexOfCardType(CardOrder.NAME, ponder));
+        assertEquals(2, collection.indexOfCardType(CardOrder.VALUE, ponder));
+        assertEquals("Duress", collection.getCardTypes(CardOrder.VALUE).get(3).getName());
+    }
+
+    @Test
+    void availableViewFollowsCardsRunningOut() {
+        CollectionManager collection = new CollectionManager();
+        collection.registerCard("Shock", 0.25, Rarity.COMMON, Variant.NORMAL, 1);
+        collection.registerCard("Bolt", 1.0, Rarity.UNCOMMON, Variant.NORMAL, 2);
+        collection.registerCard("Wrath", 5.0, Rarity.RARE, Variant.NORMAL, 0);
+
+        List<Card> commons = collection.getAvailableCardView(
+                (rarity, variant) -> rarity != Rarity.RARE);
+        assertEquals(2, commons.size());
+        assertEquals("Bolt", commons.get(0).getName());
+
+        collection.decreaseCount("Shock", 1);
+        collection.increaseCount("Wrath", 1);
+        collection.registerCard("Anticipate", 0.1, Rarity.COMMON, Variant.NORMAL, 1);
+
+        // Rows read between size reads stay where they were.
+        assertEquals("Shock", commons.get(1).getName());
+
+        assertEquals(2, commons.size());
+        assertEquals("Anticipate", commons.get(0).getName());
+        assertEquals("Bolt", commons.get(1).getName());
+    }
+
+    @Test
+    void availableViewSkipsScanWhileAvailabilityIsUnchanged() {
+        CollectionManager collection = new CollectionManager();
+        collection.registerCard("Shock", 0.25, Rarity.COMMON, Variant.NORMAL, 1);
+
+        List<Card> all = collection.getAvailableCardView((rarity, variant) -> true);
+        assertEquals(1, all.size());
+        Card[] sorted = collection.sortedCards(CardOrder.NAME);
+        int version = collection.getAvailabilityVersion();
+
+        collection.increaseCount("Shock", 3);
+        collection.decreaseCount("Shock", 2);
+
+        assertEquals(version, collection.getAvailabilityVersion());
+        assertSame(sorted, collection.sortedCards(CardOrder.NAME));
+        assertEquals(1, all.size());
+    }
+}
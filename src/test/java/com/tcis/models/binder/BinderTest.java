@@ -0,0 +1,75 @@
+package com.tcis.models.binder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Tests that a binder's name-ordered view of its cards follows additions
+ * and removals by slot.
+ */
+class BinderTest {
+    @Test
+    void listsCardsByNameAsTheyComeAndGo() {
+        Binder binder = new NonCuratedBinder("Trades", 10);
+        Card shock = card("Shock");
+        Card bolt = card("Lightning Bolt");
+        Card opt = card("Opt");
+
+        assertTrue(binder.addCard(shock));    // slot 0
+        assertTrue(binder.addCard(bolt));     // slot 1
+        assertTrue(binder.addCard(opt));      // slot 2
+        assertTrue(binder.addCard(bolt));     // slot 3
+        assertTrue(binder.addCardAt(7, card("Counterspell")));
+
+        List<Card> byName = binder.getCardsByName();
+        assertEquals(List.of("Counterspell", "Lightning Bolt", "Lightning Bolt", "Opt", "Shock"),
+                names(byName));
+        assertEquals(7, binder.getSlotByName(0));
+        assertEquals(1, binder.getSlotByName(1));
+        assertEquals(3, binder.getSlotByName(2));
+
+        assertSame(opt, binder.removeCard(2));
+        assertSame(bolt, binder.removeCard(1));
+        assertEquals(List.of("Counterspell", "Lightning Bolt", "Shock"), names(byName));
+        assertEquals(3, binder.getSlotByName(1));
+
+        // The freed slot is reused, and the card still lands in name order.
+        assertTrue(binder.addCard(card("Brainstorm")));
+        assertEquals(1, binder.getSlotByName(0));
+        assertEquals(4, byName.size());
+    }
+
+    /**
+     * Creates a common, normal card.
+     *
+     * @param name The card's name.
+     * @return The new card.
+     */
+    private static Card card(String name) {
+        return new Card(name, 1.0, Rarity.COMMON, Variant.NORMAL);
+    }
+
+    /**
+     * Lists the names of some cards, in order.
+     *
+     * @param cards The cards.
+     * @return Their names.
+     */
+    private static List<String> names(List<Card> cards) {
+        ArrayList<String> names = new ArrayList<>();
+        for (Card card : cards)
+            names.add(card.getName());
+
+        return names;
+    }
+}
@@ -0,0 +1,34 @@
+package com.tcis.models.card;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that card values stay exact in cents up to the largest base value a
+ * card may have, and that larger ones are refused instead of overflowing.
+ */
+class CardTest {
+    @Test
+    void largestBaseValueKeepsExactCents() {
+        Card card = new Card("Black Lotus", Card.MAX_BASE_VALUE, Rarity.RARE, Variant.ALT_ART);
+
+        assertEquals(1_000_000_000L, card.getBaseValueCents());
+        assertEquals(3_000_000_000L, card.getValueCents());
+    }
+
+    @Test
+    void rejectsBaseValueAboveBound() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Card("Huge", 1e300, Rarity.RARE, Variant.NORMAL));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Card("Huge", Card.MAX_BASE_VALUE + 0.01, Rarity.RARE, Variant.NORMAL));
+    }
+
+    @Test
+    void multiplierOverflowThrows() {
+        assertThrows(ArithmeticException.class,
+                () -> Variant.ALT_ART.applyTo(Long.MAX_VALUE / 2));
+    }
+}
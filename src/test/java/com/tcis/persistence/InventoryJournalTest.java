@@ -0,0 +1,222 @@
+package com.tcis.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tcis.InventorySystem;
+import com.tcis.models.binder.Binder;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+
+/**
+ * Tests writing records to an InventoryJournal and replaying them, including
+ * a file whose last record was only partly written.
+ */
+class InventoryJournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysLoggedRecords() throws IOException {
+        Path path = dir.resolve("inventory.journal");
+        writeBaseRecords(path);
+
+        InventorySystem restored = new InventorySystem();
+        try (InventoryJournal journal = InventoryJournal.open(path, restored, 0)) {
+            assertFalse(journal.isEmpty());
+        }
+
+        assertEquals(2, restored.getCardCount("Fireball"));
+        assertEquals(1, restored.getCardCount("Shock"));
+
+        Binder binder = restored.findBinder("Trades");
+        assertNotNull(binder);
+        assertEquals(10, binder.getCapacity());
+        assertEquals(4, binder.getCardCount());
+    }
+
+    @Test
+    void discardsTornTail() throws IOException {
+        Path path = dir.resolve("inventory.journal");
+        writeBaseRecords(path);
+        long intact = Files.size(path);
+
+        try (InventoryJournal journal = InventoryJournal.open(path, new InventorySystem(), 0)) {
+            journal.logIncreaseCount("Fireball", 10);
+        }
+
+        // Cut the last record short, as a crash in the middle of a write would.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(path) - 3);
+        }
+
+        InventorySystem restored = new InventorySystem();
+        try (InventoryJournal journal = InventoryJournal.open(path, restored, 0)) {
+            journal.logIncreaseCount("Shock", 5);
+        }
+
+        assertEquals(2, restored.getCardCount("Fireball"));
+        assertEquals(1, restored.getCardCount("Shock"));
+
+        // The torn bytes were dropped, so the record appended after them is
+        // replayed on the next open.
+        InventorySystem reopened = new InventorySystem();
+        try (InventoryJournal journal = InventoryJournal.open(path, reopened, 0)) {
+            assertTrue(Files.size(path) > intact);
+        }
+
+        assertEquals(2, reopened.getCardCount("Fireball"));
+        assertEquals(6, reopened.getCardCount("Shock"));
+    }
+
+    @Test
+    void stopsAtCorruptRecord() throws IOException {
+        Path path = dir.resolve("inventory.journal");
+        writeBaseRecords(path);
+
+        try (InventoryJournal journal = InventoryJournal.open(path, new InventorySystem(), 0)) {
+            journal.logIncreaseCount("Fireball", 10);
+        }
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(path, bytes);
+
+        InventorySystem restored = new InventorySystem();
+        try (InventoryJournal journal = InventoryJournal.open(path, restored, 0)) {
+            assertFalse(journal.isEmpty());
+        }
+
+        assertEquals(2, restored.getCardCount("Fireball"));
+    }
+
+    @Test
+    void failsOnRecordThatCannotBeApplied() throws IOException {
+        Path path = dir.resolve("inventory.journal");
+
+        try (InventoryJournal journal = InventoryJournal.open(path, new InventorySystem(), 0)) {
+            assertTrue(journal.logAddNewCard("Fireball", 2.5, Rarity.UNCOMMON, Variant.NORMAL));
+        }
+
+        // Give the record a rarity that does not exist and a matching
+        // checksum, so it reads back intact but cannot be applied.
+        byte[] bytes = Files.readAllBytes(path);
+        int payloadLength = 1 + 4 + "Fireball".length() + 8 + 1 + 1;
+        int payloadStart = bytes.length - payloadLength;
+        bytes[payloadStart + payloadLength - 2] = 99;
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, payloadStart, payloadLength);
+        ByteBuffer.wrap(bytes).putInt(payloadStart - 4, (int) crc.getValue());
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class,
+                () -> InventoryJournal.open(path, new InventorySystem(), 0));
+        assertFalse(new InventorySystem().openJournal(path));
+    }
+
+    @Test
+    void dropsRecordsOnceClosed() throws IOException {
+        Path path = dir.resolve("inventory.journal");
+        InventoryJournal journal = InventoryJournal.open(path, new InventorySystem(), 0);
+
+        assertTrue(journal.logAddNewCard("Shock", 0.25, Rarity.COMMON, Variant.NORMAL));
+        journal.close();
+
+        assertFalse(journal.logIncreaseCount("Shock", 1));
+        assertNull(journal.getFailure());
+
+        InventorySystem restored = new InventorySystem();
+        try (InventoryJournal reopened = InventoryJournal.open(path, restored, 0)) {
+            assertEquals(1, restored.getCardCount("Shock"));
+        }
+    }
+
+    @Test
+    void skipsEpochCoveredBySnapshot() throws IOException {
+        Path path = dir.resolve("inventory.journal");
+        writeBaseRecords(path);
+
+        InventorySystem restored = new InventorySystem();
+        try (InventoryJournal journal = InventoryJournal.open(path, restored, 1)) {
+            assertTrue(journal.isEmpty());
+            assertEquals(2, journal.getEpoch());
+        }
+
+        assertNull(restored.findCard("Fireball"));
+    }
+
+    @Test
+    void rejectsOlderFormatUnlessCovered() throws IOException {
+        Path path = dir.resolve("inventory.journal");
+
+        // A version 1 header, with the epoch right after the magic number,
+        // followed by one removal that named a list index.
+        byte[] payload = { 10, 0, 0, 0, 0, 0, 0, 0, 6, 'T', 'r', 'a', 'd', 'e', 's' };
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer file = ByteBuffer.allocate(12 + 8 + payload.length);
+        file.putInt(0x54434A4C).putLong(3);
+        file.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        Files.write(path, file.array());
+
+        assertThrows(IOException.class,
+                () -> InventoryJournal.open(path, new InventorySystem(), 2));
+
+        // Once a snapshot covers its epoch, the old journal is discarded.
+        try (InventoryJournal journal = InventoryJournal.open(path, new InventorySystem(), 3)) {
+            assertTrue(journal.isEmpty());
+            assertEquals(4, journal.getEpoch());
+        }
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        Path path = dir.resolve("notes.txt");
+        Files.write(path, "not a journal at all".getBytes());
+
+        assertThrows(IOException.class,
+                () -> InventoryJournal.open(path, new InventorySystem(), 0));
+    }
+
+    /**
+     * Creates a journal holding a small history: two cards, a binder, and a
+     * batch of copies moved into it.
+     *
+     * @param path The journal file to create.
+     * @throws IOException if the journal cannot be written.
+     */
+    private static void writeBaseRecords(Path path) throws IOException {
+        try (InventoryJournal journal = InventoryJournal.open(path, new InventorySystem(), 0)) {
+            assertEquals(1, journal.getEpoch());
+
+            journal.logAddNewCard("Fireball", 2.5, Rarity.UNCOMMON, Variant.NORMAL);
+            journal.logIncreaseCount("Fireball", 4);
+            journal.logAddNewCard("Shock", 0.25, Rarity.COMMON, Variant.NORMAL);
+            journal.logIncreaseCount("Shock", 1);
+            journal.logCreateBinder("Trades", "non-curated", 10);
+
+            LinkedHashMap<String, Integer> moved = new LinkedHashMap<>();
+            moved.put("Fireball", 3);
+            moved.put("Shock", 1);
+            journal.logAddCardsToBinder("Trades", moved);
+        }
+    }
+}
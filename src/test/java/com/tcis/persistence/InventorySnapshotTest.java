@@ -0,0 +1,188 @@
+package com.tcis.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tcis.InventorySystem;
+import com.tcis.backend.BinderManager;
+import com.tcis.backend.CollectionManager;
+import com.tcis.backend.DeckManager;
+import com.tcis.ledger.MoneyLedger;
+import com.tcis.models.binder.Binder;
+import com.tcis.models.card.Card;
+import com.tcis.models.card.Rarity;
+import com.tcis.models.card.Variant;
+import com.tcis.models.deck.Deck;
+
+/**
+ * Tests writing the full inventory to an InventorySnapshot and loading it
+ * back.
+ */
+class InventorySnapshotTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void restoresSavedState() {
+        Path path = dir.resolve("inventory.snapshot");
+        InventorySystem saved = buildInventory();
+
+        assertTrue(saved.checkpoint(path));
+
+        InventorySystem restored = new InventorySystem();
+        assertTrue(restored.loadSnapshot(path));
+
+        assertEquals(saved.getCardCounts(), restored.getCardCounts());
+        assertEquals(saved.getTotalMoneyCents(), restored.getTotalMoneyCents());
+        assertEquals(saved.getSales().size(), restored.getSales().size());
+        assertEquals(saved.getPortfolioValue().getTotalCents(),
+                restored.getPortfolioValue().getTotalCents());
+
+        Card card = restored.findCard("Black Lotus");
+        assertNotNull(card);
+        assertEquals(Rarity.RARE, card.getRarity());
+        assertEquals(Variant.FULL_ART, card.getVariant());
+        assertEquals(saved.findCard("Black Lotus").getValueCents(), card.getValueCents());
+
+        assertSameLayout(saved.findBinder("Trades"), restored.findBinder("Trades"));
+        assertSameLayout(saved.findDeck("Burn"), restored.findDeck("Burn"));
+    }
+
+    @Test
+    void restoresEmptyInventory() {
+        Path path = dir.resolve("inventory.snapshot");
+
+        assertTrue(new InventorySystem().checkpoint(path));
+
+        InventorySystem restored = new InventorySystem();
+        assertTrue(restored.loadSnapshot(path));
+        assertTrue(restored.getCardCounts().isEmpty());
+        assertTrue(restored.getBinders().isEmpty());
+        assertEquals(0, restored.getTotalMoneyCents());
+    }
+
+    @Test
+    void keepsJournalEpoch() throws IOException {
+        Path path = dir.resolve("inventory.snapshot");
+        CollectionManager collection = new CollectionManager();
+        InventorySnapshot.write(path, 7, collection, new BinderManager(collection),
+                new DeckManager(collection), new MoneyLedger());
+
+        CollectionManager loaded = new CollectionManager();
+        InventorySnapshot snapshot = InventorySnapshot.load(path, loaded,
+                new BinderManager(loaded), new DeckManager(loaded), new MoneyLedger());
+
+        assertEquals(7, snapshot.getJournalEpoch());
+        assertEquals(0, loaded.getCardTypeCount());
+    }
+
+    @Test
+    void leavesInventoryEmptyWhenFileIsCorrupt() throws IOException {
+        Path path = dir.resolve("inventory.snapshot");
+        assertTrue(buildInventory().checkpoint(path));
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        InventorySystem restored = new InventorySystem();
+        assertFalse(restored.loadSnapshot(path));
+        assertTrue(restored.getCardCounts().isEmpty());
+        assertNull(restored.findBinder("Trades"));
+
+        CollectionManager collection = new CollectionManager();
+        assertThrows(IOException.class, () -> InventorySnapshot.load(path, collection,
+                new BinderManager(collection), new DeckManager(collection), new MoneyLedger()));
+    }
+
+    @Test
+    void missingFileLoadsNothing() {
+        InventorySystem restored = new InventorySystem();
+
+        assertTrue(restored.loadSnapshot(dir.resolve("absent.snapshot")));
+        assertTrue(restored.getCardCounts().isEmpty());
+    }
+
+    /**
+     * Builds an inventory with cards, a binder with a gap between its slots,
+     * a deck and a recorded sale.
+     *
+     * @return The new inventory.
+     */
+    private static InventorySystem buildInventory() {
+        InventorySystem inventory = new InventorySystem();
+
+        assertTrue(inventory.addNewCard("Black Lotus", 1000.0, Rarity.RARE, Variant.FULL_ART));
+        assertTrue(inventory.addNewCard("Lightning Bolt", 1.5, Rarity.COMMON, Variant.NORMAL));
+        assertTrue(inventory.addNewCard("Counterspell", 0.75, Rarity.UNCOMMON, Variant.NORMAL));
+        assertTrue(inventory.addNewCard("Dark Ritual", 0.5, Rarity.COMMON, Variant.NORMAL));
+        assertTrue(inventory.increaseCardCount("Lightning Bolt", 9));
+        assertTrue(inventory.increaseCardCount("Counterspell", 2));
+
+        assertTrue(inventory.createBinder("Trades", "non-curated", 8));
+        assertEquals(0, inventory.addCardToBinder("Lightning Bolt", "Trades"));
+        assertEquals(0, inventory.addCardToBinder("Counterspell", "Trades"));
+        assertEquals(0, inventory.addCardToBinder("Lightning Bolt", "Trades"));
+        assertTrue(inventory.removeCardFromBinder(1, "Trades"));
+
+        assertTrue(inventory.createDeck("Burn", "normal"));
+        assertEquals(0, inventory.addCardToDeck("Lightning Bolt", "Burn"));
+        assertEquals(0, inventory.addCardToDeck("Dark Ritual", "Burn"));
+
+        assertTrue(inventory.sellCardFromCollection("Lightning Bolt", 2));
+        return inventory;
+    }
+
+    /**
+     * Checks that two binders hold the same cards in the same slots.
+     *
+     * @param expected The original binder.
+     * @param actual   The restored binder.
+     */
+    private static void assertSameLayout(Binder expected, Binder actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getCapacity(), actual.getCapacity());
+        assertArrayEquals(expected.getSlots().toArray(), actual.getSlots().toArray());
+        assertEquals(names(expected.getCards()), names(actual.getCards()));
+    }
+
+    /**
+     * Checks that two decks hold the same cards in the same slots.
+     *
+     * @param expected The original deck.
+     * @param actual   The restored deck.
+     */
+    private static void assertSameLayout(Deck expected, Deck actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getCapacity(), actual.getCapacity());
+        assertArrayEquals(expected.getSlots().toArray(), actual.getSlots().toArray());
+        assertEquals(names(expected.getCards()), names(actual.getCards()));
+    }
+
+    /**
+     * Lists the names of some cards, in order.
+     *
+     * @param cards The cards.
+     * @return Their names.
+     */
+    private static ArrayList<String> names(Iterable<Card> cards) {
+        ArrayList<String> names = new ArrayList<>();
+        for (Card card : cards)
+            names.add(card.getName());
+
+        return names;
+    }
+}
@@ -0,0 +1,131 @@
+package com.tcis.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests slot allocation and release in SlotTable.
+ */
+class SlotTableTest {
+    @Test
+    void addFillsSlotsInOrder() {
+        SlotTable<String> table = new SlotTable<>();
+
+        table.add("a");
+        table.add("b");
+        table.add("c");
+
+        assertEquals(3, table.size());
+        assertEquals("a", table.get(0));
+        assertEquals("b", table.get(1));
+        assertEquals("c", table.get(2));
+        assertNull(table.get(3));
+        assertNull(table.get(-1));
+    }
+
+    @Test
+    void removeLeavesOtherSlotsInPlace() {
+        SlotTable<String> table = new SlotTable<>();
+        table.add("a");
+        table.add("b");
+        table.add("c");
+
+        assertEquals("b", table.remove(1));
+        assertNull(table.remove(1));
+
+        assertEquals(2, table.size());
+        assertEquals("a", table.get(0));
+        assertNull(table.get(1));
+        assertEquals("c", table.get(2));
+    }
+
+    @Test
+    void addReusesLowestFreeSlot() {
+        SlotTable<String> table = new SlotTable<>();
+        for (int i = 0; i < 5; i++)
+            table.add("v" + i);
+
+        table.remove(3);
+        table.remove(1);
+        table.add("x");
+        table.add("y");
+        table.add("z");
+
+        assertEquals("x", table.get(1));
+        assertEquals("y", table.get(3));
+        assertEquals("z", table.get(5));
+    }
+
+    @Test
+    void putRejectsOccupiedSlot() {
+        SlotTable<String> table = new SlotTable<>();
+
+        assertTrue(table.put(2, "a"));
+        assertFalse(table.put(2, "b"));
+        assertEquals("a", table.get(2));
+
+        table.add("low");
+        assertEquals("low", table.get(0));
+    }
+
+    @Test
+    void slotsSpanSeveralChunks() {
+        SlotTable<Integer> table = new SlotTable<>();
+        for (int i = 0; i < 1000; i++)
+            table.add(i);
+
+        for (int i = 0; i < 1000; i += 2)
+            table.remove(i);
+
+        assertEquals(500, table.size());
+        assertEquals(1, table.nextOccupiedSlot(0));
+        assertEquals(999, table.nextOccupiedSlot(999));
+        assertEquals(-1, table.nextOccupiedSlot(1000));
+
+        ArrayList<Integer> values = new ArrayList<>(table);
+        assertEquals(500, values.size());
+        for (int i = 0; i < values.size(); i++)
+            assertEquals(2 * i + 1, values.get(i));
+
+        table.add(-1);
+        assertEquals(-1, table.get(0));
+    }
+
+    @Test
+    void freedChunkCanBeRefilled() {
+        SlotTable<Integer> table = new SlotTable<>();
+        for (int i = 0; i < 600; i++)
+            table.add(i);
+
+        // Empty the whole middle chunk, then fill it again.
+        for (int i = 256; i < 512; i++)
+            table.remove(i);
+
+        assertNull(table.get(300));
+        for (int i = 256; i < 512; i++)
+            table.add(-i);
+
+        assertEquals(600, table.size());
+        assertEquals(-300, table.get(300));
+        assertEquals(599, table.get(599));
+    }
+
+    @Test
+    void slotsListsOccupiedSlots() {
+        SlotTable<String> table = new SlotTable<>();
+        table.put(0, "a");
+        table.put(4, "b");
+        table.put(300, "c");
+
+        assertEquals(Arrays.asList(0, 4, 300),
+                Arrays.asList(table.slots().boxed().toArray(Integer[]::new)));
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(table));
+    }
+}
@@ -0,0 +1,114 @@
+package com.tcis.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests insertion, removal and rank queries on SortedIndex.
+ */
+class SortedIndexTest {
+    @Test
+    void keepsElementsSorted() {
+        SortedIndex<Integer> index = new SortedIndex<>(Comparator.naturalOrder());
+
+        assertTrue(index.add(5));
+        assertTrue(index.add(1));
+        assertTrue(index.add(3));
+        assertFalse(index.add(3));
+
+        assertEquals(3, index.size());
+        assertEquals(1, index.get(0));
+        assertEquals(3, index.get(1));
+        assertEquals(5, index.get(2));
+        assertEquals(2, index.indexOf(5));
+        assertEquals(-1, index.indexOf(4));
+    }
+
+    @Test
+    void removeUpdatesRanks() {
+        SortedIndex<Integer> index = new SortedIndex<>(Comparator.naturalOrder());
+        for (int i = 0; i < 10; i++)
+            index.add(i);
+
+        assertTrue(index.remove(4));
+        assertFalse(index.remove(4));
+
+        assertEquals(9, index.size());
+        assertEquals(5, index.get(4));
+        assertEquals(4, index.indexOf(5));
+        assertEquals(-1, index.indexOf(4));
+    }
+
+    @Test
+    void getRejectsPositionOutOfRange() {
+        SortedIndex<Integer> index = new SortedIndex<>(Comparator.naturalOrder());
+        index.add(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.get(-1));
+    }
+
+    @Test
+    void matchesTreeSetUnderRandomUpdates() {
+        SortedIndex<Integer> index = new SortedIndex<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20000; step++) {
+            int value = random.nextInt(2000);
+
+            if (random.nextInt(3) == 0)
+                assertEquals(expected.remove(value), index.remove(value));
+            else
+                assertEquals(expected.add(value), index.add(value));
+        }
+
+        assertEquals(new ArrayList<>(expected), index.toList());
+
+        int rank = 0;
+        for (int value : expected) {
+            assertEquals(rank, index.indexOf(value));
+            assertEquals(value, index.get(rank));
+            rank++;
+        }
+    }
+
+    @Test
+    void addAllMergesWithExistingElements() {
+        SortedIndex<Integer> index = new SortedIndex<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 50; i += 5) {
+            index.add(i);
+            expected.add(i);
+        }
+
+        // Enough new elements to take the bulk path, with duplicates.
+        ArrayList<Integer> added = new ArrayList<>();
+        for (int i = 199; i >= 0; i -= 2) {
+            added.add(i);
+            added.add(i);
+        }
+
+        index.addAll(added);
+        expected.addAll(added);
+
+        assertEquals(new ArrayList<>(expected), index.toList());
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected.headSet(45).size(), index.indexOf(45));
+
+        assertTrue(index.add(2));
+        assertTrue(index.remove(199));
+        assertEquals(0, index.get(0));
+        assertEquals(1, index.get(1));
+        assertEquals(2, index.get(2));
+    }
+}